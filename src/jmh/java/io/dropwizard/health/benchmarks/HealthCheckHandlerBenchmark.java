@@ -0,0 +1,125 @@
+package io.dropwizard.health.benchmarks;
+
+import io.dropwizard.health.core.HealthCheckHandler;
+import io.dropwizard.health.core.HealthCheckServlet;
+import org.eclipse.jetty.server.LocalConnector;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.servlet.FilterHolder;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.ws.rs.core.MediaType;
+
+/**
+ * Compares the per-probe latency of answering health checks from a {@link HealthCheckHandler} in front of the
+ * application context with dispatching them through a servlet context and its filter chain.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HealthCheckHandlerBenchmark {
+    @Param({"0", "5"})
+    public int filters;
+
+    private Server server;
+    private LocalConnector connector;
+    private ByteBuffer servletRequest;
+    private ByteBuffer handlerRequest;
+
+    @Setup
+    public void setUp() throws Exception {
+        final HealthCheckServlet servlet = new HealthCheckServlet(type -> true, true, "no-store",
+                MediaType.APPLICATION_JSON, "{\"status\": \"healthy\"}", "{\"status\": \"unhealthy\"}");
+
+        server = new Server();
+        connector = new LocalConnector(server);
+        server.addConnector(connector);
+
+        final ServletContextHandler context = new ServletContextHandler();
+        context.setContextPath("/");
+        context.addServlet(new ServletHolder(servlet), "/servlet/health-check");
+        for (int i = 0; i < filters; i++) {
+            context.addFilter(new FilterHolder(new PassThroughFilter()), "/*", EnumSet.of(DispatcherType.REQUEST));
+        }
+
+        final HealthCheckHandler handler = new HealthCheckHandler(servlet,
+                Collections.singleton("/handler/health-check"), null);
+        handler.setHandler(context);
+        server.setHandler(handler);
+        server.start();
+
+        servletRequest = request("/servlet/health-check");
+        handlerRequest = request("/handler/health-check");
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        server.stop();
+    }
+
+    @Benchmark
+    public ByteBuffer servlet() throws Exception {
+        return connector.getResponse(servletRequest.duplicate());
+    }
+
+    @Benchmark
+    public ByteBuffer handler() throws Exception {
+        return connector.getResponse(handlerRequest.duplicate());
+    }
+
+    private static ByteBuffer request(final String uri) {
+        final String request = "GET " + uri + " HTTP/1.1\r\nHost: localhost\r\n\r\n";
+        return ByteBuffer.wrap(request.getBytes(StandardCharsets.US_ASCII)).asReadOnlyBuffer();
+    }
+
+    /**
+     * Stands in for the filters an application registers (request logging, authentication, etc.).
+     */
+    public static class PassThroughFilter implements Filter {
+        @Override
+        public void init(final FilterConfig filterConfig) {
+            // do nothing
+        }
+
+        @Override
+        public void doFilter(final ServletRequest request, final ServletResponse response, final FilterChain chain)
+                throws IOException, ServletException {
+            request.setAttribute(PassThroughFilter.class.getName(), Boolean.TRUE);
+            chain.doFilter(request, response);
+        }
+
+        @Override
+        public void destroy() {
+            // do nothing
+        }
+    }
+}
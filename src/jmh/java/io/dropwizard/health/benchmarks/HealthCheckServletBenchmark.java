@@ -0,0 +1,105 @@
+package io.dropwizard.health.benchmarks;
+
+import io.dropwizard.health.core.HealthCheckServlet;
+import io.dropwizard.health.core.HealthStatusChecker;
+import org.eclipse.jetty.server.LocalConnector;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.servlet.ServletTester;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+
+/**
+ * Measures probe throughput of {@link HealthCheckServlet} against the previous writer based implementation.
+ * Run with {@code -prof gc} to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HealthCheckServletBenchmark {
+    private static final String HEALTHY_VALUE = "{\"status\": \"healthy\"}";
+    private static final String UNHEALTHY_VALUE = "{\"status\": \"unhealthy\"}";
+    private static final HealthStatusChecker CHECKER = type -> true;
+
+    private ServletTester servletTester;
+    private LocalConnector connector;
+    private ByteBuffer legacyRequest;
+    private ByteBuffer preEncodedRequest;
+
+    @Setup
+    public void setUp() throws Exception {
+        servletTester = new ServletTester();
+        servletTester.addServlet(new ServletHolder(new WriterHealthCheckServlet()), "/legacy");
+        servletTester.addServlet(new ServletHolder(new HealthCheckServlet(CHECKER, true, "no-store",
+                MediaType.APPLICATION_JSON, HEALTHY_VALUE, UNHEALTHY_VALUE)), "/health-check");
+        connector = servletTester.createLocalConnector();
+        servletTester.start();
+
+        legacyRequest = request("/legacy?type=ready");
+        preEncodedRequest = request("/health-check?type=ready");
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        servletTester.stop();
+    }
+
+    @Benchmark
+    public ByteBuffer writerServlet() throws Exception {
+        return connector.getResponse(legacyRequest.duplicate());
+    }
+
+    @Benchmark
+    public ByteBuffer preEncodedServlet() throws Exception {
+        return connector.getResponse(preEncodedRequest.duplicate());
+    }
+
+    private static ByteBuffer request(final String uri) {
+        final String request = "GET " + uri + " HTTP/1.1\r\nHost: localhost\r\n\r\n";
+        return ByteBuffer.wrap(request.getBytes(StandardCharsets.US_ASCII)).asReadOnlyBuffer();
+    }
+
+    /**
+     * The response path of {@link HealthCheckServlet} before bodies were pre-encoded.
+     */
+    private static class WriterHealthCheckServlet extends HttpServlet {
+        @Override
+        protected void doGet(final HttpServletRequest req, final HttpServletResponse resp) throws IOException {
+            resp.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+            resp.setContentType(MediaType.APPLICATION_JSON);
+
+            final String typeValue = req.getParameter("type");
+
+            final PrintWriter writer = resp.getWriter();
+            if (CHECKER.isHealthy(typeValue)) {
+                writer.print(HEALTHY_VALUE);
+            } else {
+                writer.print(UNHEALTHY_VALUE);
+                resp.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            }
+        }
+    }
+}
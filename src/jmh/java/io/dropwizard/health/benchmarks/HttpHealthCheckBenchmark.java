@@ -0,0 +1,126 @@
+package io.dropwizard.health.benchmarks;
+
+import com.codahale.metrics.health.HealthCheck;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.dropwizard.health.http.AsyncHttpHealthCheck;
+import io.dropwizard.health.http.HttpHealthCheck;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.http.HttpClientTransportOverHTTP;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+
+/**
+ * Compares how many concurrent probes of a slow dependency complete per second with the blocking
+ * {@link HttpHealthCheck} and the non-blocking {@link AsyncHttpHealthCheck}, both given one thread per core.
+ * Each operation runs a batch of {@code concurrency} checks against a local WireMock server that answers after
+ * {@code latencyMillis}, and the score is the number of batches per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class HttpHealthCheckBenchmark {
+    private static final String PATH = "/health-check";
+
+    @Param({"64", "256"})
+    public int concurrency;
+
+    @Param({"20"})
+    public int latencyMillis;
+
+    private WireMockServer wireMock;
+    private ExecutorService blockingExecutor;
+    private Client blockingClient;
+    private HttpHealthCheck blockingCheck;
+    private HttpClient asyncClient;
+    private AsyncHttpHealthCheck asyncCheck;
+
+    @Setup
+    public void setUp() throws Exception {
+        wireMock = new WireMockServer(wireMockConfig().dynamicPort().containerThreads(concurrency + 16)
+                .jettyAcceptQueueSize(concurrency));
+        wireMock.start();
+        wireMock.stubFor(get(urlEqualTo(PATH))
+                .willReturn(aResponse().withFixedDelay(latencyMillis).withStatus(200).withBody("HAPPY")));
+        final String url = wireMock.url(PATH);
+        final int cores = Runtime.getRuntime().availableProcessors();
+
+        // the blocking check needs a thread for every probe in flight, so it gets as many as there are cores
+        blockingExecutor = Executors.newFixedThreadPool(cores);
+        blockingClient = ClientBuilder.newClient();
+        blockingCheck = new HttpHealthCheck(url, blockingClient, Duration.ofSeconds(10), Duration.ofSeconds(10));
+
+        // the non-blocking check gets one selector and the same number of threads
+        final QueuedThreadPool threadPool = new QueuedThreadPool(Math.max(cores, 3), 1);
+        asyncClient = new HttpClient(new HttpClientTransportOverHTTP(1), null);
+        asyncClient.setExecutor(threadPool);
+        asyncClient.setMaxConnectionsPerDestination(concurrency);
+        asyncClient.setMaxRequestsQueuedPerDestination(concurrency * 2);
+        asyncClient.start();
+        asyncCheck = new AsyncHttpHealthCheck(url, asyncClient, Duration.ofSeconds(10));
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        asyncClient.stop();
+        blockingExecutor.shutdownNow();
+        blockingClient.close();
+        wireMock.stop();
+    }
+
+    @Benchmark
+    public int blocking() throws Exception {
+        final List<Future<HealthCheck.Result>> results = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            results.add(blockingExecutor.submit(blockingCheck::execute));
+        }
+        int healthy = 0;
+        for (final Future<HealthCheck.Result> result : results) {
+            healthy += result.get().isHealthy() ? 1 : 0;
+        }
+        return healthy;
+    }
+
+    @Benchmark
+    public int async() throws Exception {
+        final List<CompletableFuture<HealthCheck.Result>> results = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            results.add(asyncCheck.checkAsync().toCompletableFuture());
+        }
+        int healthy = 0;
+        for (final CompletableFuture<HealthCheck.Result> result : results) {
+            healthy += result.get().isHealthy() ? 1 : 0;
+        }
+        return healthy;
+    }
+}
@@ -0,0 +1,145 @@
+package io.dropwizard.health.benchmarks;
+
+import com.codahale.metrics.health.HealthCheck;
+import io.dropwizard.health.tcp.TcpHealthCheck;
+import io.dropwizard.health.tcp.TcpProbeEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares how many batches of TCP probes complete per second with blocking {@link TcpHealthCheck}s, given one
+ * thread per core, and with checks that connect through a single-threaded {@link TcpProbeEngine}. Half of the
+ * {@code concurrency} probes of a batch go to a listener that accepts immediately; the other half go to a listener
+ * that delays accepting beyond the {@code timeoutMillis} of the probes: its backlog is full, so connects to it only
+ * end with the timeout, as with a dependency that is slow to accept or dropped off the network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TcpHealthCheckBenchmark {
+    @Param({"64", "256"})
+    public int concurrency;
+
+    @Param({"50"})
+    public int timeoutMillis;
+
+    private ServerSocket accepting;
+    private Thread acceptor;
+    private ServerSocket delaying;
+    private final List<Socket> backlog = new ArrayList<>();
+    private ExecutorService blockingExecutor;
+    private TcpProbeEngine engine;
+    private TcpHealthCheck[] blockingChecks;
+    private TcpHealthCheck[] engineChecks;
+
+    @Setup
+    public void setUp() throws Exception {
+        final InetAddress loopback = InetAddress.getLoopbackAddress();
+        accepting = new ServerSocket(0, concurrency * 2, loopback);
+        acceptor = new Thread(() -> {
+            while (!accepting.isClosed()) {
+                try {
+                    accepting.accept().close();
+                } catch (IOException e) {
+                    // closed
+                }
+            }
+        }, "benchmark-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+
+        delaying = new ServerSocket(0, 1, loopback);
+        fillBacklog(new InetSocketAddress(loopback, delaying.getLocalPort()));
+
+        final Duration timeout = Duration.ofMillis(timeoutMillis);
+        blockingExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        engine = new TcpProbeEngine("benchmark-tcp-probes");
+        final String host = loopback.getHostAddress();
+        blockingChecks = new TcpHealthCheck[] {
+            new TcpHealthCheck(host, accepting.getLocalPort(), timeout),
+            new TcpHealthCheck(host, delaying.getLocalPort(), timeout)
+        };
+        engineChecks = new TcpHealthCheck[] {
+            new TcpHealthCheck(host, accepting.getLocalPort(), timeout, engine),
+            new TcpHealthCheck(host, delaying.getLocalPort(), timeout, engine)
+        };
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        engine.stop();
+        blockingExecutor.shutdownNow();
+        for (final Socket socket : backlog) {
+            socket.close();
+        }
+        delaying.close();
+        accepting.close();
+        acceptor.join();
+    }
+
+    @Benchmark
+    public int blocking() throws Exception {
+        final List<Future<HealthCheck.Result>> results = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            results.add(blockingExecutor.submit(blockingChecks[i % 2]::execute));
+        }
+        int healthy = 0;
+        for (final Future<HealthCheck.Result> result : results) {
+            healthy += result.get().isHealthy() ? 1 : 0;
+        }
+        return healthy;
+    }
+
+    @Benchmark
+    public int engine() throws Exception {
+        final List<CompletableFuture<HealthCheck.Result>> results = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            results.add(engineChecks[i % 2].checkAsync().toCompletableFuture());
+        }
+        int healthy = 0;
+        for (final CompletableFuture<HealthCheck.Result> result : results) {
+            healthy += result.get().isHealthy() ? 1 : 0;
+        }
+        return healthy;
+    }
+
+    private void fillBacklog(final InetSocketAddress address) throws IOException {
+        try {
+            while (backlog.size() < 16) {
+                final Socket socket = new Socket();
+                backlog.add(socket);
+                socket.connect(address, 200);
+            }
+        } catch (SocketTimeoutException e) {
+            // the backlog is full, so further connects are not answered
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package io.dropwizard.health.benchmarks;
+
+import com.google.common.io.Resources;
+import io.dropwizard.health.tcp.TlsHealthCheck;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetAddress;
+import java.security.KeyStore;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLServerSocket;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.TrustManagerFactory;
+
+/**
+ * Measures {@link TlsHealthCheck} runs against a local TLS server, with full handshakes on every run and with
+ * handshakes that resume the session of the previous run. Besides the time per run, the {@code cpuMicros} and
+ * {@code probes} counters add up the CPU time that the check and the server thread spent, so that
+ * {@code cpuMicros / probes} is the handshake CPU per run of both ends, which resumption reduces. The wall time also
+ * includes the round trips and TCP acknowledgement delays of the handshakes. The server uses the test certificate of
+ * {@code src/test/resources/tls}, which is on the classpath of the benchmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TlsHealthCheckBenchmark {
+    private static final char[] PASSWORD = "changeit".toCharArray();
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    @Param({"TLSv1.2", "TLSv1.3"})
+    public String protocol;
+
+    private SSLServerSocket serverSocket;
+    private Thread server;
+    private TlsHealthCheck fullHandshakes;
+    private TlsHealthCheck resumedHandshakes;
+
+    @Setup
+    public void setUp() throws Exception {
+        final KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = Resources.getResource("tls/server.p12").openStream()) {
+            keyStore.load(in, PASSWORD);
+        }
+        final KeyManagerFactory keyManagerFactory =
+                KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagerFactory.init(keyStore, PASSWORD);
+        final SSLContext serverContext = SSLContext.getInstance("TLS");
+        serverContext.init(keyManagerFactory.getKeyManagers(), null, null);
+
+        serverSocket = (SSLServerSocket) serverContext.getServerSocketFactory()
+                .createServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        serverSocket.setEnabledProtocols(new String[] {protocol});
+        server = new Thread(() -> {
+            while (!serverSocket.isClosed()) {
+                try (SSLSocket socket = (SSLSocket) serverSocket.accept()) {
+                    socket.startHandshake();
+                    while (socket.getInputStream().read() != -1) {
+                        // wait for the check to close its side
+                    }
+                } catch (IOException e) {
+                    // closed
+                }
+            }
+        }, "benchmark-tls-server");
+        server.setDaemon(true);
+        server.start();
+
+        fullHandshakes = check(keyStore, false);
+        resumedHandshakes = check(keyStore, true);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        serverSocket.close();
+        server.join();
+    }
+
+    @Benchmark
+    public boolean fullHandshake(final CpuCounters counters) {
+        return measure(fullHandshakes, counters);
+    }
+
+    @Benchmark
+    public boolean resumedHandshake(final CpuCounters counters) {
+        return measure(resumedHandshakes, counters);
+    }
+
+    private boolean measure(final TlsHealthCheck healthCheck, final CpuCounters counters) {
+        final long before = cpuNanos();
+        final boolean healthy = healthCheck.execute().isHealthy();
+        counters.cpuMicros += (cpuNanos() - before) / 1_000L;
+        counters.probes++;
+        return healthy;
+    }
+
+    private long cpuNanos() {
+        // the server thread is idle between runs, so its CPU time is all spent on the handshakes
+        return THREADS.getCurrentThreadCpuTime() + THREADS.getThreadCpuTime(server.getId());
+    }
+
+    private TlsHealthCheck check(final KeyStore trustStore, final boolean sessionResumption) throws Exception {
+        final TrustManagerFactory trustManagerFactory =
+                TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagerFactory.init(trustStore);
+        final SSLContext clientContext = SSLContext.getInstance("TLS");
+        clientContext.init(null, trustManagerFactory.getTrustManagers(), null);
+        return TlsHealthCheck.builder("localhost", serverSocket.getLocalPort())
+                .sslContext(clientContext)
+                .sessionResumption(sessionResumption)
+                .build();
+    }
+
+    /**
+     * The CPU time of both ends and the number of runs within an iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class CpuCounters {
+        public long cpuMicros;
+        public long probes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            cpuMicros = 0L;
+            probes = 0L;
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package io.dropwizard.health.conf;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.health.conf.check.HealthCheckFactory;
 
+import javax.annotation.Nullable;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
@@ -28,6 +30,11 @@ public class HealthCheckConfiguration {
     @JsonProperty
     private Schedule schedule = new Schedule();
 
+    @Valid
+    @Nullable
+    @JsonProperty
+    private HealthCheckFactory check;
+
     public String getName() {
         return name;
     }
@@ -67,4 +74,17 @@ public class HealthCheckConfiguration {
     public void setSchedule(final Schedule schedule) {
         this.schedule = schedule;
     }
+
+    /**
+     * @return the factory of the health check if it is declared in the configuration, or {@code null} if the
+     * application registers the health check itself
+     */
+    @Nullable
+    public HealthCheckFactory getCheck() {
+        return check;
+    }
+
+    public void setCheck(@Nullable final HealthCheckFactory check) {
+        this.check = check;
+    }
 }
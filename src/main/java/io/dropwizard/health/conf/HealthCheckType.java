@@ -2,5 +2,6 @@ package io.dropwizard.health.conf;
 
 public enum HealthCheckType {
     ALIVE,
-    READY
+    READY,
+    STARTUP
 }
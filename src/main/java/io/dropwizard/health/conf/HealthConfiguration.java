@@ -1,16 +1,26 @@
 package io.dropwizard.health.conf;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.collect.ImmutableList;
+import io.dropwizard.client.JerseyClientConfiguration;
+import io.dropwizard.health.dns.CachingResolver;
 import io.dropwizard.health.conf.response.DefaultHealthServletFactory;
 import io.dropwizard.health.conf.response.HealthServletFactory;
+import io.dropwizard.health.conf.response.HealthStateServletFactory;
 import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
 import javax.validation.constraints.Size;
 
 public class HealthConfiguration {
@@ -30,14 +40,101 @@ public class HealthConfiguration {
     @JsonProperty
     private Duration shutdownWaitPeriod = Duration.seconds(15);
 
+    @JsonProperty
+    private boolean adaptiveShutdownEnabled = false;
+
+    @Min(0)
+    @JsonProperty
+    private int shutdownUnhealthyProbes = 2;
+
+    @NotNull
+    @JsonProperty
+    private Duration shutdownQuietPeriod = Duration.seconds(2);
+
+    @NotNull
+    @JsonProperty
+    private Duration resourceCloseTimeout = Duration.seconds(5);
+
     @NotNull
     @Size(min = 1)
     @JsonProperty
     private List<String> healthCheckUrlPaths = ImmutableList.of("/health-check");
 
+    @NotNull
+    @JsonProperty
+    private List<String> watchUrlPaths = Collections.emptyList();
+
+    @NotNull
+    @MinDuration(value = 1, unit = TimeUnit.MILLISECONDS)
+    @JsonProperty
+    private Duration watchDefaultTimeout = Duration.seconds(30);
+
+    @NotNull
+    @MinDuration(value = 1, unit = TimeUnit.MILLISECONDS)
+    @JsonProperty
+    private Duration watchMaxTimeout = Duration.minutes(5);
+
+    @NotNull
+    @JsonProperty
+    private List<String> metricsUrlPaths = Collections.emptyList();
+
+    @JsonProperty
+    private boolean probeHandlerEnabled = false;
+
+    @Min(0)
+    @Max(65535)
+    @JsonProperty
+    private Integer probeHandlerPort = null;
+
+    @JsonProperty
+    private String probeHandlerBindHost = null;
+
+    @Min(0)
+    @Max(65535)
+    @JsonProperty
+    private Integer agentCheckPort = null;
+
+    @JsonProperty
+    private String agentCheckBindHost = null;
+
+    @NotEmpty
+    @JsonProperty
+    private String agentCheckReadyValue = "up";
+
+    @NotEmpty
+    @JsonProperty
+    private String agentCheckNotReadyValue = "drain";
+
+    @NotEmpty
+    @JsonProperty
+    private String agentCheckNotAliveValue = "down";
+
+    @JsonProperty
+    private String unixSocketPath = null;
+
+    @Pattern(regexp = "([r-][w-][x-]){3}")
+    @JsonProperty
+    private String unixSocketPermissions = null;
+
+    @JsonProperty
+    private String statusFilePath = null;
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    private JerseyClientConfiguration httpClient = defaultHttpClientConfiguration();
+
+    @NotNull
+    @JsonProperty
+    private Duration dnsCacheTtl = Duration.seconds(CachingResolver.defaultTtl().getSeconds());
+
+    @NotNull
+    @JsonProperty
+    private Duration dnsNegativeCacheTtl = Duration.seconds(CachingResolver.defaultNegativeTtl().getSeconds());
+
     @Valid
     @JsonProperty("servlet")
-    private HealthServletFactory servletFactory = new DefaultHealthServletFactory();
+    private HealthStateServletFactory healthStateServletFactory = new DefaultHealthServletFactory();
 
     public List<HealthCheckConfiguration> getHealthCheckConfigurations() {
         return healthChecks;
@@ -71,6 +168,38 @@ public class HealthConfiguration {
         this.shutdownWaitPeriod = shutdownWaitPeriod;
     }
 
+    public boolean isAdaptiveShutdownEnabled() {
+        return adaptiveShutdownEnabled;
+    }
+
+    public void setAdaptiveShutdownEnabled(final boolean adaptiveShutdownEnabled) {
+        this.adaptiveShutdownEnabled = adaptiveShutdownEnabled;
+    }
+
+    public int getShutdownUnhealthyProbes() {
+        return shutdownUnhealthyProbes;
+    }
+
+    public void setShutdownUnhealthyProbes(final int shutdownUnhealthyProbes) {
+        this.shutdownUnhealthyProbes = shutdownUnhealthyProbes;
+    }
+
+    public Duration getShutdownQuietPeriod() {
+        return shutdownQuietPeriod;
+    }
+
+    public void setShutdownQuietPeriod(final Duration shutdownQuietPeriod) {
+        this.shutdownQuietPeriod = shutdownQuietPeriod;
+    }
+
+    public Duration getResourceCloseTimeout() {
+        return resourceCloseTimeout;
+    }
+
+    public void setResourceCloseTimeout(final Duration resourceCloseTimeout) {
+        this.resourceCloseTimeout = resourceCloseTimeout;
+    }
+
     public List<String> getHealthCheckUrlPaths() {
         return healthCheckUrlPaths;
     }
@@ -79,11 +208,190 @@ public class HealthConfiguration {
         this.healthCheckUrlPaths = healthCheckUrlPaths;
     }
 
+    public List<String> getWatchUrlPaths() {
+        return watchUrlPaths;
+    }
+
+    public void setWatchUrlPaths(final List<String> watchUrlPaths) {
+        this.watchUrlPaths = watchUrlPaths;
+    }
+
+    public Duration getWatchDefaultTimeout() {
+        return watchDefaultTimeout;
+    }
+
+    public void setWatchDefaultTimeout(final Duration watchDefaultTimeout) {
+        this.watchDefaultTimeout = watchDefaultTimeout;
+    }
+
+    public Duration getWatchMaxTimeout() {
+        return watchMaxTimeout;
+    }
+
+    public void setWatchMaxTimeout(final Duration watchMaxTimeout) {
+        this.watchMaxTimeout = watchMaxTimeout;
+    }
+
+    public List<String> getMetricsUrlPaths() {
+        return metricsUrlPaths;
+    }
+
+    public void setMetricsUrlPaths(final List<String> metricsUrlPaths) {
+        this.metricsUrlPaths = metricsUrlPaths;
+    }
+
+    public boolean isProbeHandlerEnabled() {
+        return probeHandlerEnabled;
+    }
+
+    public void setProbeHandlerEnabled(final boolean probeHandlerEnabled) {
+        this.probeHandlerEnabled = probeHandlerEnabled;
+    }
+
+    public Integer getProbeHandlerPort() {
+        return probeHandlerPort;
+    }
+
+    public void setProbeHandlerPort(final Integer probeHandlerPort) {
+        this.probeHandlerPort = probeHandlerPort;
+    }
+
+    public String getProbeHandlerBindHost() {
+        return probeHandlerBindHost;
+    }
+
+    public void setProbeHandlerBindHost(final String probeHandlerBindHost) {
+        this.probeHandlerBindHost = probeHandlerBindHost;
+    }
+
+    public Integer getAgentCheckPort() {
+        return agentCheckPort;
+    }
+
+    public void setAgentCheckPort(final Integer agentCheckPort) {
+        this.agentCheckPort = agentCheckPort;
+    }
+
+    public String getAgentCheckBindHost() {
+        return agentCheckBindHost;
+    }
+
+    public void setAgentCheckBindHost(final String agentCheckBindHost) {
+        this.agentCheckBindHost = agentCheckBindHost;
+    }
+
+    public String getAgentCheckReadyValue() {
+        return agentCheckReadyValue;
+    }
+
+    public void setAgentCheckReadyValue(final String agentCheckReadyValue) {
+        this.agentCheckReadyValue = agentCheckReadyValue;
+    }
+
+    public String getAgentCheckNotReadyValue() {
+        return agentCheckNotReadyValue;
+    }
+
+    public void setAgentCheckNotReadyValue(final String agentCheckNotReadyValue) {
+        this.agentCheckNotReadyValue = agentCheckNotReadyValue;
+    }
+
+    public String getAgentCheckNotAliveValue() {
+        return agentCheckNotAliveValue;
+    }
+
+    public void setAgentCheckNotAliveValue(final String agentCheckNotAliveValue) {
+        this.agentCheckNotAliveValue = agentCheckNotAliveValue;
+    }
+
+    public String getUnixSocketPath() {
+        return unixSocketPath;
+    }
+
+    public void setUnixSocketPath(final String unixSocketPath) {
+        this.unixSocketPath = unixSocketPath;
+    }
+
+    public String getUnixSocketPermissions() {
+        return unixSocketPermissions;
+    }
+
+    public void setUnixSocketPermissions(final String unixSocketPermissions) {
+        this.unixSocketPermissions = unixSocketPermissions;
+    }
+
+    public String getStatusFilePath() {
+        return statusFilePath;
+    }
+
+    public void setStatusFilePath(final String statusFilePath) {
+        this.statusFilePath = statusFilePath;
+    }
+
+    public JerseyClientConfiguration getHttpClient() {
+        return httpClient;
+    }
+
+    public void setHttpClient(final JerseyClientConfiguration httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    public Duration getDnsCacheTtl() {
+        return dnsCacheTtl;
+    }
+
+    public void setDnsCacheTtl(final Duration dnsCacheTtl) {
+        this.dnsCacheTtl = dnsCacheTtl;
+    }
+
+    public Duration getDnsNegativeCacheTtl() {
+        return dnsNegativeCacheTtl;
+    }
+
+    public void setDnsNegativeCacheTtl(final Duration dnsNegativeCacheTtl) {
+        this.dnsNegativeCacheTtl = dnsNegativeCacheTtl;
+    }
+
+    /**
+     * @deprecated use {@link #getHealthStateServletFactory()} instead, which also returns factories that build their
+     * servlet from the health state.
+     * @throws IllegalStateException if the configured factory is not a {@link HealthServletFactory}
+     */
+    @Deprecated
+    @JsonIgnore
     public HealthServletFactory getServletFactory() {
-        return servletFactory;
+        if (!(healthStateServletFactory instanceof HealthServletFactory)) {
+            throw new IllegalStateException("The configured servlet factory is not a HealthServletFactory: "
+                    + healthStateServletFactory.getClass().getName());
+        }
+        return (HealthServletFactory) healthStateServletFactory;
     }
 
+    /**
+     * @deprecated use {@link #setHealthStateServletFactory(HealthStateServletFactory)} instead.
+     */
+    @Deprecated
+    @JsonIgnore
     public void setServletFactory(HealthServletFactory servletFactory) {
-        this.servletFactory = servletFactory;
+        this.healthStateServletFactory = servletFactory;
+    }
+
+    public HealthStateServletFactory getHealthStateServletFactory() {
+        return healthStateServletFactory;
+    }
+
+    public void setHealthStateServletFactory(final HealthStateServletFactory healthStateServletFactory) {
+        this.healthStateServletFactory = healthStateServletFactory;
+    }
+
+    private static JerseyClientConfiguration defaultHttpClientConfiguration() {
+        // match the timeouts of HttpHealthCheck, and keep the pool small since checks run on a schedule
+        final JerseyClientConfiguration configuration = new JerseyClientConfiguration();
+        configuration.setTimeout(Duration.seconds(2));
+        configuration.setConnectionTimeout(Duration.seconds(2));
+        configuration.setConnectionRequestTimeout(Duration.seconds(2));
+        configuration.setMaxConnections(64);
+        configuration.setMaxConnectionsPerRoute(8);
+        return configuration;
     }
 }
@@ -5,6 +5,7 @@ import io.dropwizard.util.Duration;
 
 import java.util.Objects;
 
+import javax.annotation.Nullable;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
@@ -13,6 +14,9 @@ public class Schedule {
     @JsonProperty
     private Duration initialDelay = null;
 
+    @JsonProperty
+    private Duration startupInterval = null;
+
     @NotNull
     @JsonProperty
     private Duration checkInterval = Duration.seconds(5);
@@ -38,6 +42,20 @@ public class Schedule {
         this.initialDelay = initialDelay;
     }
 
+    /**
+     * @return the delay before the first run while the health check has not yet succeeded, doubling after each
+     * further run up to {@link #getCheckInterval()}, or {@code null} to use {@link #getInitialDelay()} and the
+     * regular intervals from the start
+     */
+    @Nullable
+    public Duration getStartupInterval() {
+        return startupInterval;
+    }
+
+    public void setStartupInterval(@Nullable final Duration startupInterval) {
+        this.startupInterval = startupInterval;
+    }
+
     public Duration getCheckInterval() {
         return checkInterval;
     }
@@ -78,12 +96,14 @@ public class Schedule {
         return failureAttempts == schedule.failureAttempts &&
                 successAttempts == schedule.successAttempts &&
                 Objects.equals(initialDelay, schedule.initialDelay) &&
+                Objects.equals(startupInterval, schedule.startupInterval) &&
                 Objects.equals(checkInterval, schedule.checkInterval) &&
                 Objects.equals(downtimeInterval, schedule.downtimeInterval);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(initialDelay, checkInterval, downtimeInterval, failureAttempts, successAttempts);
+        return Objects.hash(initialDelay, startupInterval, checkInterval, downtimeInterval, failureAttempts,
+                successAttempts);
     }
 }
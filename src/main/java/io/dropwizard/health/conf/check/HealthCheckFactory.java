@@ -0,0 +1,26 @@
+package io.dropwizard.health.conf.check;
+
+import com.codahale.metrics.health.HealthCheck;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import io.dropwizard.health.core.HealthCheckResources;
+import io.dropwizard.jackson.Discoverable;
+
+/**
+ * A factory for a {@link HealthCheck} that is declared in the configuration, rather than constructed and registered
+ * in code. The {@link io.dropwizard.health.core.HealthCheckBundle} builds the health check and registers it under
+ * the name of its {@link io.dropwizard.health.conf.HealthCheckConfiguration}.
+ *
+ * @see HttpHealthCheckFactory
+ * @see TcpHealthCheckFactory
+ * @see TlsHealthCheckFactory
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+public interface HealthCheckFactory extends Discoverable {
+    /**
+     * Build the health check.
+     *
+     * @param resources the resources shared by the health checks of the application, e.g. the pooled HTTP client
+     * @return the health check
+     */
+    HealthCheck build(HealthCheckResources resources);
+}
@@ -0,0 +1,229 @@
+package io.dropwizard.health.conf.check;
+
+import com.codahale.metrics.health.HealthCheck;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dropwizard.health.core.HealthCheckResources;
+import io.dropwizard.health.http.HttpHealthCheck;
+import io.dropwizard.health.http.ResponseBodyValidator;
+import io.dropwizard.util.DataSize;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.ValidationMethod;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Builds an {@link HttpHealthCheck} that uses the shared HTTP client of the application, e.g.:
+ * <pre>
+ * check:
+ *   type: http
+ *   url: http://user-service:8080
+ *   path: /health-check
+ *   method: HEAD
+ * </pre>
+ */
+@JsonTypeName("http")
+public class HttpHealthCheckFactory implements HealthCheckFactory {
+    @NotEmpty
+    @JsonProperty
+    private String url;
+
+    @NotEmpty
+    @JsonProperty
+    private String method = "GET";
+
+    @Nullable
+    @JsonProperty
+    private String path;
+
+    @NotNull
+    @JsonProperty
+    private Map<String, String> headers = new LinkedHashMap<>();
+
+    @Nullable
+    @JsonProperty
+    private Duration readTimeout;
+
+    @Nullable
+    @JsonProperty
+    private Duration connectionTimeout;
+
+    @NotNull
+    @JsonProperty
+    private DataSize maxBodySize = DataSize.kibibytes(64);
+
+    @JsonProperty
+    private boolean discardBody = false;
+
+    @JsonProperty
+    private boolean conditional = false;
+
+    @Nullable
+    @JsonProperty
+    private String bodyPattern;
+
+    @Nullable
+    @JsonProperty
+    private String jsonPointer;
+
+    @Nullable
+    @JsonProperty
+    private String jsonPointerValue;
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(final String url) {
+        this.url = url;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(final String method) {
+        this.method = method;
+    }
+
+    @Nullable
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(@Nullable final String path) {
+        this.path = path;
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    public void setHeaders(final Map<String, String> headers) {
+        this.headers = headers;
+    }
+
+    @Nullable
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(@Nullable final Duration readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    @Nullable
+    public Duration getConnectionTimeout() {
+        return connectionTimeout;
+    }
+
+    public void setConnectionTimeout(@Nullable final Duration connectionTimeout) {
+        this.connectionTimeout = connectionTimeout;
+    }
+
+    public DataSize getMaxBodySize() {
+        return maxBodySize;
+    }
+
+    public void setMaxBodySize(final DataSize maxBodySize) {
+        this.maxBodySize = maxBodySize;
+    }
+
+    public boolean isDiscardBody() {
+        return discardBody;
+    }
+
+    public void setDiscardBody(final boolean discardBody) {
+        this.discardBody = discardBody;
+    }
+
+    public boolean isConditional() {
+        return conditional;
+    }
+
+    public void setConditional(final boolean conditional) {
+        this.conditional = conditional;
+    }
+
+    @Nullable
+    public String getBodyPattern() {
+        return bodyPattern;
+    }
+
+    public void setBodyPattern(@Nullable final String bodyPattern) {
+        this.bodyPattern = bodyPattern;
+    }
+
+    @Nullable
+    public String getJsonPointer() {
+        return jsonPointer;
+    }
+
+    public void setJsonPointer(@Nullable final String jsonPointer) {
+        this.jsonPointer = jsonPointer;
+    }
+
+    @Nullable
+    public String getJsonPointerValue() {
+        return jsonPointerValue;
+    }
+
+    public void setJsonPointerValue(@Nullable final String jsonPointerValue) {
+        this.jsonPointerValue = jsonPointerValue;
+    }
+
+    @Override
+    public HealthCheck build(final HealthCheckResources resources) {
+        return builder(resources).build();
+    }
+
+    /**
+     * @param resources the shared resources of the application
+     * @return a builder with the configured options, for subclasses that build variants of {@link HttpHealthCheck}
+     */
+    protected HttpHealthCheck.Builder builder(final HealthCheckResources resources) {
+        final HttpHealthCheck.Builder builder = HttpHealthCheck.builder(url)
+                .client(resources.getHttpClient())
+                .method(method)
+                .maxBodySize((int) Math.min(Integer.MAX_VALUE, maxBodySize.toBytes()));
+        if (path != null) {
+            builder.path(path);
+        }
+        headers.forEach(builder::header);
+        if (readTimeout != null || connectionTimeout != null) {
+            builder.timeouts(toJavaDuration(readTimeout == null ? connectionTimeout : readTimeout),
+                    toJavaDuration(connectionTimeout == null ? readTimeout : connectionTimeout));
+        }
+        if (discardBody) {
+            builder.discardBody();
+        }
+        if (conditional) {
+            builder.conditional();
+        }
+        if (bodyPattern != null) {
+            builder.bodyValidator(ResponseBodyValidator.regex(Pattern.compile(bodyPattern)));
+        } else if (jsonPointer != null) {
+            builder.bodyValidator(ResponseBodyValidator.jsonPointer(jsonPointer,
+                    Objects.requireNonNull(jsonPointerValue)));
+        }
+        return builder;
+    }
+
+    @JsonIgnore
+    @ValidationMethod(message = "jsonPointerValue must be set when jsonPointer is set")
+    public boolean isJsonPointerValueSet() {
+        return jsonPointer == null || jsonPointerValue != null;
+    }
+
+    static java.time.Duration toJavaDuration(final Duration duration) {
+        return java.time.Duration.ofMillis(duration.toMilliseconds());
+    }
+}
@@ -0,0 +1,207 @@
+package io.dropwizard.health.conf.check;
+
+import com.codahale.metrics.health.HealthCheck;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dropwizard.health.core.HealthCheckResources;
+import io.dropwizard.health.tcp.AddressMode;
+import io.dropwizard.health.tcp.PersistentTcpHealthCheck;
+import io.dropwizard.health.tcp.TcpExchange;
+import io.dropwizard.health.tcp.TcpHealthCheck;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Builds a {@link TcpHealthCheck} that connects through the shared {@link io.dropwizard.health.tcp.TcpProbeEngine}
+ * and resolves through the shared DNS cache of the application, or a {@link PersistentTcpHealthCheck} that keeps
+ * its connection open between runs if {@code persistent} is set, e.g.:
+ * <pre>
+ * check:
+ *   type: tcp
+ *   host: cassandra
+ *   port: 9042
+ * </pre>
+ */
+@JsonTypeName("tcp")
+public class TcpHealthCheckFactory implements HealthCheckFactory {
+    @NotEmpty
+    @JsonProperty
+    private String host;
+
+    @Min(1)
+    @Max(65535)
+    @JsonProperty
+    private int port;
+
+    @NotNull
+    @JsonProperty
+    private Duration connectionTimeout = Duration.seconds(2);
+
+    @NotNull
+    @JsonProperty
+    private AddressMode addresses = AddressMode.FIRST;
+
+    @JsonProperty
+    private boolean persistent = false;
+
+    @NotNull
+    @MinDuration(value = 1, unit = TimeUnit.MILLISECONDS)
+    @JsonProperty
+    private Duration maxIdle = Duration.minutes(1);
+
+    @Nullable
+    @JsonProperty
+    private TcpExchange.Preset preset;
+
+    @Nullable
+    @JsonProperty
+    private String send;
+
+    @Nullable
+    @JsonProperty
+    private String expect;
+
+    @Nullable
+    @JsonProperty
+    private String expectPattern;
+
+    @Min(1)
+    @JsonProperty
+    private int maxResponseBytes = 256;
+
+    public String getHost() {
+        return host;
+    }
+
+    public void setHost(final String host) {
+        this.host = host;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public void setPort(final int port) {
+        this.port = port;
+    }
+
+    public Duration getConnectionTimeout() {
+        return connectionTimeout;
+    }
+
+    public void setConnectionTimeout(final Duration connectionTimeout) {
+        this.connectionTimeout = connectionTimeout;
+    }
+
+    public AddressMode getAddresses() {
+        return addresses;
+    }
+
+    public void setAddresses(final AddressMode addresses) {
+        this.addresses = addresses;
+    }
+
+    public boolean isPersistent() {
+        return persistent;
+    }
+
+    public void setPersistent(final boolean persistent) {
+        this.persistent = persistent;
+    }
+
+    public Duration getMaxIdle() {
+        return maxIdle;
+    }
+
+    public void setMaxIdle(final Duration maxIdle) {
+        this.maxIdle = maxIdle;
+    }
+
+    @Nullable
+    public TcpExchange.Preset getPreset() {
+        return preset;
+    }
+
+    public void setPreset(@Nullable final TcpExchange.Preset preset) {
+        this.preset = preset;
+    }
+
+    @Nullable
+    public String getSend() {
+        return send;
+    }
+
+    public void setSend(@Nullable final String send) {
+        this.send = send;
+    }
+
+    @Nullable
+    public String getExpect() {
+        return expect;
+    }
+
+    public void setExpect(@Nullable final String expect) {
+        this.expect = expect;
+    }
+
+    @Nullable
+    public String getExpectPattern() {
+        return expectPattern;
+    }
+
+    public void setExpectPattern(@Nullable final String expectPattern) {
+        this.expectPattern = expectPattern;
+    }
+
+    public int getMaxResponseBytes() {
+        return maxResponseBytes;
+    }
+
+    public void setMaxResponseBytes(final int maxResponseBytes) {
+        this.maxResponseBytes = maxResponseBytes;
+    }
+
+    @Override
+    public HealthCheck build(final HealthCheckResources resources) {
+        final TcpExchange exchange = exchange();
+        if (persistent) {
+            return new PersistentTcpHealthCheck(host, port, HttpHealthCheckFactory.toJavaDuration(connectionTimeout),
+                    resources.getResolver(), exchange, HttpHealthCheckFactory.toJavaDuration(maxIdle));
+        }
+        final TcpHealthCheck.Builder builder = TcpHealthCheck.builder(host, port)
+                .connectionTimeout(HttpHealthCheckFactory.toJavaDuration(connectionTimeout))
+                .probeEngine(resources.getTcpProbeEngine())
+                .resolver(resources.getResolver())
+                .addresses(addresses);
+        if (exchange != null) {
+            builder.exchange(exchange);
+        }
+        return builder.build();
+    }
+
+    @Nullable
+    private TcpExchange exchange() {
+        if (preset != null) {
+            return preset.create();
+        }
+        // the request and response are given as text and sent as ISO-8859-1, so that any byte can be expressed
+        final byte[] request = send == null ? new byte[0] : send.getBytes(StandardCharsets.ISO_8859_1);
+        if (expectPattern != null) {
+            return TcpExchange.expectPattern(request, Pattern.compile(expectPattern), maxResponseBytes);
+        }
+        if (expect != null) {
+            return TcpExchange.expectBytes(request, expect.getBytes(StandardCharsets.ISO_8859_1));
+        }
+        return null;
+    }
+}
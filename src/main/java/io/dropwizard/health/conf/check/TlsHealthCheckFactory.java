@@ -0,0 +1,176 @@
+package io.dropwizard.health.conf.check;
+
+import com.codahale.metrics.health.HealthCheck;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dropwizard.health.core.HealthCheckResources;
+import io.dropwizard.health.tcp.TlsHealthCheck;
+import io.dropwizard.util.Duration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+
+import javax.annotation.Nullable;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Builds a {@link TlsHealthCheck} that resolves through the shared DNS cache of the application, and trusts the
+ * certificates of the given trust store, or those trusted by the JVM if there is none, e.g.:
+ * <pre>
+ * check:
+ *   type: tls
+ *   host: payments
+ *   port: 443
+ *   minDaysToExpiry: 30
+ * </pre>
+ */
+@JsonTypeName("tls")
+public class TlsHealthCheckFactory implements HealthCheckFactory {
+    @NotEmpty
+    @JsonProperty
+    private String host;
+
+    @Min(1)
+    @Max(65535)
+    @JsonProperty
+    private int port = 443;
+
+    @NotNull
+    @JsonProperty
+    private Duration timeout = Duration.seconds(2);
+
+    @Min(0)
+    @JsonProperty
+    private int minDaysToExpiry = 14;
+
+    @JsonProperty
+    private boolean verifyHostname = true;
+
+    @NotNull
+    @JsonProperty
+    private Duration sessionTimeout = Duration.hours(1);
+
+    @Nullable
+    @JsonProperty
+    private String trustStorePath;
+
+    @Nullable
+    @JsonProperty
+    private String trustStorePassword;
+
+    @NotEmpty
+    @JsonProperty
+    private String trustStoreType = KeyStore.getDefaultType();
+
+    public String getHost() {
+        return host;
+    }
+
+    public void setHost(final String host) {
+        this.host = host;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public void setPort(final int port) {
+        this.port = port;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(final Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public int getMinDaysToExpiry() {
+        return minDaysToExpiry;
+    }
+
+    public void setMinDaysToExpiry(final int minDaysToExpiry) {
+        this.minDaysToExpiry = minDaysToExpiry;
+    }
+
+    public boolean isVerifyHostname() {
+        return verifyHostname;
+    }
+
+    public void setVerifyHostname(final boolean verifyHostname) {
+        this.verifyHostname = verifyHostname;
+    }
+
+    public Duration getSessionTimeout() {
+        return sessionTimeout;
+    }
+
+    public void setSessionTimeout(final Duration sessionTimeout) {
+        this.sessionTimeout = sessionTimeout;
+    }
+
+    @Nullable
+    public String getTrustStorePath() {
+        return trustStorePath;
+    }
+
+    public void setTrustStorePath(@Nullable final String trustStorePath) {
+        this.trustStorePath = trustStorePath;
+    }
+
+    @Nullable
+    public String getTrustStorePassword() {
+        return trustStorePassword;
+    }
+
+    public void setTrustStorePassword(@Nullable final String trustStorePassword) {
+        this.trustStorePassword = trustStorePassword;
+    }
+
+    public String getTrustStoreType() {
+        return trustStoreType;
+    }
+
+    public void setTrustStoreType(final String trustStoreType) {
+        this.trustStoreType = trustStoreType;
+    }
+
+    @Override
+    public HealthCheck build(final HealthCheckResources resources) {
+        final TlsHealthCheck.Builder builder = TlsHealthCheck.builder(host, port)
+                .timeout(HttpHealthCheckFactory.toJavaDuration(timeout))
+                .minDaysToExpiry(minDaysToExpiry)
+                .verifyHostname(verifyHostname)
+                .sessionTimeout(HttpHealthCheckFactory.toJavaDuration(sessionTimeout))
+                .resolver(resources.getResolver());
+        if (trustStorePath != null) {
+            builder.sslContext(trustingContext(trustStorePath));
+        }
+        return builder.build();
+    }
+
+    private SSLContext trustingContext(final String path) {
+        try (InputStream in = Files.newInputStream(Paths.get(path))) {
+            final KeyStore trustStore = KeyStore.getInstance(trustStoreType);
+            trustStore.load(in, trustStorePassword == null ? null : trustStorePassword.toCharArray());
+            final TrustManagerFactory trustManagerFactory =
+                    TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+            trustManagerFactory.init(trustStore);
+            final SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(null, trustManagerFactory.getTrustManagers(), null);
+            return sslContext;
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot load the trust store of the TLS health check: " + path, e);
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package io.dropwizard.health.conf.response;
 
+import com.codahale.metrics.MetricRegistry;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.dropwizard.health.core.HealthCheckServlet;
+import io.dropwizard.health.core.HealthStateAggregator;
 import io.dropwizard.health.core.HealthStatusChecker;
 
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import javax.annotation.Nullable;
 import javax.servlet.http.HttpServlet;
+import javax.validation.constraints.Min;
 import javax.ws.rs.core.MediaType;
 
 /**
@@ -23,6 +27,16 @@ public class DefaultHealthServletFactory implements HealthServletFactory {
     @JsonProperty
     private String cacheControlValue = "no-store";
 
+    @JsonProperty
+    private boolean etagEnabled = true;
+
+    @JsonProperty
+    private boolean metricsEnabled = true;
+
+    @Min(0)
+    @JsonProperty
+    private int maxRequestsPerClient = 0;
+
     @JsonProperty
     private String contentType = MediaType.APPLICATION_JSON;
 
@@ -48,6 +62,30 @@ public class DefaultHealthServletFactory implements HealthServletFactory {
         this.cacheControlValue = cacheControlValue;
     }
 
+    public boolean isEtagEnabled() {
+        return etagEnabled;
+    }
+
+    public void setEtagEnabled(final boolean etagEnabled) {
+        this.etagEnabled = etagEnabled;
+    }
+
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    public void setMetricsEnabled(final boolean metricsEnabled) {
+        this.metricsEnabled = metricsEnabled;
+    }
+
+    public int getMaxRequestsPerClient() {
+        return maxRequestsPerClient;
+    }
+
+    public void setMaxRequestsPerClient(final int maxRequestsPerClient) {
+        this.maxRequestsPerClient = maxRequestsPerClient;
+    }
+
     public String getContentType() {
         return contentType;
     }
@@ -84,4 +122,18 @@ public class DefaultHealthServletFactory implements HealthServletFactory {
         return new HealthCheckServlet(healthStatusChecker, cacheControlEnabled, cacheControlValue, contentType,
                 healthyValue, unhealthyValue);
     }
+
+    @Override
+    public HttpServlet build(HealthStatusChecker healthStatusChecker, HealthStateAggregator healthStateAggregator) {
+        return new HealthCheckServlet(healthStatusChecker, etagEnabled ? healthStateAggregator : null,
+                cacheControlEnabled, cacheControlValue, contentType, healthyValue, unhealthyValue);
+    }
+
+    @Override
+    public HttpServlet build(HealthStatusChecker healthStatusChecker, HealthStateAggregator healthStateAggregator,
+                             MetricRegistry metrics, @Nullable String name) {
+        return new HealthCheckServlet(healthStatusChecker, etagEnabled ? healthStateAggregator : null,
+                cacheControlEnabled, cacheControlValue, contentType, healthyValue, unhealthyValue,
+                metricsEnabled ? metrics : null, name, maxRequestsPerClient);
+    }
 }
@@ -0,0 +1,46 @@
+package io.dropwizard.health.conf.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dropwizard.health.core.DetailedHealthCheckServlet;
+import io.dropwizard.health.core.HealthStateAggregator;
+import io.dropwizard.health.core.HealthStatusChecker;
+
+import javax.servlet.http.HttpServlet;
+
+/**
+ * An implementation of {@link HealthStateServletFactory} that responds with the state of every scheduled health check
+ * (name, type, criticality, state, last transition time and last message) as JSON.
+ *
+ * @see DetailedHealthCheckServlet
+ */
+@JsonTypeName("detailed")
+public class DetailedHealthServletFactory implements HealthStateServletFactory {
+    @JsonProperty
+    private boolean cacheControlEnabled = true;
+
+    @JsonProperty
+    private String cacheControlValue = "no-store";
+
+    public boolean isCacheControlEnabled() {
+        return cacheControlEnabled;
+    }
+
+    public void setCacheControlEnabled(final boolean cacheControlEnabled) {
+        this.cacheControlEnabled = cacheControlEnabled;
+    }
+
+    public String getCacheControlValue() {
+        return cacheControlValue;
+    }
+
+    public void setCacheControlValue(final String cacheControlValue) {
+        this.cacheControlValue = cacheControlValue;
+    }
+
+    @Override
+    public HttpServlet build(HealthStatusChecker healthStatusChecker, HealthStateAggregator healthStateAggregator) {
+        return new DetailedHealthCheckServlet(healthStatusChecker, healthStateAggregator, cacheControlEnabled,
+                cacheControlValue);
+    }
+}
@@ -1,20 +1,21 @@
 package io.dropwizard.health.conf.response;
 
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import io.dropwizard.health.core.HealthStateAggregator;
 import io.dropwizard.health.core.HealthStatusChecker;
-import io.dropwizard.jackson.Discoverable;
 
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.servlet.http.HttpServlet;
 
 /**
- * A factory for building an {@link HttpServlet} instance used for responding to health check requests.
+ * A factory for building an {@link HttpServlet} instance used for responding to health check requests, which can also
+ * build the servlet from the overall status alone.
  *
  * @see DefaultHealthServletFactory
  */
 @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type", defaultImpl = DefaultHealthServletFactory.class)
-public interface HealthServletFactory extends Discoverable {
+public interface HealthServletFactory extends HealthStateServletFactory {
     /**
      * Build a servlet for responding to health check requests (e.g. from load balancer).
      *
@@ -32,4 +33,20 @@ public interface HealthServletFactory extends Discoverable {
      * @return a {@link HttpServlet} that responds to health check requests
      */
     HttpServlet build(final HealthStatusChecker healthStatusChecker);
+
+    /**
+     * Build a servlet for responding to health check requests (e.g. from load balancer).
+     *
+     * By default this delegates to {@link #build(HealthStatusChecker)}; implementations that make use of the health
+     * state (e.g. its version) should override this method.
+     *
+     * @param healthStatusChecker   an interface that exposes the ability to check current status of health.
+     * @param healthStateAggregator an interface that exposes the health state and notifies about its changes.
+     * @return a {@link HttpServlet} that responds to health check requests
+     */
+    @Override
+    default HttpServlet build(final HealthStatusChecker healthStatusChecker,
+                              final HealthStateAggregator healthStateAggregator) {
+        return build(healthStatusChecker);
+    }
 }
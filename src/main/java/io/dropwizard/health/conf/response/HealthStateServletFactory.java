@@ -0,0 +1,50 @@
+package io.dropwizard.health.conf.response;
+
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import io.dropwizard.health.core.HealthStateAggregator;
+import io.dropwizard.health.core.HealthStatusChecker;
+import io.dropwizard.jackson.Discoverable;
+
+import javax.annotation.Nullable;
+import javax.servlet.http.HttpServlet;
+
+/**
+ * A factory for building an {@link HttpServlet} instance used for responding to health check requests from the
+ * health state. Factories whose servlets only need the overall status implement {@link HealthServletFactory}.
+ *
+ * @see DefaultHealthServletFactory
+ * @see DetailedHealthServletFactory
+ * @see KubernetesHealthServletFactory
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type", defaultImpl = DefaultHealthServletFactory.class)
+public interface HealthStateServletFactory extends Discoverable {
+    /**
+     * Build a servlet for responding to health check requests (e.g. from load balancer).
+     *
+     * @param healthStatusChecker   an interface that exposes the ability to check current status of health.
+     * @param healthStateAggregator an interface that exposes the health state and notifies about its changes.
+     * @return a {@link HttpServlet} that responds to health check requests
+     */
+    HttpServlet build(final HealthStatusChecker healthStatusChecker,
+                      final HealthStateAggregator healthStateAggregator);
+
+    /**
+     * Build a servlet for responding to health check requests (e.g. from load balancer).
+     *
+     * By default this delegates to {@link #build(HealthStatusChecker, HealthStateAggregator)}; implementations that
+     * record metrics about the requests they serve should override this method.
+     *
+     * @param healthStatusChecker   an interface that exposes the ability to check current status of health.
+     * @param healthStateAggregator an interface that exposes the health state and notifies about its changes.
+     * @param metrics               the registry to record metrics in.
+     * @param name                  the name of the bundle, to include in metric names, or {@code null}.
+     * @return a {@link HttpServlet} that responds to health check requests
+     */
+    default HttpServlet build(final HealthStatusChecker healthStatusChecker,
+                              final HealthStateAggregator healthStateAggregator,
+                              final MetricRegistry metrics,
+                              @Nullable final String name) {
+        return build(healthStatusChecker, healthStateAggregator);
+    }
+}
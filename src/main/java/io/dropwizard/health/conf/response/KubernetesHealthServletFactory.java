@@ -0,0 +1,46 @@
+package io.dropwizard.health.conf.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dropwizard.health.core.HealthStateAggregator;
+import io.dropwizard.health.core.HealthStatusChecker;
+import io.dropwizard.health.core.KubernetesHealthCheckServlet;
+
+import javax.servlet.http.HttpServlet;
+
+/**
+ * An implementation of {@link HealthStateServletFactory} that serves Kubernetes-style {@code /livez}, {@code /readyz} and
+ * {@code /startupz} endpoints. The paths the servlet is mapped to are configured with {@code healthCheckUrlPaths}.
+ *
+ * @see KubernetesHealthCheckServlet
+ */
+@JsonTypeName("kubernetes")
+public class KubernetesHealthServletFactory implements HealthStateServletFactory {
+    @JsonProperty
+    private boolean cacheControlEnabled = true;
+
+    @JsonProperty
+    private String cacheControlValue = "no-store";
+
+    public boolean isCacheControlEnabled() {
+        return cacheControlEnabled;
+    }
+
+    public void setCacheControlEnabled(final boolean cacheControlEnabled) {
+        this.cacheControlEnabled = cacheControlEnabled;
+    }
+
+    public String getCacheControlValue() {
+        return cacheControlValue;
+    }
+
+    public void setCacheControlValue(final String cacheControlValue) {
+        this.cacheControlValue = cacheControlValue;
+    }
+
+    @Override
+    public HttpServlet build(HealthStatusChecker healthStatusChecker, HealthStateAggregator healthStateAggregator) {
+        return new KubernetesHealthCheckServlet(healthStatusChecker, healthStateAggregator, cacheControlEnabled,
+                cacheControlValue);
+    }
+}
@@ -0,0 +1,78 @@
+package io.dropwizard.health.core;
+
+import io.dropwizard.health.conf.HealthCheckType;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.charset.StandardCharsets;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Answers HAProxy {@code agent-check} connections with a single status line, without going through Jetty. Every
+ * accepted connection is sent the line matching the current application status and closed:
+ * <ul>
+ *     <li>the ready value (e.g. {@code up}) if the application is ready</li>
+ *     <li>the not ready value (e.g. {@code drain}) if it is alive but not ready, e.g. while shutting down</li>
+ *     <li>the not alive value (e.g. {@code down}) if it is not alive</li>
+ * </ul>
+ *
+ * The lines are encoded once and reused for every connection.
+ */
+public class AgentCheckResponder extends ChannelResponder {
+    private final HealthStatusChecker healthStatusChecker;
+    private final InetSocketAddress bindAddress;
+    private final ByteBuffer readyLine;
+    private final ByteBuffer notReadyLine;
+    private final ByteBuffer notAliveLine;
+
+    public AgentCheckResponder(final HealthStatusChecker healthStatusChecker, final InetSocketAddress bindAddress,
+                               final String name, final String readyValue, final String notReadyValue,
+                               final String notAliveValue) {
+        super(name);
+        this.healthStatusChecker = requireNonNull(healthStatusChecker);
+        this.bindAddress = requireNonNull(bindAddress);
+        this.readyLine = encode(readyValue);
+        this.notReadyLine = encode(notReadyValue);
+        this.notAliveLine = encode(notAliveValue);
+    }
+
+    /**
+     * @return the port the responder is bound to, or {@code -1} if it is not started
+     */
+    public int getLocalPort() {
+        final ServerSocketChannel channel = getServerChannel();
+        return channel == null ? -1 : channel.socket().getLocalPort();
+    }
+
+    @Override
+    ServerSocketChannel openChannel() throws IOException {
+        final ServerSocketChannel channel = ServerSocketChannel.open();
+        channel.bind(bindAddress);
+        return channel;
+    }
+
+    @Override
+    ByteBuffer currentResponse() {
+        final ByteBuffer line;
+        if (!healthStatusChecker.isHealthy(HealthCheckType.ALIVE.name())) {
+            line = notAliveLine;
+        } else if (healthStatusChecker.isHealthy(HealthCheckType.READY.name())) {
+            line = readyLine;
+        } else {
+            line = notReadyLine;
+        }
+        // the buffers are only used by the acceptor thread, so they can be rewound and reused for every connection
+        line.rewind();
+        return line;
+    }
+
+    private static ByteBuffer encode(final String value) {
+        final byte[] bytes = (requireNonNull(value) + "\n").getBytes(StandardCharsets.US_ASCII);
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        return buffer;
+    }
+}
@@ -0,0 +1,102 @@
+package io.dropwizard.health.core;
+
+import io.dropwizard.lifecycle.Managed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+import javax.annotation.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Base class for responders that answer every accepted connection with the current health status and close it,
+ * without going through Jetty. Connections are served by a single dedicated thread, so responders keep answering
+ * when the application's thread pool is exhausted.
+ */
+abstract class ChannelResponder implements Managed {
+    private static final Logger log = LoggerFactory.getLogger(ChannelResponder.class);
+
+    private final String name;
+    @Nullable
+    private volatile ServerSocketChannel serverChannel;
+    @Nullable
+    private Thread acceptor;
+
+    ChannelResponder(final String name) {
+        this.name = requireNonNull(name);
+    }
+
+    /**
+     * @return a new server channel, bound to the address to answer on
+     * @throws IOException if the channel cannot be opened or bound
+     */
+    abstract ServerSocketChannel openChannel() throws IOException;
+
+    /**
+     * Returns the response for a newly accepted connection. This is only called from the acceptor thread, so the
+     * returned buffer may be reused across calls; it is written from its current position to its limit.
+     *
+     * @return the response to write
+     */
+    abstract ByteBuffer currentResponse();
+
+    /**
+     * Called once the server channel has been closed.
+     *
+     * @throws IOException if cleaning up fails
+     */
+    void channelClosed() throws IOException {
+        // do nothing by default
+    }
+
+    @Override
+    public void start() throws Exception {
+        final ServerSocketChannel channel = openChannel();
+        serverChannel = channel;
+        acceptor = new Thread(() -> acceptConnections(channel), name);
+        acceptor.setDaemon(true);
+        acceptor.start();
+        log.info("Started {}: address={}", name, channel.getLocalAddress());
+    }
+
+    @Override
+    public void stop() throws Exception {
+        final ServerSocketChannel channel = serverChannel;
+        if (channel != null) {
+            serverChannel = null;
+            channel.close();
+            channelClosed();
+        }
+        if (acceptor != null) {
+            acceptor.join();
+            acceptor = null;
+        }
+    }
+
+    @Nullable
+    ServerSocketChannel getServerChannel() {
+        return serverChannel;
+    }
+
+    private void acceptConnections(final ServerSocketChannel channel) {
+        while (channel.isOpen()) {
+            try (SocketChannel client = channel.accept()) {
+                final ByteBuffer response = currentResponse();
+                while (response.hasRemaining()) {
+                    client.write(response);
+                }
+            } catch (ClosedChannelException e) {
+                // the responder is stopping
+                return;
+            } catch (IOException e) {
+                log.debug("{} failed to answer connection", name, e);
+            }
+        }
+    }
+}
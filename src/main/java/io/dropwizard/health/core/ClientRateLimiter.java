@@ -0,0 +1,87 @@
+package io.dropwizard.health.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits the number of requests per second from each client, using a fixed one-second window per client address.
+ * Windows of clients that stopped sending requests are evicted once more than {@value #EVICTION_THRESHOLD} clients
+ * are tracked.
+ */
+class ClientRateLimiter {
+    private static final int EVICTION_THRESHOLD = 1024;
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final int maxRequestsPerSecond;
+    private final LongSupplier nanoClock;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean(false);
+
+    ClientRateLimiter(final int maxRequestsPerSecond) {
+        this(maxRequestsPerSecond, System::nanoTime);
+    }
+
+    ClientRateLimiter(final int maxRequestsPerSecond, final LongSupplier nanoClock) {
+        if (maxRequestsPerSecond < 1) {
+            throw new IllegalArgumentException("maxRequestsPerSecond must be positive: " + maxRequestsPerSecond);
+        }
+        this.maxRequestsPerSecond = maxRequestsPerSecond;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Records a request and returns whether it is within the limit of its client.
+     *
+     * @param clientAddress the address of the client
+     * @return {@code true} if the request is allowed, {@code false} if the client exceeded its limit
+     */
+    boolean tryAcquire(final String clientAddress) {
+        final long second = nanoClock.getAsLong() / NANOS_PER_SECOND;
+        final Window window = windows.get(clientAddress);
+        if (window != null) {
+            return window.tryAcquire(second, maxRequestsPerSecond);
+        }
+
+        final boolean allowed = windows.computeIfAbsent(clientAddress, address -> new Window())
+                .tryAcquire(second, maxRequestsPerSecond);
+        if (windows.size() > EVICTION_THRESHOLD) {
+            evictIdleWindows(second);
+        }
+        return allowed;
+    }
+
+    int trackedClients() {
+        return windows.size();
+    }
+
+    private void evictIdleWindows(final long second) {
+        // one thread evicts at a time, the others carry on without waiting
+        if (evicting.compareAndSet(false, true)) {
+            try {
+                windows.values().removeIf(window -> window.isIdleSince(second));
+            } finally {
+                evicting.set(false);
+            }
+        }
+    }
+
+    private static class Window {
+        private long second = Long.MIN_VALUE;
+        private int count;
+
+        synchronized boolean tryAcquire(final long now, final int max) {
+            if (second != now) {
+                second = now;
+                count = 0;
+            }
+            return ++count <= max;
+        }
+
+        synchronized boolean isIdleSince(final long now) {
+            return second < now;
+        }
+    }
+}
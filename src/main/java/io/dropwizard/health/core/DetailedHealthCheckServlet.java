@@ -0,0 +1,179 @@
+package io.dropwizard.health.core;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.dropwizard.health.conf.HealthCheckType;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.PreEncodedHttpField;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Locale;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A servlet that responds to health check requests with the state of every scheduled health check as JSON, e.g.:
+ * <pre>{@code
+ * {
+ *   "status": "unhealthy",
+ *   "alive": true,
+ *   "ready": false,
+ *   "started": true,
+ *   "version": 12,
+ *   "checks": [
+ *     {
+ *       "name": "database",
+ *       "type": "ready",
+ *       "critical": true,
+ *       "state": "unhealthy",
+ *       "lastTransition": "2021-03-04T05:06:07.890Z",
+ *       "lastMessage": "Connection refused"
+ *     }
+ *   ]
+ * }
+ * }</pre>
+ *
+ * The response bodies are serialized once per health state version and served from the cached bytes until the
+ * next state change. As a consequence, {@code lastMessage} reflects the most recent result as of the last state
+ * change.
+ */
+public class DetailedHealthCheckServlet extends HttpServlet {
+    private static final String CHECK_TYPE_QUERY_PARAM = "type";
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final HealthStatusChecker healthStatusChecker;
+    private final HealthStateAggregator healthStateAggregator;
+    private final boolean cacheControlEnabled;
+    private final PreEncodedHttpField cacheControlField;
+    private final Object renderLock = new Object();
+    private volatile Snapshot snapshot;
+
+    public DetailedHealthCheckServlet(final HealthStatusChecker healthStatusChecker,
+                                      final HealthStateAggregator healthStateAggregator,
+                                      final boolean cacheControlEnabled, final String cacheControlValue) {
+        this.healthStatusChecker = requireNonNull(healthStatusChecker);
+        this.healthStateAggregator = requireNonNull(healthStateAggregator);
+        this.cacheControlEnabled = cacheControlEnabled;
+        this.cacheControlField = new PreEncodedHttpField(HttpHeader.CACHE_CONTROL, requireNonNull(cacheControlValue));
+    }
+
+    @Override
+    protected void doGet(final HttpServletRequest req, final HttpServletResponse resp) throws ServletException, IOException {
+        respond(req, resp, true);
+    }
+
+    @Override
+    protected void doHead(final HttpServletRequest req, final HttpServletResponse resp) throws ServletException, IOException {
+        respond(req, resp, false);
+    }
+
+    private void respond(final HttpServletRequest req, final HttpServletResponse resp, final boolean includeBody)
+            throws IOException {
+        if (cacheControlEnabled) {
+            HealthResponses.putField(resp, cacheControlField);
+        }
+
+        final String typeValue = QueryStrings.getParameter(req.getQueryString(), CHECK_TYPE_QUERY_PARAM);
+        final Snapshot current = currentSnapshot();
+        final boolean healthy = healthStatusChecker.isHealthy(typeValue);
+
+        final PreEncodedHttpField etag = current.tags.get(healthy);
+        HealthResponses.putField(resp, etag);
+        if (healthy && HealthResponses.matches(req.getHeader(HttpHeaders.IF_NONE_MATCH), etag.getValue())) {
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        resp.setContentType(MediaType.APPLICATION_JSON);
+        final byte[] body;
+        if (healthy) {
+            body = current.healthyBody;
+        } else {
+            body = current.unhealthyBody;
+            resp.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        }
+        resp.setContentLength(body.length);
+        if (includeBody) {
+            resp.getOutputStream().write(body);
+        }
+    }
+
+    private Snapshot currentSnapshot() {
+        final long version = healthStateAggregator.getStateVersion();
+        Snapshot current = snapshot;
+        if (current != null && current.tags.getVersion() == version) {
+            return current;
+        }
+
+        // only one thread renders a new version, concurrent probes wait for and reuse its result
+        synchronized (renderLock) {
+            current = snapshot;
+            if (current == null || current.tags.getVersion() != version) {
+                final Collection<HealthStateView> views = healthStateAggregator.healthStateViews();
+                current = new Snapshot(version, render(version, views, true), render(version, views, false));
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    private byte[] render(final long version, final Collection<HealthStateView> views, final boolean healthy) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(256);
+        try (JsonGenerator json = JSON_FACTORY.createGenerator(output, JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeStringField("status", healthy ? "healthy" : "unhealthy");
+            json.writeBooleanField("alive", healthStatusChecker.isHealthy(HealthCheckType.ALIVE.name()));
+            json.writeBooleanField("ready", healthStatusChecker.isHealthy(HealthCheckType.READY.name()));
+            json.writeBooleanField("started", healthStatusChecker.isHealthy(HealthCheckType.STARTUP.name()));
+            json.writeNumberField("version", version);
+            json.writeArrayFieldStart("checks");
+            for (final HealthStateView view : views) {
+                json.writeStartObject();
+                json.writeStringField("name", view.getName());
+                json.writeStringField("type", view.getType().name().toLowerCase(Locale.ENGLISH));
+                json.writeBooleanField("critical", view.isCritical());
+                json.writeStringField("state", view.isHealthy() ? "healthy" : "unhealthy");
+                if (view.getLastTransition().isPresent()) {
+                    json.writeStringField("lastTransition", view.getLastTransition().get().toString());
+                } else {
+                    json.writeNullField("lastTransition");
+                }
+                if (view.getLastMessage().isPresent()) {
+                    json.writeStringField("lastMessage", view.getLastMessage().get());
+                } else {
+                    json.writeNullField("lastMessage");
+                }
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        } catch (IOException e) {
+            // writing to memory does not fail in practice
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+
+    private static class Snapshot {
+        private final HealthResponses.EntityTags tags;
+        private final byte[] healthyBody;
+        private final byte[] unhealthyBody;
+
+        private Snapshot(final long version, final byte[] healthyBody, final byte[] unhealthyBody) {
+            this.tags = new HealthResponses.EntityTags(version);
+            this.healthyBody = healthyBody;
+            this.unhealthyBody = unhealthyBody;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package io.dropwizard.health.core;
+
+import io.dropwizard.health.shutdown.ShutdownDrain;
+
+import java.io.IOException;
+
+import javax.servlet.ServletConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletResponse;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Wraps the servlet that answers health check probes, and reports each probe to a {@link ShutdownDrain}, so that a
+ * delayed shutdown knows how often the instance was reported unhealthy. A probe counts as answered unhealthy if its
+ * response has a server error status, e.g. {@code 503}.
+ *
+ * Probes are only reported as in flight if the request statistics of the server count them, i.e. the servlet is
+ * reached through the {@link org.eclipse.jetty.server.handler.StatisticsHandler}, so that the drain does not subtract
+ * probes it never counted from the active application requests.
+ */
+class DrainingProbeServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+
+    private final HttpServlet servlet;
+    private final transient ShutdownDrain drain;
+    private final boolean countedInStatistics;
+
+    /**
+     * @param servlet             the servlet that answers probes
+     * @param drain               the drain to report probes to
+     * @param countedInStatistics whether the request statistics of the server count the probes this servlet answers
+     */
+    DrainingProbeServlet(final HttpServlet servlet, final ShutdownDrain drain, final boolean countedInStatistics) {
+        this.servlet = requireNonNull(servlet);
+        this.drain = requireNonNull(drain);
+        this.countedInStatistics = countedInStatistics;
+    }
+
+    @Override
+    public void init(final ServletConfig config) throws ServletException {
+        super.init(config);
+        servlet.init(config);
+    }
+
+    @Override
+    public void service(final ServletRequest req, final ServletResponse res) throws ServletException, IOException {
+        if (countedInStatistics) {
+            drain.probeStarted();
+        }
+        boolean healthy = true;
+        try {
+            servlet.service(req, res);
+            healthy = !(res instanceof HttpServletResponse)
+                    || ((HttpServletResponse) res).getStatus() < HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        } finally {
+            if (countedInStatistics) {
+                drain.probeFinished(healthy);
+            } else {
+                drain.probeAnswered(healthy);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        servlet.destroy();
+        super.destroy();
+    }
+}
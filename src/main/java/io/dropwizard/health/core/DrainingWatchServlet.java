@@ -0,0 +1,88 @@
+package io.dropwizard.health.core;
+
+import io.dropwizard.health.shutdown.ShutdownDrain;
+
+import java.io.IOException;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServlet;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Wraps the servlet that answers watch requests, i.e. long polls and event streams of the health state, and reports
+ * each of them to a {@link ShutdownDrain} while it is open. The request statistics of the server count a watch as
+ * active until its asynchronous response completes, which would otherwise keep a delayed shutdown from ever seeing
+ * the application quiet.
+ */
+class DrainingWatchServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+
+    private final HttpServlet servlet;
+    private final transient ShutdownDrain drain;
+
+    /**
+     * @param servlet the servlet that answers watch requests
+     * @param drain   the drain to report watches to
+     */
+    DrainingWatchServlet(final HttpServlet servlet, final ShutdownDrain drain) {
+        this.servlet = requireNonNull(servlet);
+        this.drain = requireNonNull(drain);
+    }
+
+    @Override
+    public void init(final ServletConfig config) throws ServletException {
+        super.init(config);
+        servlet.init(config);
+    }
+
+    @Override
+    public void service(final ServletRequest req, final ServletResponse res) throws ServletException, IOException {
+        drain.watchStarted();
+        boolean async = false;
+        try {
+            servlet.service(req, res);
+            if (req.isAsyncStarted()) {
+                req.getAsyncContext().addListener(new FinishWatchListener());
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                drain.watchFinished();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        servlet.destroy();
+        super.destroy();
+    }
+
+    private class FinishWatchListener implements AsyncListener {
+        @Override
+        public void onComplete(final AsyncEvent event) {
+            drain.watchFinished();
+        }
+
+        @Override
+        public void onTimeout(final AsyncEvent event) {
+            // completed by the watch servlet
+        }
+
+        @Override
+        public void onError(final AsyncEvent event) {
+            // completed by the watch servlet
+        }
+
+        @Override
+        public void onStartAsync(final AsyncEvent event) {
+            // do nothing
+        }
+    }
+}
@@ -3,31 +3,46 @@ package io.dropwizard.health.core;
 import com.codahale.metrics.InstrumentedScheduledExecutorService;
 import com.codahale.metrics.InstrumentedThreadFactory;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.MetricSet;
+import com.codahale.metrics.health.HealthCheck;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.dropwizard.Configuration;
 import io.dropwizard.ConfiguredBundle;
 import io.dropwizard.health.conf.HealthCheckConfiguration;
 import io.dropwizard.health.conf.HealthConfiguration;
+import io.dropwizard.health.dns.CachingResolver;
+import io.dropwizard.health.http.HttpHealthCheckClientFactory;
 import io.dropwizard.health.shutdown.DelayedShutdownHandler;
+import io.dropwizard.health.shutdown.ShutdownDrain;
+import io.dropwizard.health.tcp.TcpProbeEngine;
 import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
 import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
 import io.dropwizard.util.Duration;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.server.handler.StatisticsHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
+import java.net.InetSocketAddress;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.util.List;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import javax.servlet.ServletRegistration;
 import javax.servlet.http.HttpServlet;
+import javax.ws.rs.client.Client;
 
 public abstract class HealthCheckBundle<C extends Configuration> implements ConfiguredBundle<C> {
     private static final Logger log = LoggerFactory.getLogger(HealthCheckBundle.class);
     private static final String DEFAULT_BASE_NAME = "health-check";
     private final String baseName;
     private final String name;
+    private HealthCheckResources resources;
 
     public HealthCheckBundle() {
         this(null);
@@ -53,6 +68,10 @@ public abstract class HealthCheckBundle<C extends Configuration> implements Conf
         final MetricRegistry metrics = environment.metrics();
         final HealthConfiguration healthConfig = getHealthConfiguration(configuration);
         final List<HealthCheckConfiguration> healthCheckConfigs = healthConfig.getHealthCheckConfigurations();
+        if (healthConfig.getUnixSocketPath() != null && !UnixDomainSockets.isSupported()) {
+            throw new IllegalArgumentException("unixSocketPath is set, but Unix domain sockets require Java 16 or "
+                    + "later, the application runs on Java " + System.getProperty("java.specification.version"));
+        }
 
         // setup schedules for configured health checks
         final ScheduledExecutorService scheduledHealthCheckExecutor = createScheduledExecutorForHealthChecks(
@@ -62,18 +81,132 @@ public abstract class HealthCheckBundle<C extends Configuration> implements Conf
                 name, healthConfig.getShutdownWaitPeriod(), healthConfig.isInitialOverallState());
         healthCheckManager.initializeAppHealth();
 
+        // share one DNS cache between health checks, so that probes do not wait for DNS on every run
+        final CachingResolver resolver = new CachingResolver(
+                java.time.Duration.ofMillis(healthConfig.getDnsCacheTtl().toMilliseconds()),
+                java.time.Duration.ofMillis(healthConfig.getDnsNegativeCacheTtl().toMilliseconds()));
+        // and one pooled HTTP client between HTTP health checks, built when first requested
+        final HttpHealthCheckClientFactory httpClientFactory = new HttpHealthCheckClientFactory(environment,
+                healthConfig.getHttpClient(), baseName + "-http-client", resolver);
+        // and one selector thread for the connects of TCP health checks, started with the first probe
+        final TcpProbeEngine tcpProbeEngine = new TcpProbeEngine(baseName + "-tcp-probes");
+        resources = new HealthCheckResources(httpClientFactory, tcpProbeEngine, resolver);
+        // which are closed in parallel when the application stops, without waiting for any one of them too long
+        final ResourceCloser resourceCloser = new ResourceCloser(baseName + "-close",
+                healthConfig.getResourceCloseTimeout(), metrics, name);
+        resourceCloser.add("http-client", httpClientFactory::stop);
+        resourceCloser.add("tcp-probes", tcpProbeEngine::stop);
+        environment.lifecycle().manage(resourceCloser);
+
+        // build and register the health checks that are declared in the configuration
+        for (final HealthCheckConfiguration healthCheckConfig : healthCheckConfigs) {
+            if (healthCheckConfig.getCheck() != null) {
+                final HealthCheck healthCheck = healthCheckConfig.getCheck().build(resources);
+                environment.healthChecks().register(healthCheckConfig.getName(), healthCheck);
+                if (healthCheck instanceof MetricSet) {
+                    // e.g. the days until the certificate of a TLS check expires
+                    metrics.register(MetricRegistry.name("health", name, healthCheckConfig.getName()),
+                            (MetricSet) healthCheck);
+                }
+                if (healthCheck instanceof Closeable) {
+                    // e.g. persistent connections, which are closed along with the shared resources
+                    resourceCloser.add("check-" + healthCheckConfig.getName(), (Closeable) healthCheck);
+                }
+            }
+        }
+
         // setup servlet to respond to health check requests
-        final HttpServlet servlet;
+        final HttpServlet healthServlet;
         final HttpServlet userProvidedServlet = createHealthCheckServlet(healthCheckManager.getIsAppHealthy());
         if (userProvidedServlet != null) {
-            servlet = userProvidedServlet;
+            healthServlet = userProvidedServlet;
         } else {
-            servlet = healthConfig.getServletFactory().build(healthCheckManager);
+            healthServlet = healthConfig.getHealthStateServletFactory().build(healthCheckManager, healthCheckManager, metrics,
+                    name);
+        }
+        // optionally let a delayed shutdown finish once the load balancer saw the instance leave and traffic stopped
+        final HttpServlet servlet;
+        final HttpServlet handlerServlet;
+        final ShutdownDrain drain = healthConfig.isAdaptiveShutdownEnabled()
+                ? new ShutdownDrain(healthConfig.getShutdownUnhealthyProbes(), healthConfig.getShutdownQuietPeriod())
+                : null;
+        if (drain != null) {
+            environment.lifecycle().addServerLifecycleListener(server -> {
+                final StatisticsHandler statistics = server.getChildHandlerByClass(StatisticsHandler.class);
+                if (statistics != null) {
+                    drain.setActiveRequests(statistics::getRequestsActive);
+                } else {
+                    log.warn("No request statistics found, delayed shutdown will wait for the whole period");
+                }
+            });
+            healthCheckManager.setShutdownDrain(drain);
+            servlet = new DrainingProbeServlet(healthServlet, drain, true);
+            // the probe handler wraps the server's handler, so the request statistics do not see its probes
+            handlerServlet = new DrainingProbeServlet(healthServlet, drain, false);
+        } else {
+            servlet = healthServlet;
+            handlerServlet = healthServlet;
         }
         environment.servlets()
                 .addServlet(baseName + "-servlet", servlet)
                 .addMapping(healthConfig.getHealthCheckUrlPaths().toArray(new String[0]));
 
+        // optionally answer probes from a Jetty handler in front of the application's servlet and filter chain
+        if (healthConfig.isProbeHandlerEnabled()) {
+            environment.lifecycle().addLifeCycleListener(new HealthCheckHandlerInstaller(baseName + "-probe",
+                    handlerServlet, healthConfig.getHealthCheckUrlPaths(), environment.getApplicationContext(),
+                    healthConfig.getProbeHandlerPort(), healthConfig.getProbeHandlerBindHost()));
+        }
+
+        // setup servlet to let clients wait for health state changes instead of polling
+        if (!healthConfig.getWatchUrlPaths().isEmpty()) {
+            final HealthStateWatchServlet watchServlet = new HealthStateWatchServlet(healthCheckManager,
+                    healthCheckManager, healthConfig.getWatchDefaultTimeout(), healthConfig.getWatchMaxTimeout());
+            healthCheckManager.addHealthStateListener(watchServlet);
+            // watches stay open while clients wait, so they must not hold up a delayed shutdown
+            final ServletRegistration.Dynamic watchRegistration = environment.servlets()
+                    .addServlet(baseName + "-watch-servlet",
+                            drain == null ? watchServlet : new DrainingWatchServlet(watchServlet, drain));
+            watchRegistration.setAsyncSupported(true);
+            watchRegistration.addMapping(healthConfig.getWatchUrlPaths().toArray(new String[0]));
+        }
+
+        // setup servlet to expose the state of each health check to metrics scrapers
+        if (!healthConfig.getMetricsUrlPaths().isEmpty()) {
+            environment.servlets()
+                    .addServlet(baseName + "-metrics-servlet",
+                            new OpenMetricsHealthServlet(healthCheckManager, healthCheckManager))
+                    .addMapping(healthConfig.getMetricsUrlPaths().toArray(new String[0]));
+        }
+
+        // optionally answer HAProxy agent checks outside of Jetty
+        if (healthConfig.getAgentCheckPort() != null) {
+            final String bindHost = healthConfig.getAgentCheckBindHost();
+            final InetSocketAddress bindAddress = bindHost == null
+                    ? new InetSocketAddress(healthConfig.getAgentCheckPort())
+                    : new InetSocketAddress(bindHost, healthConfig.getAgentCheckPort());
+            environment.lifecycle().manage(new AgentCheckResponder(healthCheckManager, bindAddress,
+                    baseName + "-agent-check", healthConfig.getAgentCheckReadyValue(),
+                    healthConfig.getAgentCheckNotReadyValue(), healthConfig.getAgentCheckNotAliveValue()));
+        }
+
+        // optionally answer agents on the same host over a Unix domain socket
+        if (healthConfig.getUnixSocketPath() != null) {
+            final String permissions = healthConfig.getUnixSocketPermissions();
+            environment.lifecycle().manage(new UnixSocketResponder(healthCheckManager, healthCheckManager,
+                    Paths.get(healthConfig.getUnixSocketPath()),
+                    permissions == null ? null : PosixFilePermissions.fromString(permissions),
+                    baseName + "-unix-socket"));
+        }
+
+        // optionally keep the status in a memory-mapped file for processes on the same host
+        if (healthConfig.getStatusFilePath() != null) {
+            final MappedStatusFile statusFile = new MappedStatusFile(healthCheckManager, healthCheckManager,
+                    Paths.get(healthConfig.getStatusFilePath()));
+            healthCheckManager.addHealthStateListener(statusFile);
+            environment.lifecycle().manage(statusFile);
+        }
+
         // register listener for HealthCheckRegistry and setup validator to ensure correct config
         environment.healthChecks().addListener(healthCheckManager);
         environment.lifecycle().manage(new HealthCheckConfigValidator(healthCheckConfigs, environment.healthChecks()));
@@ -106,6 +239,45 @@ public abstract class HealthCheckBundle<C extends Configuration> implements Conf
         return new InstrumentedScheduledExecutorService(scheduledExecutorService, metrics);
     }
 
+    /**
+     * Returns an HTTP client with a pool of persistent connections, configured by the {@code httpClient} section of
+     * the health configuration, to be shared by {@link io.dropwizard.health.http.HttpHealthCheck}s. The client is
+     * closed when the application stops.
+     *
+     * @return the shared HTTP client
+     * @throws IllegalStateException if the bundle has not been run yet
+     */
+    public Client getHttpClient() {
+        return getResources().getHttpClient();
+    }
+
+    /**
+     * Returns a started, non-blocking Jetty HTTP client to be shared by
+     * {@link io.dropwizard.health.http.AsyncHttpHealthCheck}s. It uses the timeouts and pool limits of the
+     * {@code httpClient} section of the health configuration and is stopped when the application stops.
+     *
+     * @return the shared non-blocking HTTP client
+     * @throws Exception if the client cannot be started
+     * @throws IllegalStateException if the bundle has not been run yet
+     */
+    public HttpClient getAsyncHttpClient() throws Exception {
+        return getResources().getAsyncHttpClient();
+    }
+
+    /**
+     * Returns the resources shared by the health checks of the application, which are also used to build the health
+     * checks declared in the configuration.
+     *
+     * @return the shared resources
+     * @throws IllegalStateException if the bundle has not been run yet
+     */
+    public HealthCheckResources getResources() {
+        if (resources == null) {
+            throw new IllegalStateException("The shared resources are only available once the bundle has been run");
+        }
+        return resources;
+    }
+
     /**
      * Creates an {@link HttpServlet} to expose health check endpoint(s).
      *
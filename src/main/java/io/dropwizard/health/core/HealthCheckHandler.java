@@ -0,0 +1,85 @@
+package io.dropwizard.health.core;
+
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.HandlerWrapper;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A Jetty {@link org.eclipse.jetty.server.Handler} that answers health check requests directly, in front of the
+ * application context. Probes handled here skip servlet dispatch and the application's filter chain; all other
+ * requests are passed on to the wrapped handler.
+ *
+ * When a dedicated connector is given, probes are only answered for requests received on that connector, and any
+ * other request on it is rejected with a {@code 404}. Otherwise, probes are only answered on the given application
+ * connectors, so that e.g. the admin connectors keep passing every request to the wrapped handler.
+ */
+public class HealthCheckHandler extends HandlerWrapper {
+    private final HttpServlet servlet;
+    private final Set<String> paths;
+    @Nullable
+    private final Connector dedicatedConnector;
+    @Nullable
+    private final Set<Connector> applicationConnectors;
+
+    /**
+     * @param servlet            the servlet that renders health check responses
+     * @param paths              the request paths (including any context path) that are answered as probes
+     * @param dedicatedConnector a connector reserved for probes, or {@code null} to answer probes on all connectors
+     */
+    public HealthCheckHandler(final HttpServlet servlet,
+                              final Collection<String> paths,
+                              @Nullable final Connector dedicatedConnector) {
+        this(servlet, paths, dedicatedConnector, null);
+    }
+
+    /**
+     * @param servlet               the servlet that renders health check responses
+     * @param paths                 the request paths (including any context path) that are answered as probes
+     * @param dedicatedConnector    a connector reserved for probes, or {@code null} to answer probes on the
+     *                              application connectors
+     * @param applicationConnectors the connectors to answer probes on if there is no dedicated connector, or
+     *                              {@code null} for all connectors
+     */
+    public HealthCheckHandler(final HttpServlet servlet,
+                              final Collection<String> paths,
+                              @Nullable final Connector dedicatedConnector,
+                              @Nullable final Collection<Connector> applicationConnectors) {
+        this.servlet = requireNonNull(servlet);
+        this.paths = new HashSet<>(requireNonNull(paths));
+        this.dedicatedConnector = dedicatedConnector;
+        this.applicationConnectors = applicationConnectors == null ? null : new HashSet<>(applicationConnectors);
+    }
+
+    @Override
+    public void handle(final String target, final Request baseRequest, final HttpServletRequest request,
+                       final HttpServletResponse response) throws IOException, ServletException {
+        final Connector connector = baseRequest.getHttpChannel().getConnector();
+        final boolean onDedicatedConnector = dedicatedConnector != null && connector == dedicatedConnector;
+        final boolean answersProbes = dedicatedConnector == null
+                ? applicationConnectors == null || applicationConnectors.contains(connector)
+                : onDedicatedConnector;
+
+        if (answersProbes && paths.contains(target)) {
+            baseRequest.setHandled(true);
+            servlet.service(request, response);
+        } else if (onDedicatedConnector) {
+            baseRequest.setHandled(true);
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+        } else {
+            super.handle(target, baseRequest, request, response);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package io.dropwizard.health.core;
+
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.util.component.LifeCycle;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import javax.annotation.Nullable;
+import javax.servlet.http.HttpServlet;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Installs a {@link HealthCheckHandler} in front of the server's handler while the Jetty server is starting, and
+ * optionally adds a dedicated connector for probes that is served by its own small thread pool.
+ *
+ * The handler sees the full request path, so the probe paths are prefixed with the context path of the application,
+ * as the servlet mapping of the same paths is, e.g. {@code /application} with the simple server. Without a dedicated
+ * connector, probes are only answered on the application connectors, not on the admin connectors of the default
+ * server.
+ */
+class HealthCheckHandlerInstaller implements LifeCycle.Listener {
+    private static final Logger log = LoggerFactory.getLogger(HealthCheckHandlerInstaller.class);
+    private static final int PROBE_MIN_THREADS = 2;
+    private static final int PROBE_MAX_THREADS = 8;
+    // the name the default server gives its admin connectors
+    private static final String ADMIN_CONNECTOR_NAME = "admin";
+
+    private final String name;
+    private final HttpServlet servlet;
+    private final Collection<String> paths;
+    private final ServletContextHandler applicationContext;
+    @Nullable
+    private final Integer port;
+    @Nullable
+    private final String bindHost;
+
+    HealthCheckHandlerInstaller(final String name, final HttpServlet servlet, final Collection<String> paths,
+                                final ServletContextHandler applicationContext, @Nullable final Integer port,
+                                @Nullable final String bindHost) {
+        this.name = requireNonNull(name);
+        this.servlet = requireNonNull(servlet);
+        this.paths = requireNonNull(paths);
+        this.applicationContext = requireNonNull(applicationContext);
+        this.port = port;
+        this.bindHost = bindHost;
+    }
+
+    @Override
+    public void lifeCycleStarting(final LifeCycle event) {
+        if (!(event instanceof Server)) {
+            return;
+        }
+        final Server server = (Server) event;
+        // collected before the dedicated connector is added
+        final List<Connector> applicationConnectors = new ArrayList<>();
+        for (final Connector connector : server.getConnectors()) {
+            if (!ADMIN_CONNECTOR_NAME.equals(connector.getName())) {
+                applicationConnectors.add(connector);
+            }
+        }
+
+        Connector dedicatedConnector = null;
+        if (port != null) {
+            // a separate pool keeps probes responsive when the application's thread pool is exhausted
+            final QueuedThreadPool threadPool = new QueuedThreadPool(PROBE_MAX_THREADS, PROBE_MIN_THREADS);
+            threadPool.setName(name);
+            final ServerConnector connector = new ServerConnector(server, threadPool, null, null, 1, 1,
+                    new HttpConnectionFactory());
+            connector.setName(name);
+            connector.setPort(port);
+            connector.setHost(bindHost);
+            server.addConnector(connector);
+            dedicatedConnector = connector;
+        }
+
+        // the context path is only known once the server factory configured the application context
+        final List<String> fullPaths = withContextPath(applicationContext.getContextPath(), paths);
+        final HealthCheckHandler handler = new HealthCheckHandler(servlet, fullPaths, dedicatedConnector,
+                applicationConnectors);
+        handler.setHandler(server.getHandler());
+        server.setHandler(handler);
+        log.info("Installed health check handler: paths={} port={}", fullPaths,
+                port == null ? "(application)" : port);
+    }
+
+    static List<String> withContextPath(@Nullable final String contextPath, final Collection<String> paths) {
+        String prefix = contextPath == null ? "" : contextPath;
+        while (prefix.endsWith("/")) {
+            prefix = prefix.substring(0, prefix.length() - 1);
+        }
+        final List<String> fullPaths = new ArrayList<>(paths.size());
+        for (final String path : paths) {
+            fullPaths.add(prefix + path);
+        }
+        return fullPaths;
+    }
+}
@@ -3,27 +3,39 @@ package io.dropwizard.health.core;
 import com.codahale.metrics.Counter;
 import com.codahale.metrics.Gauge;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import com.codahale.metrics.health.HealthCheck;
 import com.codahale.metrics.health.HealthCheckRegistryListener;
 import io.dropwizard.health.conf.HealthCheckConfiguration;
 import io.dropwizard.health.conf.HealthCheckType;
 import io.dropwizard.health.conf.Schedule;
+import io.dropwizard.health.shutdown.ShutdownDrain;
 import io.dropwizard.health.shutdown.ShutdownNotifier;
 import io.dropwizard.util.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 public class HealthCheckManager implements HealthCheckRegistryListener, StateChangedCallback, HealthStatusChecker,
-        ShutdownNotifier {
+        HealthStateAggregator, ShutdownNotifier {
     private static final Logger log = LoggerFactory.getLogger(HealthCheckManager.class);
     private static final Duration DEFAULT_SHUTDOWN_WAIT_PERIOD = Duration.seconds(15);
     private static final boolean DEFAULT_INITIAL_OVERALL_STATE = true;
@@ -32,6 +44,11 @@ public class HealthCheckManager implements HealthCheckRegistryListener, StateCha
     private final AtomicBoolean isAppHealthy = new AtomicBoolean(false);
     private final AtomicInteger unhealthyCriticalHealthChecks = new AtomicInteger();
     private final AtomicInteger unhealthyCriticalAliveChecks = new AtomicInteger();
+    private final AtomicInteger unhealthyCriticalStartupChecks = new AtomicInteger();
+    private final AtomicBoolean startupChecksPassed = new AtomicBoolean(false);
+    private final AtomicBoolean isAppStarted = new AtomicBoolean(false);
+    private final AtomicLong stateVersion = new AtomicLong();
+    private final List<HealthStateListener> stateListeners = new CopyOnWriteArrayList<>();
     private final HealthCheckScheduler scheduler;
     private final Map<String, ScheduledHealthCheck> checks;
     private final Map<String, HealthCheckConfiguration> configs;
@@ -42,6 +59,8 @@ public class HealthCheckManager implements HealthCheckRegistryListener, StateCha
     private final String aggregateHealthyName;
     private final String aggregateUnhealthyName;
     private volatile boolean shuttingDown = false;
+    @Nullable
+    private volatile ShutdownDrain shutdownDrain;
 
     @Deprecated
     public HealthCheckManager(final List<HealthCheckConfiguration> configs,
@@ -92,6 +111,11 @@ public class HealthCheckManager implements HealthCheckRegistryListener, StateCha
         this.shutdownWaitPeriod = shutdownWaitPeriod;
         this.initialOverallState = initialOverallState;
         this.checks = Objects.requireNonNull(checks);
+        // 'startup' checks count as failed from the start, so that the application has not started before they are
+        // registered
+        this.unhealthyCriticalStartupChecks.set((int) configs.stream()
+                .filter(config -> config.getType() == HealthCheckType.STARTUP)
+                .count());
 
         this.aggregateHealthyName = MetricRegistry.name("health", managerName, "aggregate", "healthy");
         this.aggregateUnhealthyName = MetricRegistry.name("health", managerName, "aggregate", "unhealthy");
@@ -110,9 +134,11 @@ public class HealthCheckManager implements HealthCheckRegistryListener, StateCha
 
         final Schedule schedule = config.getSchedule();
         final HealthCheckType type = config.getType();
-        // type of 'alive' implies 'critical'
-        final boolean critical = (type == HealthCheckType.ALIVE) || config.isCritical();
-        final boolean initialState = config.isInitialState();
+        // types of 'alive' and 'startup' imply 'critical'
+        final boolean critical = (type == HealthCheckType.ALIVE) || (type == HealthCheckType.STARTUP)
+                || config.isCritical();
+        // a 'startup' check has not passed until it succeeded
+        final boolean initialState = type != HealthCheckType.STARTUP && config.isInitialState();
 
         final State state = new State(name, schedule.getFailureAttempts(), schedule.getSuccessAttempts(), initialState, this);
         final Counter healthyCheckCounter = metrics.counter(MetricRegistry.name("health", managerName, name, "healthy"));
@@ -122,12 +148,16 @@ public class HealthCheckManager implements HealthCheckRegistryListener, StateCha
                 healthyCheckCounter, unhealthyCheckCounter);
         checks.put(name, check);
 
-        // handle initial state of 'false' to ensure counts line up
-        if (!initialState && critical) {
+        // handle initial state of 'false' to ensure counts line up, 'startup' checks are already counted
+        if (type == HealthCheckType.STARTUP) {
+            publishStateChange();
+        } else if (!initialState && critical) {
             handleCriticalHealthChange(name, type, false);
+            publishStateChange();
         }
 
         scheduler.scheduleInitial(check);
+        isStarted();
     }
 
     @Override
@@ -145,17 +175,27 @@ public class HealthCheckManager implements HealthCheckRegistryListener, StateCha
             return;
         }
 
+        // latch a healthy state before the transition can end it, even if nobody asked whether the app had started
+        isStarted();
         if (check.isCritical()) {
             handleCriticalHealthChange(check.getName(), check.getType(), isNowHealthy);
         } else {
             handleNonCriticalHealthChange(check.getName(), check.getType(), isNowHealthy);
         }
+        isStarted();
+        publishStateChange();
 
+        if (shuttingDown && check.getType() != HealthCheckType.ALIVE) {
+            // a run that finished after the shutdown started must not schedule the check again
+            log.debug("Not rescheduling health check during shutdown: name={}", name);
+            return;
+        }
         scheduler.schedule(check, isNowHealthy);
     }
 
     protected void initializeAppHealth() {
         this.isAppHealthy.set(initialOverallState);
+        isStarted();
     }
 
     private long calculateNumberOfHealthyChecks() {
@@ -186,6 +226,13 @@ public class HealthCheckManager implements HealthCheckRegistryListener, StateCha
                         log.info("Status change is ignored during shutdown: name={}, type={}", name, type);
                     }
                     return;
+                case STARTUP:
+                    final int count = unhealthyCriticalStartupChecks.decrementAndGet();
+                    log.debug("current status: unhealthy-startup={}", count);
+                    if (count == 0 && startupChecksPassed.compareAndSet(false, true)) {
+                        log.info("All startup health checks have passed");
+                    }
+                    return;
             }
         } else {
             log.error("A critical dependency is now unhealthy: name={}, type={}", name, type);
@@ -196,11 +243,26 @@ public class HealthCheckManager implements HealthCheckRegistryListener, StateCha
                 case READY:
                     updateCriticalStatus(isAppHealthy, unhealthyCriticalHealthChecks.incrementAndGet());
                     return;
+                case STARTUP:
+                    // once all startup checks have passed, their failures no longer affect the status
+                    log.debug("current status: unhealthy-startup={}", unhealthyCriticalStartupChecks.incrementAndGet());
+                    return;
             }
         }
         log.warn("Unexpected health check type: type={}", type);
     }
 
+    private void publishStateChange() {
+        final long version = stateVersion.incrementAndGet();
+        for (final HealthStateListener listener : stateListeners) {
+            try {
+                listener.onHealthStateChanged(version);
+            } catch (final RuntimeException e) {
+                log.warn("Health state listener failed: listener={} version={}", listener, version, e);
+            }
+        }
+    }
+
     private void updateCriticalStatus(final AtomicBoolean status, final int count) {
         status.set(count == 0);
         log.debug("current status: unhealthy-critical={}", count);
@@ -232,29 +294,165 @@ public class HealthCheckManager implements HealthCheckRegistryListener, StateCha
 
     @Override
     public boolean isHealthy() {
-        return isAppAlive.get() && isAppHealthy.get();
+        return isAppAlive.get() && isAppHealthy.get() && haveStartupChecksPassed();
     }
 
     @Override
     public boolean isHealthy(String type) {
         if (HealthCheckType.ALIVE.name().equalsIgnoreCase(type)) {
             return isAppAlive.get();
+        } else if (HealthCheckType.STARTUP.name().equalsIgnoreCase(type)) {
+            return isStarted();
         } else {
             return isHealthy();
         }
     }
 
+    private boolean haveStartupChecksPassed() {
+        return startupChecksPassed.get() || unhealthyCriticalStartupChecks.get() == 0;
+    }
+
+    /**
+     * The application has started once it has been healthy, which includes all critical checks of type
+     * {@link HealthCheckType#STARTUP} having passed, and remains started afterwards, even while shutting down. The
+     * state is latched whenever it may change, so that it does not depend on anyone asking while healthy.
+     */
+    private boolean isStarted() {
+        if (!isAppStarted.get() && isHealthy() && isAppStarted.compareAndSet(false, true)) {
+            log.info("The application has started");
+        }
+        return isAppStarted.get();
+    }
+
+    @Override
+    public long getStateVersion() {
+        return stateVersion.get();
+    }
+
+    @Override
+    public Collection<HealthStateView> healthStateViews() {
+        return checks.values()
+                .stream()
+                .map(ScheduledHealthCheck::toView)
+                .sorted(Comparator.comparing(HealthStateView::getName))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void forEachLastDuration(final ObjLongConsumer<String> consumer) {
+        checks.forEach((name, check) -> {
+            final long durationNanos = check.getLastDurationNanos();
+            if (durationNanos >= 0L) {
+                consumer.accept(name, durationNanos);
+            }
+        });
+    }
+
+    @Override
+    public boolean isHealthyExcluding(final String type, final Collection<String> excludedChecks) {
+        if (excludedChecks.isEmpty()) {
+            return isHealthy(type);
+        }
+        final Set<String> excluded = new HashSet<>(excludedChecks);
+
+        // a status flag may only be overridden when every critical check counted against it is excluded
+        final int excludedAlive = countUnhealthyCriticalChecks(HealthCheckType.ALIVE, excluded);
+        final boolean alive = isAppAlive.get()
+                || (excludedAlive > 0 && unhealthyCriticalAliveChecks.get() == excludedAlive);
+        if (HealthCheckType.ALIVE.name().equalsIgnoreCase(type)) {
+            return alive;
+        }
+
+        final int excludedReady = countUnhealthyCriticalChecks(HealthCheckType.READY, excluded);
+        final int excludedStartup = countUnhealthyCriticalChecks(HealthCheckType.STARTUP, excluded);
+        final boolean ready = (isAppHealthy.get()
+                || (!shuttingDown && excludedReady > 0 && unhealthyCriticalHealthChecks.get() == excludedReady))
+                && (haveStartupChecksPassed()
+                || (excludedStartup > 0 && unhealthyCriticalStartupChecks.get() == excludedStartup));
+        if (HealthCheckType.STARTUP.name().equalsIgnoreCase(type)) {
+            // exclusions only answer the question, they never mark the application as started
+            return isAppStarted.get() || (alive && ready);
+        }
+        return alive && ready;
+    }
+
+    private int countUnhealthyCriticalChecks(final HealthCheckType type, final Collection<String> names) {
+        int count = 0;
+        for (final String name : names) {
+            final ScheduledHealthCheck check = checks.get(name);
+            if (check != null && check.isCritical() && check.getType() == type && !check.isHealthy()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void addHealthStateListener(final HealthStateListener listener) {
+        stateListeners.add(Objects.requireNonNull(listener));
+    }
+
+    @Override
+    public void removeHealthStateListener(final HealthStateListener listener) {
+        stateListeners.remove(listener);
+    }
+
+    /**
+     * Lets a delayed shutdown finish as soon as the given drain is complete, rather than always waiting for the whole
+     * shutdown wait period, which remains the upper bound.
+     *
+     * @param shutdownDrain the drain to wait for, or {@code null} to always wait for the whole period
+     */
+    public void setShutdownDrain(@Nullable final ShutdownDrain shutdownDrain) {
+        this.shutdownDrain = shutdownDrain;
+    }
+
     @Override
     public void notifyShutdownStarted() throws Exception {
+        final long start = System.nanoTime();
         shuttingDown = true;
-        log.info("delayed shutdown: started (waiting {})", shutdownWaitPeriod);
+        final ShutdownDrain drain = shutdownDrain;
+        log.info("delayed shutdown: started (waiting {}{})", drain == null ? "" : "at most ", shutdownWaitPeriod);
 
+        // count the probes from before the status flips, so that none that saw it unhealthy is missed
+        if (drain != null) {
+            drain.start();
+        }
         // set healthy to false to indicate to the load balancer that it should not be in rotation for requests
+        isStarted();
         isAppHealthy.set(false);
+        publishStateChange();
 
-        // sleep for period of time to give time for load balancer to realize requests should not be sent anymore
-        Thread.sleep(shutdownWaitPeriod.toMilliseconds());
+        // only liveness is still of interest, so stop probing dependencies for anything else
+        final int stopped = stopNonAliveChecks();
+        log.info("delayed shutdown: stopped {} health checks that are not of type {}", stopped,
+                HealthCheckType.ALIVE);
+
+        if (drain == null) {
+            // sleep for period of time to give time for load balancer to realize requests should not be sent anymore
+            Thread.sleep(shutdownWaitPeriod.toMilliseconds());
+        } else {
+            // or until the load balancer has seen the instance leave and stopped sending requests
+            drain.await(shutdownWaitPeriod);
+        }
+
+        final long elapsedNanos = System.nanoTime() - start;
+        shutdownWaitTimer().update(elapsedNanos, TimeUnit.NANOSECONDS);
+        log.info("delayed shutdown: finished after {}ms", TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    }
+
+    private int stopNonAliveChecks() {
+        int stopped = 0;
+        for (final ScheduledHealthCheck check : checks.values()) {
+            if (check.getType() != HealthCheckType.ALIVE) {
+                scheduler.unschedule(check.getName());
+                stopped++;
+            }
+        }
+        return stopped;
+    }
 
-        log.info("delayed shutdown: finished");
+    Timer shutdownWaitTimer() {
+        return metrics.timer(MetricRegistry.name("health", managerName, "shutdown", "wait"));
     }
 }
@@ -0,0 +1,58 @@
+package io.dropwizard.health.core;
+
+import io.dropwizard.health.dns.CachingResolver;
+import io.dropwizard.health.http.HttpHealthCheckClientFactory;
+import io.dropwizard.health.tcp.TcpProbeEngine;
+import org.eclipse.jetty.client.HttpClient;
+
+import javax.ws.rs.client.Client;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The resources that the health checks of an application share, e.g. pooled clients, so that they are sized once
+ * per {@link HealthCheckBundle} instead of once per health check. The bundle manages their lifecycle.
+ */
+public class HealthCheckResources {
+    private final HttpHealthCheckClientFactory httpClientFactory;
+    private final TcpProbeEngine tcpProbeEngine;
+    private final CachingResolver resolver;
+
+    public HealthCheckResources(final HttpHealthCheckClientFactory httpClientFactory,
+                                final TcpProbeEngine tcpProbeEngine,
+                                final CachingResolver resolver) {
+        this.httpClientFactory = requireNonNull(httpClientFactory);
+        this.tcpProbeEngine = requireNonNull(tcpProbeEngine);
+        this.resolver = requireNonNull(resolver);
+    }
+
+    /**
+     * @return the shared HTTP client with a pool of persistent connections
+     */
+    public Client getHttpClient() {
+        return httpClientFactory.getClient();
+    }
+
+    /**
+     * @return the shared, started non-blocking HTTP client
+     * @throws Exception if the client cannot be started
+     */
+    public HttpClient getAsyncHttpClient() throws Exception {
+        return httpClientFactory.getAsyncClient();
+    }
+
+    /**
+     * @return the shared engine that runs the connects of TCP health checks on a single selector thread
+     */
+    public TcpProbeEngine getTcpProbeEngine() {
+        return tcpProbeEngine;
+    }
+
+    /**
+     * @return the shared resolver that caches the addresses of the hosts that health checks probe; the shared HTTP
+     * clients resolve through it as well
+     */
+    public CachingResolver getResolver() {
+        return resolver;
+    }
+}
@@ -10,6 +10,8 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
+import javax.annotation.Nullable;
+
 public class HealthCheckScheduler {
     private static final Logger log = LoggerFactory.getLogger(HealthCheckScheduler.class);
 
@@ -21,6 +23,13 @@ public class HealthCheckScheduler {
     }
 
     void scheduleInitial(final ScheduledHealthCheck check) {
+        final Duration startupInterval = check.getSchedule().getStartupInterval();
+        if (startupInterval != null) {
+            scheduleStartupRun(check, startupInterval.toMilliseconds(), 1, null);
+            log.debug("Scheduled check until it starts: check={}", check);
+            return;
+        }
+
         final Duration interval;
         if (check.isHealthy()) {
             interval = check.getSchedule().getCheckInterval();
@@ -32,6 +41,11 @@ public class HealthCheckScheduler {
     }
 
     public void schedule(final ScheduledHealthCheck check, final boolean healthy) {
+        if (!healthy && isStarting(check)) {
+            // keep polling at the startup interval rather than falling back to the downtime interval
+            log.debug("Not rescheduling check that has not started yet: name={}", check.getName());
+            return;
+        }
         unschedule(check.getName());
 
         final Duration interval;
@@ -51,6 +65,33 @@ public class HealthCheckScheduler {
         log.debug("Scheduled check: check={}", check);
     }
 
+    private boolean isStarting(final ScheduledHealthCheck check) {
+        return check.getSchedule().getStartupInterval() != null && !check.isStarted();
+    }
+
+    /**
+     * Schedules a run of a check that has not started yet, in place of the {@code previous} run if there was one.
+     * The new run is cancelled right away if the previous run is no longer the current task of the check, i.e. the
+     * check was unscheduled, or scheduled again by a state change, while it was running.
+     */
+    private void scheduleStartupRun(final ScheduledHealthCheck check, final long delayMillis, final int attempt,
+                                    @Nullable final ScheduledFuture previous) {
+        final StartupRun run = new StartupRun(check, delayMillis, attempt);
+        // the run must not look up its own future before it is known
+        synchronized (run) {
+            run.future = executorService.schedule(run, delayMillis, TimeUnit.MILLISECONDS);
+            replace(check.getName(), previous, run.future);
+        }
+    }
+
+    private void replace(final String name, @Nullable final ScheduledFuture previous, final ScheduledFuture next) {
+        if (previous == null) {
+            futures.put(name, next);
+        } else if (!futures.replace(name, previous, next)) {
+            next.cancel(false);
+        }
+    }
+
     public void unschedule(final String name) {
         final ScheduledFuture taskFuture = futures.get(name);
         if (taskFuture != null) {
@@ -59,4 +100,41 @@ public class HealthCheckScheduler {
             log.debug("Unscheduled check: name={}", name);
         }
     }
+
+    /**
+     * A single run of a check that has not started yet, which schedules the next run itself: after a shorter delay
+     * while the check has still not started, backing off up to the check interval, or on the regular schedule once it
+     * has.
+     */
+    private final class StartupRun implements Runnable {
+        private final ScheduledHealthCheck check;
+        private final long delayMillis;
+        private final int attempt;
+        private ScheduledFuture future;
+
+        private StartupRun(final ScheduledHealthCheck check, final long delayMillis, final int attempt) {
+            this.check = check;
+            this.delayMillis = delayMillis;
+            this.attempt = attempt;
+        }
+
+        @Override
+        public void run() {
+            check.run();
+
+            final ScheduledFuture self;
+            synchronized (this) {
+                self = future;
+            }
+            final long checkIntervalMillis = check.getSchedule().getCheckInterval().toMilliseconds();
+            if (check.isStarted()) {
+                log.info("Health check started: name={} attempts={}", check.getName(), attempt);
+                replace(check.getName(), self, executorService.scheduleWithFixedDelay(check, checkIntervalMillis,
+                        checkIntervalMillis, TimeUnit.MILLISECONDS));
+            } else {
+                final long backoffMillis = Math.max(delayMillis, Math.min(delayMillis * 2, checkIntervalMillis));
+                scheduleStartupRun(check, backoffMillis, attempt + 1, self);
+            }
+        }
+    }
 }
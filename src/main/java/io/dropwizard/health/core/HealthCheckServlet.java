@@ -1,9 +1,21 @@
 package io.dropwizard.health.core;
 
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import io.dropwizard.health.conf.HealthCheckType;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.MimeTypes;
+import org.eclipse.jetty.http.PreEncodedHttpField;
+
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import javax.annotation.Nullable;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
@@ -14,15 +26,33 @@ import static java.util.Objects.requireNonNull;
 
 public class HealthCheckServlet extends HttpServlet {
     private static final String CHECK_TYPE_QUERY_PARAM = "type";
+    private static final int MAX_TIMERS = 32;
+    private static final String OTHER_ENDPOINTS = "other";
     private final HealthStatusChecker healthStatusChecker;
+    @Nullable
+    private final HealthStateAggregator healthStateAggregator;
     private final boolean cacheControlEnabled;
-    private final String cacheControlValue;
     private final String contentType;
-    private final String healthyValue;
-    private final String unhealthyValue;
+    private final PreEncodedHttpField cacheControlField;
+    private final byte[] healthyBody;
+    private final byte[] unhealthyBody;
+    @Nullable
+    private final MetricRegistry metrics;
+    @Nullable
+    private final String name;
+    private final Map<String, Timer> requestTimers = new ConcurrentHashMap<>();
+    @Nullable
+    private final ClientRateLimiter rateLimiter;
+    @Nullable
+    private final Meter rateLimitedRequests;
+    private volatile HealthResponses.EntityTags entityTags;
+    private volatile boolean lastAliveHealthy = true;
+    private volatile boolean lastReadyHealthy = true;
+    private volatile boolean lastStartupHealthy = true;
 
     /**
-     * @deprecated use {@link #HealthCheckServlet(HealthStatusChecker, boolean, String, String, String, String)} instead.
+     * @deprecated use {@link #HealthCheckServlet(HealthStatusChecker, HealthStateAggregator, boolean, String, String,
+     * String, String)} instead.
      */
     @Deprecated
     public HealthCheckServlet(final AtomicBoolean healthy,
@@ -35,30 +65,164 @@ public class HealthCheckServlet extends HttpServlet {
     public HealthCheckServlet(final HealthStatusChecker healthStatusChecker,
                               final boolean cacheControlEnabled, final String cacheControlValue,
                               final String contentType, final String healthyValue, final String unhealthyValue) {
+        this(healthStatusChecker, null, cacheControlEnabled, cacheControlValue, contentType, healthyValue,
+                unhealthyValue);
+    }
+
+    public HealthCheckServlet(final HealthStatusChecker healthStatusChecker,
+                              @Nullable final HealthStateAggregator healthStateAggregator,
+                              final boolean cacheControlEnabled, final String cacheControlValue,
+                              final String contentType, final String healthyValue, final String unhealthyValue) {
+        this(healthStatusChecker, healthStateAggregator, cacheControlEnabled, cacheControlValue, contentType,
+                healthyValue, unhealthyValue, null, null, 0);
+    }
+
+    /**
+     * @param healthStatusChecker   the checker used to determine the health of the application
+     * @param healthStateAggregator the source of the health state version used for {@code ETag}s, or {@code null}
+     *                              to disable conditional responses
+     * @param cacheControlEnabled   whether to include a {@code Cache-Control} header
+     * @param cacheControlValue     the value of the {@code Cache-Control} header
+     * @param contentType           the content type of the response
+     * @param healthyValue          the response body when healthy
+     * @param unhealthyValue        the response body when unhealthy
+     * @param metrics               the registry to record request timers in, or {@code null} to not record any
+     * @param name                  the name of the bundle, which the metric names include, or {@code null}
+     * @param maxRequestsPerClient  the number of requests per second each client address may make before it is
+     *                              served the last response instead, or {@code 0} to not limit requests
+     */
+    public HealthCheckServlet(final HealthStatusChecker healthStatusChecker,
+                              @Nullable final HealthStateAggregator healthStateAggregator,
+                              final boolean cacheControlEnabled, final String cacheControlValue,
+                              final String contentType, final String healthyValue, final String unhealthyValue,
+                              @Nullable final MetricRegistry metrics, @Nullable final String name,
+                              final int maxRequestsPerClient) {
         this.healthStatusChecker = requireNonNull(healthStatusChecker);
+        this.healthStateAggregator = healthStateAggregator;
         this.cacheControlEnabled = cacheControlEnabled;
-        this.cacheControlValue = requireNonNull(cacheControlValue);
         this.contentType = requireNonNull(contentType);
-        this.healthyValue = requireNonNull(healthyValue);
-        this.unhealthyValue = requireNonNull(unhealthyValue);
+
+        // encode the response once, so that serving a probe only copies bytes
+        this.cacheControlField = new PreEncodedHttpField(HttpHeader.CACHE_CONTROL,
+                requireNonNull(cacheControlValue));
+        final Charset charset = charsetOf(contentType);
+        this.healthyBody = requireNonNull(healthyValue).getBytes(charset);
+        this.unhealthyBody = requireNonNull(unhealthyValue).getBytes(charset);
+
+        this.metrics = metrics;
+        this.name = name;
+        if (maxRequestsPerClient > 0) {
+            this.rateLimiter = new ClientRateLimiter(maxRequestsPerClient);
+            this.rateLimitedRequests = metrics == null
+                    ? null
+                    : metrics.meter(MetricRegistry.name("health", name, "rate-limited"));
+        } else {
+            this.rateLimiter = null;
+            this.rateLimitedRequests = null;
+        }
     }
 
     @Override
     protected void doGet(final HttpServletRequest req, final HttpServletResponse resp) throws ServletException, IOException {
+        respond(req, resp, true);
+    }
+
+    @Override
+    protected void doHead(final HttpServletRequest req, final HttpServletResponse resp) throws ServletException, IOException {
+        respond(req, resp, false);
+    }
+
+    private void respond(final HttpServletRequest req, final HttpServletResponse resp, final boolean includeBody)
+            throws IOException {
+        final Timer.Context context = metrics == null ? null : requestTimer(req.getRequestURI()).time();
+        try {
+            respond(req, resp, includeBody, rateLimiter == null || rateLimiter.tryAcquire(req.getRemoteAddr()));
+        } finally {
+            if (context != null) {
+                context.stop();
+            }
+        }
+    }
+
+    private void respond(final HttpServletRequest req, final HttpServletResponse resp, final boolean includeBody,
+                         final boolean withinRateLimit) throws IOException {
         if (cacheControlEnabled) {
-            resp.setHeader(HttpHeaders.CACHE_CONTROL, cacheControlValue);
+            HealthResponses.putField(resp, cacheControlField);
         }
-        resp.setContentType(contentType);
 
-        final String typeValue = req.getParameter(CHECK_TYPE_QUERY_PARAM);
+        final String typeValue = QueryStrings.getParameter(req.getQueryString(), CHECK_TYPE_QUERY_PARAM);
+        final boolean alive = HealthCheckType.ALIVE.name().equalsIgnoreCase(typeValue);
+        final boolean startup = HealthCheckType.STARTUP.name().equalsIgnoreCase(typeValue);
+
+        final HealthResponses.EntityTags tags;
+        final boolean healthy;
+        if (withinRateLimit) {
+            // read the version before the status, so that a tag never claims a newer state than the body it labels
+            tags = healthStateAggregator == null ? null : entityTags(healthStateAggregator.getStateVersion());
+            healthy = healthStatusChecker.isHealthy(typeValue);
+            if (alive) {
+                lastAliveHealthy = healthy;
+            } else if (startup) {
+                lastStartupHealthy = healthy;
+            } else {
+                lastReadyHealthy = healthy;
+            }
+        } else {
+            // clients over their limit get the last response, without evaluating the status again
+            if (rateLimitedRequests != null) {
+                rateLimitedRequests.mark();
+            }
+            tags = healthStateAggregator == null ? null : entityTags;
+            healthy = alive ? lastAliveHealthy : startup ? lastStartupHealthy : lastReadyHealthy;
+        }
+
+        if (tags != null) {
+            final PreEncodedHttpField etag = tags.get(healthy);
+            HealthResponses.putField(resp, etag);
+            // error responses are never conditional, so only a healthy response can be answered with 304
+            if (healthy && HealthResponses.matches(req.getHeader(HttpHeaders.IF_NONE_MATCH), etag.getValue())) {
+                resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+        }
 
-        final PrintWriter writer = resp.getWriter();
-        if (healthStatusChecker.isHealthy(typeValue)) {
-            writer.print(healthyValue);
+        resp.setContentType(contentType);
+        final byte[] body;
+        if (healthy) {
+            body = healthyBody;
         } else {
-            writer.print(unhealthyValue);
+            body = unhealthyBody;
             resp.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
         }
+        resp.setContentLength(body.length);
+        if (includeBody) {
+            resp.getOutputStream().write(body);
+        }
+    }
+
+    private Timer requestTimer(final String path) {
+        final Timer timer = requestTimers.get(path);
+        if (timer != null) {
+            return timer;
+        }
+        // bound the number of timers in case the servlet is mapped to a wildcard path
+        final String endpoint = requestTimers.size() < MAX_TIMERS ? path : OTHER_ENDPOINTS;
+        return requestTimers.computeIfAbsent(endpoint,
+                key -> requireNonNull(metrics).timer(MetricRegistry.name("health", name, "requests", key)));
+    }
+
+    private HealthResponses.EntityTags entityTags(final long version) {
+        HealthResponses.EntityTags tags = entityTags;
+        if (tags == null || tags.getVersion() != version) {
+            tags = new HealthResponses.EntityTags(version);
+            entityTags = tags;
+        }
+        return tags;
+    }
+
+    private static Charset charsetOf(final String contentType) {
+        final String charset = MimeTypes.getCharsetFromContentType(contentType);
+        return charset == null ? StandardCharsets.UTF_8 : Charset.forName(charset);
     }
 
     private static class LegacyHealthStatusChecker implements HealthStatusChecker {
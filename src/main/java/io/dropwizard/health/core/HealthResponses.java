@@ -0,0 +1,61 @@
+package io.dropwizard.health.core;
+
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.PreEncodedHttpField;
+import org.eclipse.jetty.server.Response;
+
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Helpers shared by the servlets that respond to health check requests.
+ */
+final class HealthResponses {
+    private HealthResponses() {
+    }
+
+    /**
+     * Sets a header on the response, writing the pre-encoded field directly into Jetty's response fields when no
+     * wrapper sits in between (as a wrapper may intercept headers).
+     */
+    static void putField(final HttpServletResponse resp, final PreEncodedHttpField field) {
+        if (resp instanceof Response) {
+            ((Response) resp).getHttpFields().put(field);
+        } else {
+            resp.setHeader(field.getName(), field.getValue());
+        }
+    }
+
+    /**
+     * Evaluates an {@code If-None-Match} header against an entity tag, using weak comparison as required by
+     * RFC 7232 so that a {@code W/} prefix on the client's tag still matches.
+     */
+    static boolean matches(final String ifNoneMatch, final String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        return "*".equals(ifNoneMatch.trim()) || ifNoneMatch.contains(etag);
+    }
+
+    /**
+     * Pre-encoded {@code ETag} fields for the healthy and unhealthy representations of a given health state version.
+     */
+    static class EntityTags {
+        private final long version;
+        private final PreEncodedHttpField healthy;
+        private final PreEncodedHttpField unhealthy;
+
+        EntityTags(final long version) {
+            this.version = version;
+            this.healthy = new PreEncodedHttpField(HttpHeader.ETAG, "\"" + version + "-healthy\"");
+            this.unhealthy = new PreEncodedHttpField(HttpHeader.ETAG, "\"" + version + "-unhealthy\"");
+        }
+
+        long getVersion() {
+            return version;
+        }
+
+        PreEncodedHttpField get(final boolean isHealthy) {
+            return isHealthy ? healthy : unhealthy;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package io.dropwizard.health.core;
+
+import java.util.Collection;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Exposes the aggregate health state of the application, along with a way to be notified when it changes.
+ */
+public interface HealthStateAggregator {
+    /**
+     * Returns a monotonically increasing version of the health state. The version is incremented every time a
+     * health check changes state, so two calls returning the same value observed the same state.
+     *
+     * @return the current version of the health state
+     */
+    long getStateVersion();
+
+    /**
+     * Returns a snapshot of the state of every scheduled health check, ordered by name.
+     *
+     * @return the current state of each health check
+     */
+    Collection<HealthStateView> healthStateViews();
+
+    /**
+     * Evaluates the status of the given type as if the named health checks were healthy. This is based on the
+     * currently tracked state and does not re-run any health checks.
+     *
+     * @param type           the type of status to evaluate (e.g. {@code alive} or {@code ready})
+     * @param excludedChecks the names of the health checks to ignore
+     * @return whether the application is healthy when ignoring the excluded checks
+     */
+    boolean isHealthyExcluding(String type, Collection<String> excludedChecks);
+
+    /**
+     * Passes the name of every scheduled health check along with the duration of its most recent run in nanoseconds
+     * to the given consumer. Checks that have not run yet are skipped. Unlike {@link #healthStateViews()}, this reads
+     * values that change on every run without creating a snapshot.
+     *
+     * @param consumer the consumer of health check names and durations
+     */
+    void forEachLastDuration(ObjLongConsumer<String> consumer);
+
+    /**
+     * Registers a listener to be notified of health state changes.
+     *
+     * @param listener the listener to register
+     */
+    void addHealthStateListener(HealthStateListener listener);
+
+    /**
+     * Removes a previously registered listener.
+     *
+     * @param listener the listener to remove
+     */
+    void removeHealthStateListener(HealthStateListener listener);
+}
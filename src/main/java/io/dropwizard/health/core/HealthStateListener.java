@@ -0,0 +1,16 @@
+package io.dropwizard.health.core;
+
+import java.util.EventListener;
+
+/**
+ * A listener that is notified whenever the health state tracked by a {@link HealthStateAggregator} changes.
+ */
+@FunctionalInterface
+public interface HealthStateListener extends EventListener {
+    /**
+     * Called after a health check has changed state or the application has started shutting down.
+     *
+     * @param version the new version of the health state
+     */
+    void onHealthStateChanged(long version);
+}
@@ -0,0 +1,128 @@
+package io.dropwizard.health.core;
+
+import io.dropwizard.health.conf.HealthCheckType;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A point-in-time snapshot of the state of a single scheduled health check.
+ */
+public class HealthStateView {
+    @Nonnull
+    private final String name;
+    @Nonnull
+    private final HealthCheckType type;
+    private final boolean critical;
+    private final boolean healthy;
+    @Nullable
+    private final Instant lastTransition;
+    @Nullable
+    private final String lastMessage;
+    private final long transitions;
+
+    public HealthStateView(@Nonnull final String name,
+                           @Nonnull final HealthCheckType type,
+                           final boolean critical,
+                           final boolean healthy,
+                           @Nullable final Instant lastTransition,
+                           @Nullable final String lastMessage) {
+        this(name, type, critical, healthy, lastTransition, lastMessage, 0L);
+    }
+
+    public HealthStateView(@Nonnull final String name,
+                           @Nonnull final HealthCheckType type,
+                           final boolean critical,
+                           final boolean healthy,
+                           @Nullable final Instant lastTransition,
+                           @Nullable final String lastMessage,
+                           final long transitions) {
+        this.name = Objects.requireNonNull(name);
+        this.type = Objects.requireNonNull(type);
+        this.critical = critical;
+        this.healthy = healthy;
+        this.lastTransition = lastTransition;
+        this.lastMessage = lastMessage;
+        this.transitions = transitions;
+    }
+
+    @Nonnull
+    public String getName() {
+        return name;
+    }
+
+    @Nonnull
+    public HealthCheckType getType() {
+        return type;
+    }
+
+    public boolean isCritical() {
+        return critical;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    /**
+     * @return the time of the last state change, or empty if the check has not changed state since it was added
+     */
+    public Optional<Instant> getLastTransition() {
+        return Optional.ofNullable(lastTransition);
+    }
+
+    /**
+     * @return the message of the most recent result, or empty if it had none
+     */
+    public Optional<String> getLastMessage() {
+        return Optional.ofNullable(lastMessage);
+    }
+
+    /**
+     * @return the number of times the check changed state since it was added
+     */
+    public long getTransitions() {
+        return transitions;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof HealthStateView)) {
+            return false;
+        }
+        final HealthStateView that = (HealthStateView) other;
+        return critical == that.critical
+                && healthy == that.healthy
+                && transitions == that.transitions
+                && name.equals(that.name)
+                && type == that.type
+                && Objects.equals(lastTransition, that.lastTransition)
+                && Objects.equals(lastMessage, that.lastMessage);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, type, critical, healthy, lastTransition, lastMessage, transitions);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("HealthStateView{");
+        sb.append("name='").append(name).append('\'');
+        sb.append(", type=").append(type);
+        sb.append(", critical=").append(critical);
+        sb.append(", healthy=").append(healthy);
+        sb.append(", lastTransition=").append(lastTransition);
+        sb.append(", lastMessage='").append(lastMessage).append('\'');
+        sb.append(", transitions=").append(transitions);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,268 @@
+package io.dropwizard.health.core;
+
+import io.dropwizard.util.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An asynchronous servlet that lets clients wait for health state changes instead of polling for them.
+ *
+ * <p>Two modes are supported:</p>
+ * <ul>
+ *     <li>long-polling: {@code ?waitForChange=<version>&timeout=30s} responds as soon as the health state version
+ *     differs from {@code version}, or with the unchanged state once the timeout elapses</li>
+ *     <li>Server-Sent Events: requests accepting {@code text/event-stream} (or passing {@code ?stream=true}) receive
+ *     an event with the current state, followed by an event for every change until the timeout elapses</li>
+ * </ul>
+ *
+ * Waiting requests are suspended using the Servlet async API, so they do not hold a container thread.
+ */
+public class HealthStateWatchServlet extends HttpServlet implements HealthStateListener {
+    private static final Logger log = LoggerFactory.getLogger(HealthStateWatchServlet.class);
+    static final String CHECK_TYPE_QUERY_PARAM = "type";
+    static final String WAIT_FOR_CHANGE_QUERY_PARAM = "waitForChange";
+    static final String TIMEOUT_QUERY_PARAM = "timeout";
+    static final String STREAM_QUERY_PARAM = "stream";
+    static final String VERSION_HEADER = "X-Health-Version";
+    static final String EVENT_STREAM = "text/event-stream";
+    private static final String STATUS_TEMPLATE = "{\"status\":\"%s\",\"version\":%d}";
+
+    private final HealthStatusChecker healthStatusChecker;
+    private final HealthStateAggregator healthStateAggregator;
+    private final Duration defaultTimeout;
+    private final Duration maxTimeout;
+    private final Set<Watcher> pollers = ConcurrentHashMap.newKeySet();
+    private final Set<Watcher> streams = ConcurrentHashMap.newKeySet();
+
+    public HealthStateWatchServlet(final HealthStatusChecker healthStatusChecker,
+                                   final HealthStateAggregator healthStateAggregator,
+                                   final Duration defaultTimeout,
+                                   final Duration maxTimeout) {
+        this.healthStatusChecker = requireNonNull(healthStatusChecker);
+        this.healthStateAggregator = requireNonNull(healthStateAggregator);
+        this.defaultTimeout = requireNonNull(defaultTimeout);
+        this.maxTimeout = requireNonNull(maxTimeout);
+    }
+
+    @Override
+    protected void doGet(final HttpServletRequest req, final HttpServletResponse resp) throws ServletException, IOException {
+        final String type = req.getParameter(CHECK_TYPE_QUERY_PARAM);
+        final long timeoutMillis;
+        final long waitForVersion;
+        try {
+            timeoutMillis = parseTimeoutMillis(req.getParameter(TIMEOUT_QUERY_PARAM));
+            waitForVersion = parseVersion(req.getParameter(WAIT_FOR_CHANGE_QUERY_PARAM));
+        } catch (IllegalArgumentException e) {
+            resp.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+
+        if (isEventStreamRequest(req)) {
+            startStream(req, resp, type, timeoutMillis);
+            return;
+        }
+
+        final long version = healthStateAggregator.getStateVersion();
+        if (waitForVersion < 0 || waitForVersion != version) {
+            writeStatus(resp, type, version);
+            return;
+        }
+
+        final AsyncContext context = req.startAsync();
+        context.setTimeout(timeoutMillis);
+        final Watcher watcher = new Watcher(context, type);
+        context.addListener(new WatcherListener(watcher, pollers) {
+            @Override
+            public void onTimeout(final AsyncEvent event) {
+                if (pollers.remove(watcher)) {
+                    completePoll(watcher);
+                }
+            }
+        });
+        pollers.add(watcher);
+
+        // the state may have changed between reading the version and registering the watcher
+        if (healthStateAggregator.getStateVersion() != waitForVersion && pollers.remove(watcher)) {
+            completePoll(watcher);
+        }
+    }
+
+    @Override
+    public void onHealthStateChanged(final long version) {
+        for (final Watcher watcher : pollers) {
+            if (pollers.remove(watcher)) {
+                watcher.context.start(() -> completePoll(watcher));
+            }
+        }
+        for (final Watcher watcher : streams) {
+            watcher.context.start(() -> sendEvent(watcher, version));
+        }
+    }
+
+    private void startStream(final HttpServletRequest req, final HttpServletResponse resp, final String type,
+                             final long timeoutMillis) throws IOException {
+        resp.setContentType(EVENT_STREAM);
+        resp.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        resp.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+
+        final AsyncContext context = req.startAsync();
+        context.setTimeout(timeoutMillis);
+        final Watcher watcher = new Watcher(context, type);
+        context.addListener(new WatcherListener(watcher, streams) {
+            @Override
+            public void onTimeout(final AsyncEvent event) {
+                if (streams.remove(watcher)) {
+                    event.getAsyncContext().complete();
+                }
+            }
+        });
+        streams.add(watcher);
+        sendEvent(watcher, healthStateAggregator.getStateVersion());
+    }
+
+    private void completePoll(final Watcher watcher) {
+        try {
+            writeStatus((HttpServletResponse) watcher.context.getResponse(), watcher.type,
+                    healthStateAggregator.getStateVersion());
+        } catch (IOException e) {
+            log.debug("Failed to respond to health state watcher", e);
+        } finally {
+            watcher.context.complete();
+        }
+    }
+
+    private void sendEvent(final Watcher watcher, final long version) {
+        final String data = statusBody(healthStatusChecker.isHealthy(watcher.type), version);
+        final String event = "id: " + version + "\nevent: health\ndata: " + data + "\n\n";
+        synchronized (watcher) {
+            if (!streams.contains(watcher)) {
+                return;
+            }
+            try {
+                final ServletOutputStream output = watcher.context.getResponse().getOutputStream();
+                output.write(event.getBytes(StandardCharsets.UTF_8));
+                output.flush();
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Failed to send health state event, closing stream", e);
+                if (streams.remove(watcher)) {
+                    watcher.context.complete();
+                }
+            }
+        }
+    }
+
+    private void writeStatus(final HttpServletResponse resp, final String type, final long version) throws IOException {
+        final boolean healthy = healthStatusChecker.isHealthy(type);
+        final byte[] body = statusBody(healthy, version).getBytes(StandardCharsets.UTF_8);
+
+        resp.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        resp.setHeader(VERSION_HEADER, Long.toString(version));
+        resp.setContentType(MediaType.APPLICATION_JSON);
+        resp.setContentLength(body.length);
+        if (!healthy) {
+            resp.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        }
+        resp.getOutputStream().write(body);
+    }
+
+    private static String statusBody(final boolean healthy, final long version) {
+        return String.format(STATUS_TEMPLATE, healthy ? "healthy" : "unhealthy", version);
+    }
+
+    private static boolean isEventStreamRequest(final HttpServletRequest req) {
+        final String accept = req.getHeader(HttpHeaders.ACCEPT);
+        return Boolean.parseBoolean(req.getParameter(STREAM_QUERY_PARAM))
+                || (accept != null && accept.contains(EVENT_STREAM));
+    }
+
+    private long parseTimeoutMillis(final String value) {
+        if (value == null || value.isEmpty()) {
+            return Math.max(1L, Math.min(defaultTimeout.toMilliseconds(), maxTimeout.toMilliseconds()));
+        }
+
+        final Duration timeout;
+        try {
+            // a bare number is interpreted as seconds
+            timeout = value.chars().allMatch(Character::isDigit)
+                    ? Duration.seconds(Long.parseLong(value))
+                    : Duration.parse(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + TIMEOUT_QUERY_PARAM + ": " + value, e);
+        }
+        // an async timeout of zero never expires, which would let clients bypass the maximum
+        if (timeout.toMilliseconds() < 1L) {
+            throw new IllegalArgumentException("Invalid " + TIMEOUT_QUERY_PARAM + ", must be at least 1ms: " + value);
+        }
+        return Math.min(timeout.toMilliseconds(), maxTimeout.toMilliseconds());
+    }
+
+    private static long parseVersion(final String value) {
+        if (value == null || value.isEmpty()) {
+            return -1L;
+        }
+        try {
+            final long version = Long.parseLong(value);
+            if (version < 0) {
+                throw new IllegalArgumentException("Invalid " + WAIT_FOR_CHANGE_QUERY_PARAM + ": " + value);
+            }
+            return version;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + WAIT_FOR_CHANGE_QUERY_PARAM + ": " + value, e);
+        }
+    }
+
+    private static class Watcher {
+        private final AsyncContext context;
+        private final String type;
+
+        private Watcher(final AsyncContext context, final String type) {
+            this.context = context;
+            this.type = type;
+        }
+    }
+
+    private abstract static class WatcherListener implements AsyncListener {
+        private final Watcher watcher;
+        private final Set<Watcher> watchers;
+
+        private WatcherListener(final Watcher watcher, final Set<Watcher> watchers) {
+            this.watcher = watcher;
+            this.watchers = watchers;
+        }
+
+        @Override
+        public void onComplete(final AsyncEvent event) {
+            watchers.remove(watcher);
+        }
+
+        @Override
+        public void onError(final AsyncEvent event) {
+            if (watchers.remove(watcher)) {
+                event.getAsyncContext().complete();
+            }
+        }
+
+        @Override
+        public void onStartAsync(final AsyncEvent event) {
+            // do nothing
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package io.dropwizard.health.core;
+
+import io.dropwizard.health.conf.HealthCheckType;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.PreEncodedHttpField;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A servlet that serves Kubernetes-style probe endpoints, selected by the last segment of the request path:
+ * <ul>
+ *     <li>{@code /livez}: whether the application is alive</li>
+ *     <li>{@code /readyz}: whether the application is ready to serve traffic</li>
+ *     <li>{@code /startupz}: whether the application has finished starting, i.e. has been ready at least once after
+ *     all of its startup checks passed</li>
+ * </ul>
+ *
+ * Like the Kubernetes API server, {@code ?verbose} lists the state of each relevant check and {@code ?exclude=<check>}
+ * (which may be repeated) evaluates the status as if the named checks were healthy. Exclusions are evaluated against
+ * the tracked health state, so no check is re-run.
+ */
+public class KubernetesHealthCheckServlet extends HttpServlet {
+    static final String LIVEZ = "livez";
+    static final String READYZ = "readyz";
+    static final String STARTUPZ = "startupz";
+    private static final String VERBOSE_QUERY_PARAM = "verbose";
+    private static final String EXCLUDE_QUERY_PARAM = "exclude";
+    private static final String CONTENT_TYPE = "text/plain;charset=utf-8";
+    private static final byte[] OK_BODY = "ok".getBytes(StandardCharsets.UTF_8);
+
+    private final HealthStatusChecker healthStatusChecker;
+    private final HealthStateAggregator healthStateAggregator;
+    private final boolean cacheControlEnabled;
+    private final PreEncodedHttpField cacheControlField;
+
+    public KubernetesHealthCheckServlet(final HealthStatusChecker healthStatusChecker,
+                                        final HealthStateAggregator healthStateAggregator,
+                                        final boolean cacheControlEnabled, final String cacheControlValue) {
+        this.healthStatusChecker = requireNonNull(healthStatusChecker);
+        this.healthStateAggregator = requireNonNull(healthStateAggregator);
+        this.cacheControlEnabled = cacheControlEnabled;
+        this.cacheControlField = new PreEncodedHttpField(HttpHeader.CACHE_CONTROL, requireNonNull(cacheControlValue));
+    }
+
+    @Override
+    protected void doGet(final HttpServletRequest req, final HttpServletResponse resp) throws ServletException, IOException {
+        final String probe = probeName(req.getRequestURI());
+        final HealthCheckType type;
+        if (LIVEZ.equals(probe)) {
+            type = HealthCheckType.ALIVE;
+        } else if (READYZ.equals(probe)) {
+            type = HealthCheckType.READY;
+        } else if (STARTUPZ.equals(probe)) {
+            type = HealthCheckType.STARTUP;
+        } else {
+            resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        if (cacheControlEnabled) {
+            HealthResponses.putField(resp, cacheControlField);
+        }
+        resp.setContentType(CONTENT_TYPE);
+
+        final String query = req.getQueryString();
+        final List<String> excluded = QueryStrings.getParameters(query, EXCLUDE_QUERY_PARAM);
+        final String verboseValue = QueryStrings.getParameter(query, VERBOSE_QUERY_PARAM);
+        final boolean verbose = verboseValue != null && !"false".equalsIgnoreCase(verboseValue);
+
+        final boolean healthy = excluded.isEmpty()
+                ? healthStatusChecker.isHealthy(type.name())
+                : healthStateAggregator.isHealthyExcluding(type.name(), excluded);
+
+        if (!healthy) {
+            resp.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        }
+        final byte[] body = healthy && !verbose ? OK_BODY : describe(probe, type, excluded, healthy);
+        resp.setContentLength(body.length);
+        resp.getOutputStream().write(body);
+    }
+
+    private byte[] describe(final String probe, final HealthCheckType type, final List<String> excludedChecks,
+                            final boolean healthy) {
+        final Set<String> excluded = new HashSet<>(excludedChecks);
+        // startup checks no longer affect readiness once the application has started
+        final boolean skipStartupChecks = type == HealthCheckType.READY
+                && healthStatusChecker.isHealthy(HealthCheckType.STARTUP.name());
+        final StringBuilder sb = new StringBuilder();
+        for (final HealthStateView view : healthStateAggregator.healthStateViews()) {
+            // readiness also depends on the application being alive, and startup on both
+            if (type == HealthCheckType.ALIVE && view.getType() != HealthCheckType.ALIVE
+                    || skipStartupChecks && view.getType() == HealthCheckType.STARTUP) {
+                continue;
+            }
+            if (excluded.remove(view.getName())) {
+                sb.append("[+]").append(view.getName()).append(" excluded: ok\n");
+            } else if (view.isHealthy()) {
+                sb.append("[+]").append(view.getName()).append(" ok\n");
+            } else {
+                sb.append("[-]").append(view.getName()).append(" failed: ")
+                        .append(view.isCritical() ? "critical" : "non-critical").append('\n');
+            }
+        }
+        for (final String name : excluded) {
+            sb.append("warn: some health checks cannot be excluded: no matches for \"").append(name).append("\"\n");
+        }
+        sb.append(probe).append(healthy ? " check passed\n" : " check failed\n");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String probeName(final String requestUri) {
+        int end = requestUri.length();
+        while (end > 0 && requestUri.charAt(end - 1) == '/') {
+            end--;
+        }
+        return requestUri.substring(requestUri.lastIndexOf('/', end - 1) + 1, end);
+    }
+}
@@ -0,0 +1,136 @@
+package io.dropwizard.health.core;
+
+import io.dropwizard.health.conf.HealthCheckType;
+import io.dropwizard.lifecycle.Managed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import javax.annotation.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Keeps the health status in a small memory-mapped file, so that processes on the same host can poll it without
+ * any system calls once they have mapped the file. The file has a fixed little-endian layout:
+ * <pre>
+ * offset  size  field
+ *      0     4  magic, {@code 0x53485744} ("DWHS" when read as bytes)
+ *      4     4  layout version, currently {@code 1}
+ *      8     8  sequence, odd while an update is in progress
+ *     16     8  health state version
+ *     24     8  time of the update in epoch milliseconds
+ *     32     1  alive ({@code 1} or {@code 0})
+ *     33     1  ready ({@code 1} or {@code 0})
+ *     34     2  reserved
+ *     36     4  number of unhealthy health checks
+ *     40    24  reserved
+ * </pre>
+ *
+ * Updates are published with a sequence lock: readers read the sequence, then the fields, then the sequence again,
+ * and retry if the sequence was odd or changed in between. The writer separates the sequence from the fields with
+ * store fences, and readers need load fences after reading the sequence and before reading it again. The status is updated on every health state change and
+ * marked as neither alive nor ready when the application stops.
+ */
+public class MappedStatusFile implements Managed, HealthStateListener {
+    static final int MAGIC = 0x53485744;
+    static final int LAYOUT_VERSION = 1;
+    static final int SIZE = 64;
+    static final int SEQUENCE_OFFSET = 8;
+    static final int STATE_VERSION_OFFSET = 16;
+    static final int UPDATED_OFFSET = 24;
+    static final int ALIVE_OFFSET = 32;
+    static final int READY_OFFSET = 33;
+    static final int UNHEALTHY_COUNT_OFFSET = 36;
+
+    private static final Logger log = LoggerFactory.getLogger(MappedStatusFile.class);
+
+    private final HealthStatusChecker healthStatusChecker;
+    private final HealthStateAggregator healthStateAggregator;
+    private final Path path;
+    @Nullable
+    private MappedByteBuffer buffer;
+    private long sequence = 0L;
+
+    public MappedStatusFile(final HealthStatusChecker healthStatusChecker,
+                            final HealthStateAggregator healthStateAggregator,
+                            final Path path) {
+        this.healthStatusChecker = requireNonNull(healthStatusChecker);
+        this.healthStateAggregator = requireNonNull(healthStateAggregator);
+        this.path = requireNonNull(path);
+    }
+
+    @Override
+    public synchronized void start() throws Exception {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            // the mapping stays valid after the channel is closed
+            final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, SIZE);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            sequence = mapped.getLong(SEQUENCE_OFFSET);
+            if ((sequence & 1L) != 0L) {
+                // a previous writer stopped in the middle of an update
+                sequence++;
+            }
+            mapped.putInt(0, MAGIC);
+            mapped.putInt(4, LAYOUT_VERSION);
+            buffer = mapped;
+        }
+        update();
+        log.info("Writing health status to memory-mapped file: path={}", path);
+    }
+
+    @Override
+    public synchronized void stop() throws Exception {
+        if (buffer != null) {
+            write(healthStateAggregator.getStateVersion(), false, false, unhealthyCount());
+            buffer.force();
+            buffer = null;
+        }
+    }
+
+    @Override
+    public void onHealthStateChanged(final long version) {
+        update();
+    }
+
+    private synchronized void update() {
+        if (buffer == null) {
+            return;
+        }
+        final long version = healthStateAggregator.getStateVersion();
+        write(version, healthStatusChecker.isHealthy(HealthCheckType.ALIVE.name()),
+                healthStatusChecker.isHealthy(HealthCheckType.READY.name()), unhealthyCount());
+    }
+
+    private int unhealthyCount() {
+        int count = 0;
+        for (final HealthStateView view : healthStateAggregator.healthStateViews()) {
+            if (!view.isHealthy()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void write(final long version, final boolean alive, final boolean ready, final int unhealthyCount) {
+        final MappedByteBuffer mapped = requireNonNull(buffer);
+        mapped.putLong(SEQUENCE_OFFSET, ++sequence);
+        // readers must not see any of the fields change before the sequence turned odd
+        MemoryFences.storeFence();
+        mapped.putLong(STATE_VERSION_OFFSET, version);
+        mapped.putLong(UPDATED_OFFSET, System.currentTimeMillis());
+        mapped.put(ALIVE_OFFSET, (byte) (alive ? 1 : 0));
+        mapped.put(READY_OFFSET, (byte) (ready ? 1 : 0));
+        mapped.putInt(UNHEALTHY_COUNT_OFFSET, unhealthyCount);
+        // nor see the sequence turn even before all of the fields changed
+        MemoryFences.storeFence();
+        mapped.putLong(SEQUENCE_OFFSET, ++sequence);
+    }
+}
@@ -0,0 +1,41 @@
+package io.dropwizard.health.core;
+
+import sun.misc.Unsafe;
+
+import java.lang.reflect.Field;
+
+/**
+ * Memory fences for data shared with other processes through memory-mapped files, which the Java memory model does
+ * not cover. A volatile write only orders the stores before it, so it cannot keep later stores from becoming visible
+ * first; these fences can. {@code VarHandle} offers the same fences from Java 9 on.
+ */
+final class MemoryFences {
+    private static final Unsafe UNSAFE = loadUnsafe();
+
+    private MemoryFences() {
+    }
+
+    /**
+     * Keeps the stores before the fence from being reordered with the stores after it.
+     */
+    static void storeFence() {
+        UNSAFE.storeFence();
+    }
+
+    /**
+     * Keeps the loads before the fence from being reordered with the loads and stores after it.
+     */
+    static void loadFence() {
+        UNSAFE.loadFence();
+    }
+
+    private static Unsafe loadUnsafe() {
+        try {
+            final Field field = Unsafe.class.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return (Unsafe) field.get(null);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
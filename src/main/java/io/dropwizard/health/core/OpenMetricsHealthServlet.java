@@ -0,0 +1,181 @@
+package io.dropwizard.health.core;
+
+import io.dropwizard.health.conf.HealthCheckType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A servlet that exposes the health state of the application in the OpenMetrics text format, e.g.:
+ * <pre>
+ * # TYPE health_alive gauge
+ * health_alive 1
+ * # TYPE health_ready gauge
+ * health_ready 0
+ * # TYPE health_check_up gauge
+ * health_check_up{name="database",type="ready",critical="true"} 0
+ * # TYPE health_check_transitions counter
+ * health_check_transitions_total{name="database",type="ready",critical="true"} 3
+ * # TYPE health_check_last_duration_seconds gauge
+ * # UNIT health_check_last_duration_seconds seconds
+ * health_check_last_duration_seconds{name="database",type="ready",critical="true"} 0.012
+ * # EOF
+ * </pre>
+ *
+ * Everything but the durations only changes with the health state, so it is rendered once per health state version
+ * and served from the cached bytes until the next state change. Durations change with every run and are appended to
+ * a reused buffer on each scrape, using label sets that are encoded along with the cached bytes.
+ */
+public class OpenMetricsHealthServlet extends HttpServlet {
+    static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+    private static final String DURATION_METRIC = "health_check_last_duration_seconds";
+    private static final byte[] DURATION_HEADER = ("# TYPE " + DURATION_METRIC + " gauge\n"
+            + "# HELP " + DURATION_METRIC + " How long the most recent run of the health check took.\n"
+            + "# UNIT " + DURATION_METRIC + " seconds\n").getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EOF = "# EOF\n".getBytes(StandardCharsets.UTF_8);
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final HealthStatusChecker healthStatusChecker;
+    private final HealthStateAggregator healthStateAggregator;
+    private final Object renderLock = new Object();
+    private final ByteArrayOutputStream durationBuffer = new ByteArrayOutputStream(1024);
+    private volatile Snapshot snapshot;
+
+    public OpenMetricsHealthServlet(final HealthStatusChecker healthStatusChecker,
+                                    final HealthStateAggregator healthStateAggregator) {
+        this.healthStatusChecker = requireNonNull(healthStatusChecker);
+        this.healthStateAggregator = requireNonNull(healthStateAggregator);
+    }
+
+    @Override
+    protected void doGet(final HttpServletRequest req, final HttpServletResponse resp) throws ServletException, IOException {
+        final Snapshot current = currentSnapshot();
+
+        final byte[] durations;
+        // scrapes are infrequent, so a single buffer that keeps its capacity between them is enough
+        synchronized (durationBuffer) {
+            durationBuffer.reset();
+            durationBuffer.write(DURATION_HEADER, 0, DURATION_HEADER.length);
+            healthStateAggregator.forEachLastDuration((name, durationNanos) -> {
+                final byte[] prefix = current.durationPrefixes.get(name);
+                if (prefix != null) {
+                    durationBuffer.write(prefix, 0, prefix.length);
+                    final byte[] value = Double.toString(durationNanos / NANOS_PER_SECOND)
+                            .getBytes(StandardCharsets.US_ASCII);
+                    durationBuffer.write(value, 0, value.length);
+                    durationBuffer.write('\n');
+                }
+            });
+            durationBuffer.write(EOF, 0, EOF.length);
+            durations = durationBuffer.toByteArray();
+        }
+
+        resp.setContentType(CONTENT_TYPE);
+        resp.setContentLength(current.body.length + durations.length);
+        resp.getOutputStream().write(current.body);
+        resp.getOutputStream().write(durations);
+    }
+
+    private Snapshot currentSnapshot() {
+        final long version = healthStateAggregator.getStateVersion();
+        Snapshot current = snapshot;
+        if (current != null && current.version == version) {
+            return current;
+        }
+
+        synchronized (renderLock) {
+            current = snapshot;
+            if (current == null || current.version != version) {
+                current = render(version, healthStateAggregator.healthStateViews());
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    private Snapshot render(final long version, final Collection<HealthStateView> views) {
+        final Map<String, String> labels = new HashMap<>();
+        for (final HealthStateView view : views) {
+            labels.put(view.getName(), labels(view));
+        }
+
+        final StringBuilder sb = new StringBuilder(128 + views.size() * 160);
+        gauge(sb, "health_alive", "Whether the application is alive.",
+                healthStatusChecker.isHealthy(HealthCheckType.ALIVE.name()));
+        gauge(sb, "health_ready", "Whether the application is ready to serve traffic.",
+                healthStatusChecker.isHealthy(HealthCheckType.READY.name()));
+        gauge(sb, "health_started", "Whether the application has finished starting.",
+                healthStatusChecker.isHealthy(HealthCheckType.STARTUP.name()));
+
+        sb.append("# TYPE health_check_up gauge\n")
+                .append("# HELP health_check_up Whether the health check is currently healthy.\n");
+        for (final HealthStateView view : views) {
+            sb.append("health_check_up").append(labels.get(view.getName()))
+                    .append(view.isHealthy() ? " 1\n" : " 0\n");
+        }
+
+        sb.append("# TYPE health_check_transitions counter\n")
+                .append("# HELP health_check_transitions How often the health check changed state.\n");
+        for (final HealthStateView view : views) {
+            sb.append("health_check_transitions_total").append(labels.get(view.getName()))
+                    .append(' ').append(view.getTransitions()).append('\n');
+        }
+
+        final Map<String, byte[]> durationPrefixes = new HashMap<>();
+        labels.forEach((name, labelSet) -> durationPrefixes.put(name,
+                (DURATION_METRIC + labelSet + ' ').getBytes(StandardCharsets.UTF_8)));
+        return new Snapshot(version, sb.toString().getBytes(StandardCharsets.UTF_8), durationPrefixes);
+    }
+
+    private static void gauge(final StringBuilder sb, final String name, final String help, final boolean value) {
+        sb.append("# TYPE ").append(name).append(" gauge\n")
+                .append("# HELP ").append(name).append(' ').append(help).append('\n')
+                .append(name).append(value ? " 1\n" : " 0\n");
+    }
+
+    private static String labels(final HealthStateView view) {
+        final StringBuilder sb = new StringBuilder("{name=\"");
+        escape(sb, view.getName());
+        return sb.append("\",type=\"").append(view.getType().name().toLowerCase(Locale.ENGLISH))
+                .append("\",critical=\"").append(view.isCritical())
+                .append("\"}")
+                .toString();
+    }
+
+    private static void escape(final StringBuilder sb, final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                sb.append('\\').append(c);
+            } else if (c == '\n') {
+                sb.append("\\n");
+            } else {
+                sb.append(c);
+            }
+        }
+    }
+
+    private static class Snapshot {
+        private final long version;
+        private final byte[] body;
+        private final Map<String, byte[]> durationPrefixes;
+
+        private Snapshot(final long version, final byte[] body, final Map<String, byte[]> durationPrefixes) {
+            this.version = version;
+            this.body = body;
+            this.durationPrefixes = durationPrefixes;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package io.dropwizard.health.core;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Helpers for reading single query parameters without parsing the entire query string into a parameter map.
+ */
+final class QueryStrings {
+    private QueryStrings() {
+    }
+
+    /**
+     * Returns the first value of the named parameter in the query string.
+     *
+     * @param query the raw (still encoded) query string, may be {@code null}
+     * @param name  the name of the parameter
+     * @return the decoded value, an empty string if the parameter has no value, or {@code null} if it is absent
+     */
+    static String getParameter(final String query, final String name) {
+        if (query == null || query.isEmpty()) {
+            return null;
+        }
+
+        final int nameLength = name.length();
+        int start = 0;
+        while (start < query.length()) {
+            int end = query.indexOf('&', start);
+            if (end < 0) {
+                end = query.length();
+            }
+            if (query.startsWith(name, start)) {
+                final int afterName = start + nameLength;
+                if (afterName == end) {
+                    return "";
+                }
+                if (query.charAt(afterName) == '=') {
+                    return decode(query.substring(afterName + 1, end));
+                }
+            }
+            start = end + 1;
+        }
+        return null;
+    }
+
+    /**
+     * Returns all values of the named parameter in the query string, in the order they appear.
+     *
+     * @param query the raw (still encoded) query string, may be {@code null}
+     * @param name  the name of the parameter
+     * @return the decoded values, or an empty list if the parameter is absent
+     */
+    static List<String> getParameters(final String query, final String name) {
+        if (query == null || query.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final List<String> values = new ArrayList<>();
+        int start = 0;
+        while (start < query.length()) {
+            int end = query.indexOf('&', start);
+            if (end < 0) {
+                end = query.length();
+            }
+            final String value = getParameter(query.substring(start, end), name);
+            if (value != null) {
+                values.add(value);
+            }
+            start = end + 1;
+        }
+        return values;
+    }
+
+    private static String decode(final String value) {
+        if (value.indexOf('%') < 0 && value.indexOf('+') < 0) {
+            return value;
+        }
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package io.dropwizard.health.core;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.lifecycle.Managed;
+import io.dropwizard.util.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Closes the resources shared by health checks when the application stops, e.g. pooled clients and open
+ * connections. The resources are closed in parallel, each on its own thread, and the application waits at most
+ * {@code timeout} for all of them, so that a resource that is slow to close neither delays the others nor holds up
+ * the shutdown. How long closing took is recorded by the {@code health.<name>.shutdown.close-resources} timer.
+ */
+class ResourceCloser implements Managed {
+    private static final Logger log = LoggerFactory.getLogger(ResourceCloser.class);
+
+    private final String name;
+    private final Duration timeout;
+    private final MetricRegistry metrics;
+    private final String timerName;
+    private final Map<String, AutoCloseable> resources = new LinkedHashMap<>();
+
+    ResourceCloser(final String name, final Duration timeout, final MetricRegistry metrics,
+                   final String managerName) {
+        this.name = requireNonNull(name);
+        this.timeout = requireNonNull(timeout);
+        this.metrics = requireNonNull(metrics);
+        this.timerName = MetricRegistry.name("health", managerName, "shutdown", "close-resources");
+    }
+
+    /**
+     * @param resourceName the name of the resource, used for logging
+     * @param resource     the resource to close when the application stops
+     */
+    synchronized void add(final String resourceName, final AutoCloseable resource) {
+        resources.put(requireNonNull(resourceName), requireNonNull(resource));
+    }
+
+    @Override
+    public void start() {
+        // nothing to start
+    }
+
+    @Override
+    public void stop() throws InterruptedException {
+        final Map<String, AutoCloseable> closing;
+        synchronized (this) {
+            closing = new LinkedHashMap<>(resources);
+            resources.clear();
+        }
+        if (closing.isEmpty()) {
+            return;
+        }
+
+        final long start = System.nanoTime();
+        final CountDownLatch closed = new CountDownLatch(closing.size());
+        final List<Thread> threads = new ArrayList<>(closing.size());
+        closing.forEach((resourceName, resource) -> {
+            final Thread thread = new Thread(() -> {
+                try {
+                    resource.close();
+                } catch (Exception e) {
+                    log.warn("Failed to close health check resource: name={}", resourceName, e);
+                } finally {
+                    closed.countDown();
+                }
+            }, name + "-" + resourceName);
+            // threads of resources that exceed the timeout must not keep the JVM alive
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        });
+
+        final boolean completed = closed.await(timeout.toMilliseconds(), TimeUnit.MILLISECONDS);
+        final long elapsedNanos = System.nanoTime() - start;
+        metrics.timer(timerName).update(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (completed) {
+            log.info("Closed {} health check resources in {}ms", closing.size(),
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        } else {
+            final List<String> pending = new ArrayList<>();
+            for (final Thread thread : threads) {
+                if (thread.isAlive()) {
+                    pending.add(thread.getName());
+                }
+            }
+            log.warn("Health check resources did not close within {}: pending={}", timeout, pending);
+        }
+    }
+}
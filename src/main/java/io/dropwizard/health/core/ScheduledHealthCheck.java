@@ -8,6 +8,7 @@ import com.codahale.metrics.health.HealthCheck;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Instant;
 import java.util.Objects;
 
 class ScheduledHealthCheck implements Runnable {
@@ -20,6 +21,9 @@ class ScheduledHealthCheck implements Runnable {
     private final State state;
     private final Counter healthyCheckCounter;
     private final Counter unhealthyCheckCounter;
+    private volatile String lastMessage;
+    private volatile long lastDurationNanos = -1L;
+    private volatile boolean started = false;
 
     ScheduledHealthCheck(final String name,
                          final HealthCheckType type,
@@ -59,21 +63,48 @@ class ScheduledHealthCheck implements Runnable {
         return state.getHealthy().get();
     }
 
+    HealthStateView toView() {
+        final long lastTransitionMillis = state.getLastTransitionMillis();
+        return new HealthStateView(name, type, critical, isHealthy(),
+                lastTransitionMillis == 0L ? null : Instant.ofEpochMilli(lastTransitionMillis), lastMessage,
+                state.getTransitions());
+    }
+
+    /**
+     * @return how long the most recent run took in nanoseconds, or {@code -1} if the check has not run yet
+     */
+    long getLastDurationNanos() {
+        return lastDurationNanos;
+    }
+
+    /**
+     * @return whether a run has succeeded while the check was in a healthy state, i.e. the check has started
+     */
+    boolean isStarted() {
+        return started;
+    }
+
     @Override
     public void run() {
         log.trace("executing health check: name={}", name);
 
         HealthCheck.Result result;
+        final long start = System.nanoTime();
         try {
            result = healthCheck.execute();
         } catch (final Exception e) {
             log.warn("Check for name={} failed exceptionally", name, e);
             result = HealthCheck.Result.unhealthy(e);
         }
+        lastDurationNanos = System.nanoTime() - start;
+        lastMessage = result.getMessage();
 
         if (result.isHealthy()) {
             log.trace("health check result: name={} result=success", name);
             state.success();
+            if (isHealthy()) {
+                started = true;
+            }
             healthyCheckCounter.inc();
         } else {
             log.trace("health check result: name={} result=failure result={}", name, result);
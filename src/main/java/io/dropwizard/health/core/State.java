@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 class State {
     private static final Logger log = LoggerFactory.getLogger(State.class);
@@ -15,6 +16,8 @@ class State {
     private final StateChangedCallback stateChangedCallback;
     private final AtomicInteger counter = new AtomicInteger(0);
     private final AtomicBoolean healthy;
+    private final AtomicLong transitions = new AtomicLong();
+    private volatile long lastTransitionMillis = 0L;
 
     /**
      * Creates instance that is used to track state of a health check.
@@ -62,6 +65,8 @@ class State {
         if (newCount >= numAttempts) {
             final boolean newState = !healthy.get();
             healthy.set(newState);
+            lastTransitionMillis = System.currentTimeMillis();
+            transitions.incrementAndGet();
             resetCount();
             stateChangedCallback.onStateChanged(this.name, newState);
         }
@@ -75,6 +80,20 @@ class State {
         return healthy;
     }
 
+    /**
+     * @return the time of the last state change in epoch milliseconds, or {@code 0} if the state never changed
+     */
+    long getLastTransitionMillis() {
+        return lastTransitionMillis;
+    }
+
+    /**
+     * @return the number of state changes since this instance was created
+     */
+    long getTransitions() {
+        return transitions.get();
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) return true;
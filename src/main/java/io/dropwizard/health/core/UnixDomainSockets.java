@@ -0,0 +1,129 @@
+package io.dropwizard.health.core;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+
+import javax.annotation.Nullable;
+
+/**
+ * Opens Unix domain socket channels. Unix domain sockets are only supported by {@code java.nio.channels} since
+ * Java 16, so the classes and methods that were added for them are looked up when this class is loaded, which keeps
+ * the library compiling and running on Java 8, and opening a channel fails on older JVMs.
+ */
+final class UnixDomainSockets {
+    @Nullable
+    private static final ProtocolFamily UNIX = unixProtocolFamily();
+    @Nullable
+    private static final MethodHandle ADDRESS_OF = findAddressOf();
+    @Nullable
+    private static final MethodHandle OPEN_SERVER_CHANNEL = findOpen(ServerSocketChannel.class);
+    @Nullable
+    private static final MethodHandle OPEN_CHANNEL = findOpen(SocketChannel.class);
+
+    private UnixDomainSockets() {
+    }
+
+    /**
+     * @return whether Unix domain sockets are supported by the running JVM
+     */
+    static boolean isSupported() {
+        return UNIX != null && ADDRESS_OF != null && OPEN_SERVER_CHANNEL != null && OPEN_CHANNEL != null;
+    }
+
+    /**
+     * Opens a server channel bound to a Unix domain socket at the given path.
+     *
+     * @param path the path of the socket file
+     * @return the bound server channel
+     * @throws IOException if the channel cannot be opened or bound
+     * @throws UnsupportedOperationException if the JVM does not support Unix domain sockets
+     */
+    static ServerSocketChannel openServerChannel(final Path path) throws IOException {
+        checkSupported();
+        final SocketAddress address = (SocketAddress) invoke(ADDRESS_OF, path);
+        final ServerSocketChannel channel = (ServerSocketChannel) invoke(OPEN_SERVER_CHANNEL, UNIX);
+        try {
+            channel.bind(address);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return channel;
+    }
+
+    /**
+     * Opens a channel connected to the Unix domain socket at the given path.
+     *
+     * @param path the path of the socket file
+     * @return the connected channel
+     * @throws IOException if the channel cannot be opened or connected
+     * @throws UnsupportedOperationException if the JVM does not support Unix domain sockets
+     */
+    static SocketChannel openChannel(final Path path) throws IOException {
+        checkSupported();
+        final SocketAddress address = (SocketAddress) invoke(ADDRESS_OF, path);
+        final SocketChannel channel = (SocketChannel) invoke(OPEN_CHANNEL, UNIX);
+        try {
+            channel.connect(address);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return channel;
+    }
+
+    private static void checkSupported() {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("Unix domain sockets require Java 16 or later");
+        }
+    }
+
+    private static Object invoke(final MethodHandle method, final Object argument) throws IOException {
+        try {
+            return method.invoke(argument);
+        } catch (IOException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // none of the methods throws other checked exceptions
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Nullable
+    private static ProtocolFamily unixProtocolFamily() {
+        try {
+            return StandardProtocolFamily.valueOf("UNIX");
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Nullable
+    private static MethodHandle findAddressOf() {
+        try {
+            final Class<?> addressClass = Class.forName("java.net.UnixDomainSocketAddress");
+            return MethodHandles.publicLookup().findStatic(addressClass, "of",
+                    MethodType.methodType(addressClass, Path.class));
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    @Nullable
+    private static MethodHandle findOpen(final Class<?> channelClass) {
+        try {
+            return MethodHandles.publicLookup().findStatic(channelClass, "open",
+                    MethodType.methodType(channelClass, ProtocolFamily.class));
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
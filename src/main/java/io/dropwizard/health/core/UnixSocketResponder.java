@@ -0,0 +1,128 @@
+package io.dropwizard.health.core;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.dropwizard.health.conf.HealthCheckType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Answers connections on a Unix domain socket with a compact summary of the health state, for agents running on the
+ * same host, e.g.:
+ * <pre>{@code
+ * {"alive":true,"ready":false,"version":12,"unhealthy":["database"]}
+ * }</pre>
+ *
+ * Access is controlled by the permissions of the socket file and its directory. Local consumers skip both the TCP
+ * and the HTTP stack, and the summary is only serialized when the health state version changes.
+ *
+ * Unix domain sockets require Java 16 or later; starting the responder on an older JVM fails.
+ */
+public class UnixSocketResponder extends ChannelResponder {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final HealthStatusChecker healthStatusChecker;
+    private final HealthStateAggregator healthStateAggregator;
+    private final Path path;
+    @Nullable
+    private final Set<PosixFilePermission> permissions;
+    // only accessed by the acceptor thread
+    private long renderedVersion = -1L;
+    @Nullable
+    private ByteBuffer rendered;
+
+    /**
+     * @param healthStatusChecker   the checker of the overall status
+     * @param healthStateAggregator the source of the state of each health check
+     * @param path                  the path of the socket file; a stale socket file at this path is replaced, any other
+     *                              file at this path fails the start
+     * @param permissions           the permissions to set on the socket file, or {@code null} to keep the defaults
+     * @param name                  the name of the thread accepting connections
+     */
+    public UnixSocketResponder(final HealthStatusChecker healthStatusChecker,
+                               final HealthStateAggregator healthStateAggregator,
+                               final Path path, @Nullable final Set<PosixFilePermission> permissions,
+                               final String name) {
+        super(name);
+        this.healthStatusChecker = requireNonNull(healthStatusChecker);
+        this.healthStateAggregator = requireNonNull(healthStateAggregator);
+        this.path = requireNonNull(path);
+        this.permissions = permissions;
+    }
+
+    @Override
+    ServerSocketChannel openChannel() throws IOException {
+        if (!UnixDomainSockets.isSupported()) {
+            throw new UnsupportedOperationException("Unix domain sockets require Java 16 or later");
+        }
+        // a socket file left behind by an unclean shutdown would prevent binding, any other file is left alone
+        if (Files.exists(path, LinkOption.NOFOLLOW_LINKS)) {
+            if (!Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS).isOther()) {
+                throw new FileAlreadyExistsException(path.toString(), null, "not a socket file");
+            }
+            Files.delete(path);
+        }
+        final ServerSocketChannel channel = UnixDomainSockets.openServerChannel(path);
+        if (permissions != null) {
+            Files.setPosixFilePermissions(path, permissions);
+        }
+        return channel;
+    }
+
+    @Override
+    void channelClosed() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Override
+    ByteBuffer currentResponse() {
+        final long version = healthStateAggregator.getStateVersion();
+        ByteBuffer current = rendered;
+        if (current == null || renderedVersion != version) {
+            current = ByteBuffer.wrap(render(version));
+            rendered = current;
+            renderedVersion = version;
+        }
+        current.rewind();
+        return current;
+    }
+
+    byte[] render(final long version) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(128);
+        try (JsonGenerator json = JSON_FACTORY.createGenerator(output, JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeBooleanField("alive", healthStatusChecker.isHealthy(HealthCheckType.ALIVE.name()));
+            json.writeBooleanField("ready", healthStatusChecker.isHealthy(HealthCheckType.READY.name()));
+            json.writeNumberField("version", version);
+            json.writeArrayFieldStart("unhealthy");
+            for (final HealthStateView view : healthStateAggregator.healthStateViews()) {
+                if (!view.isHealthy()) {
+                    json.writeString(view.getName());
+                }
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        } catch (IOException e) {
+            // writing to memory does not fail in practice
+            throw new UncheckedIOException(e);
+        }
+        output.write('\n');
+        return output.toByteArray();
+    }
+}
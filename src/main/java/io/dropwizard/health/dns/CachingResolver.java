@@ -0,0 +1,166 @@
+package io.dropwizard.health.dns;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.security.Security;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import javax.annotation.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Resolves host names for health checks and caches the results, so that a probe does not wait for DNS on every run.
+ * Resolved addresses are kept for the positive time-to-live, and failures to resolve a host for the negative
+ * time-to-live, so that an unknown host does not cause a lookup per probe either.
+ *
+ * The JDK does not expose the time-to-live of DNS records, so the times-to-live are configured; by default they
+ * follow the {@code networkaddress.cache.ttl} and {@code networkaddress.cache.negative.ttl} security properties that
+ * the JDK's own cache honors.
+ */
+public class CachingResolver {
+    private static final Logger log = LoggerFactory.getLogger(CachingResolver.class);
+
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final HostResolver hostResolver;
+    private final LongSupplier nanoClock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public CachingResolver(final Duration ttl, final Duration negativeTtl) {
+        this(ttl, negativeTtl, InetAddress::getAllByName);
+    }
+
+    /**
+     * @param ttl          how long resolved addresses are cached
+     * @param negativeTtl  how long failures to resolve a host are cached
+     * @param hostResolver the resolver to look up hosts with that are not cached
+     */
+    public CachingResolver(final Duration ttl, final Duration negativeTtl, final HostResolver hostResolver) {
+        this(ttl, negativeTtl, hostResolver, System::nanoTime);
+    }
+
+    CachingResolver(final Duration ttl, final Duration negativeTtl, final HostResolver hostResolver,
+                    final LongSupplier nanoClock) {
+        Preconditions.checkState(!ttl.isNegative(), "ttl must be a non-negative value.");
+        Preconditions.checkState(!negativeTtl.isNegative(), "negativeTtl must be a non-negative value.");
+        this.ttlNanos = ttl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+        this.hostResolver = requireNonNull(hostResolver);
+        this.nanoClock = requireNonNull(nanoClock);
+    }
+
+    /**
+     * Resolves the host, from the cache if its entry has not expired yet.
+     *
+     * @param host the host name or literal address
+     * @return the addresses of the host
+     * @throws UnknownHostException if the host cannot be resolved, possibly a cached failure
+     */
+    public InetAddress[] resolve(final String host) throws UnknownHostException {
+        final long now = nanoClock.getAsLong();
+        Entry entry = entries.get(host);
+        if (entry == null || entry.expiresAtNanos - now <= 0L) {
+            entry = lookup(host, now);
+            entries.put(host, entry);
+        }
+        if (entry.failure != null) {
+            throw entry.failure;
+        }
+        return entry.addresses.clone();
+    }
+
+    /**
+     * Resolves the host only from the cache, so that the caller never waits for a lookup.
+     *
+     * @param host the host name or literal address
+     * @return the cached addresses of the host, or {@code null} if it is not cached or its entry has expired
+     * @throws UnknownHostException if a failure to resolve the host is cached
+     */
+    @Nullable
+    public InetAddress[] resolveCached(final String host) throws UnknownHostException {
+        final Entry entry = entries.get(host);
+        if (entry == null || entry.expiresAtNanos - nanoClock.getAsLong() <= 0L) {
+            return null;
+        }
+        if (entry.failure != null) {
+            throw entry.failure;
+        }
+        return entry.addresses.clone();
+    }
+
+    /**
+     * @return the number of hosts in the cache, including expired entries that have not been refreshed yet
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private Entry lookup(final String host, final long now) {
+        try {
+            return new Entry(hostResolver.resolve(host), null, now + ttlNanos);
+        } catch (UnknownHostException e) {
+            log.debug("Failed to resolve host={}", host, e);
+            return new Entry(null, e, now + negativeTtlNanos);
+        }
+    }
+
+    /**
+     * @return the time-to-live of the JDK's address cache, or 30 seconds if it caches forever or not at all
+     */
+    public static Duration defaultTtl() {
+        return securityPropertySeconds("networkaddress.cache.ttl", Duration.ofSeconds(30));
+    }
+
+    /**
+     * @return the negative time-to-live of the JDK's address cache, or 10 seconds if it is not set
+     */
+    public static Duration defaultNegativeTtl() {
+        return securityPropertySeconds("networkaddress.cache.negative.ttl", Duration.ofSeconds(10));
+    }
+
+    private static Duration securityPropertySeconds(final String name, final Duration defaultValue) {
+        final String value = Security.getProperty(name);
+        if (value != null) {
+            try {
+                final long seconds = Long.parseLong(value.trim());
+                if (seconds > 0L) {
+                    return Duration.ofSeconds(seconds);
+                }
+            } catch (NumberFormatException e) {
+                log.debug("Ignoring invalid security property {}={}", name, value);
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Looks up the addresses of a host, e.g. {@link InetAddress#getAllByName(String)}.
+     */
+    @FunctionalInterface
+    public interface HostResolver {
+        InetAddress[] resolve(String host) throws UnknownHostException;
+    }
+
+    private static class Entry {
+        @Nullable
+        private final InetAddress[] addresses;
+        @Nullable
+        private final UnknownHostException failure;
+        private final long expiresAtNanos;
+
+        private Entry(@Nullable final InetAddress[] addresses, @Nullable final UnknownHostException failure,
+                      final long expiresAtNanos) {
+            this.addresses = addresses;
+            this.failure = failure;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
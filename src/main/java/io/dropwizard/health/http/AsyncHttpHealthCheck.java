@@ -0,0 +1,150 @@
+package io.dropwizard.health.http;
+
+import com.codahale.metrics.health.HealthCheck;
+import com.google.common.base.Preconditions;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.api.Response.Listener;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.MimeTypes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+import javax.ws.rs.core.Response;
+
+/**
+ * An HTTP health check that does not block a thread while waiting for the dependency. Requests are sent with a
+ * non-blocking Jetty {@link HttpClient}, so many checks can be in flight at once on a few selector threads, e.g. the
+ * client of {@link io.dropwizard.health.core.HealthCheckBundle#getAsyncHttpClient()}.
+ *
+ * {@link #checkAsync()} completes with the result once the response arrives; {@link #check()} waits for it, for use
+ * with the health check scheduler.
+ */
+public class AsyncHttpHealthCheck extends HealthCheck {
+    private static final Logger log = LoggerFactory.getLogger(AsyncHttpHealthCheck.class);
+
+    @Nonnull
+    private final String url;
+    @Nonnull
+    private final HttpClient client;
+    private final Duration timeout;
+
+    public AsyncHttpHealthCheck(@Nonnull final String url, @Nonnull final HttpClient client) {
+        this(url, client, HttpHealthCheck.DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * @param url     the URL to check
+     * @param client  the started client to send requests with; it is not stopped by the check
+     * @param timeout the total timeout of each request, including connecting
+     */
+    public AsyncHttpHealthCheck(@Nonnull final String url, @Nonnull final HttpClient client, final Duration timeout) {
+        this.url = Objects.requireNonNull(url);
+        this.client = Objects.requireNonNull(client);
+        Preconditions.checkState(timeout.toMillis() > 0L);
+        this.timeout = timeout;
+    }
+
+    @Override
+    protected Result check() throws Exception {
+        return checkAsync().toCompletableFuture().get();
+    }
+
+    /**
+     * Checks the dependency without blocking the calling thread. Failures to reach the dependency complete the
+     * stage with an unhealthy result rather than exceptionally.
+     *
+     * @return a stage completed with the result of the check
+     */
+    public CompletionStage<Result> checkAsync() {
+        return httpCheckAsync(url)
+                .thenApply(httpHealthResponse -> {
+                    if (isHealthResponseValid(httpHealthResponse)) {
+                        log.debug("Health check against url={} successful", url);
+                        return Result.healthy();
+                    }
+                    log.debug("Health check against url={} failed with response={}", url, httpHealthResponse);
+                    return Result.unhealthy("Http health check against url=%s failed with response=%s", url,
+                            httpHealthResponse);
+                })
+                .exceptionally(e -> Result.unhealthy(e instanceof CompletionException && e.getCause() != null
+                        ? e.getCause()
+                        : e));
+    }
+
+    /**
+     * Performs a health check via HTTP against an external dependency, without blocking.
+     * By default uses a Jetty HTTP client and keeps up to 64 KiB of the body, ignoring the rest as the blocking
+     * {@link HttpHealthCheck} does, but can be overridden to allow for different behavior.
+     * @param url the URL to check.
+     * @return a stage completed with the response of the health check.
+     */
+    protected CompletionStage<HttpHealthResponse> httpCheckAsync(final String url) {
+        final CompletableFuture<HttpHealthResponse> future = new CompletableFuture<>();
+        client.newRequest(url)
+                .timeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .send(new TruncatingResponseListener(future, HttpHealthCheck.DEFAULT_MAX_BODY_BYTES));
+        return future;
+    }
+
+    /**
+     * Validates the response from the health check.
+     * By default checks if the response status is 2xx.
+     * @param httpHealthResponse The response resulting from the http health check.
+     * @return healthiness flag.
+     */
+    protected boolean isHealthResponseValid(final HttpHealthResponse httpHealthResponse) {
+        final Response.Status.Family statusFamily = Response.Status.Family.familyOf(httpHealthResponse.getStatus());
+
+        return statusFamily == Response.Status.Family.SUCCESSFUL;
+    }
+
+    /**
+     * Keeps the first bytes of the body and ignores the rest, unlike a {@link org.eclipse.jetty.client.util.BufferingResponseListener}, which
+     * aborts the exchange once the body exceeds its capacity, so that a large body does not fail the check.
+     */
+    private static class TruncatingResponseListener extends Listener.Adapter {
+        private final CompletableFuture<HttpHealthResponse> future;
+        private final int maxBodyBytes;
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        private TruncatingResponseListener(final CompletableFuture<HttpHealthResponse> future,
+                                           final int maxBodyBytes) {
+            this.future = future;
+            this.maxBodyBytes = maxBodyBytes;
+        }
+
+        @Override
+        public void onContent(final org.eclipse.jetty.client.api.Response response, final ByteBuffer content) {
+            final int length = Math.min(content.remaining(), maxBodyBytes - body.size());
+            if (length > 0) {
+                final byte[] bytes = new byte[length];
+                content.get(bytes);
+                body.write(bytes, 0, length);
+            }
+        }
+
+        @Override
+        public void onComplete(final org.eclipse.jetty.client.api.Result result) {
+            if (result.isFailed()) {
+                future.completeExceptionally(result.getFailure());
+                return;
+            }
+            final String charset = MimeTypes.getCharsetFromContentType(
+                    result.getResponse().getHeaders().get(HttpHeader.CONTENT_TYPE));
+            future.complete(new HttpHealthResponse(result.getResponse().getStatus(), new String(body.toByteArray(),
+                    charset == null ? StandardCharsets.UTF_8 : Charset.forName(charset))));
+        }
+    }
+}
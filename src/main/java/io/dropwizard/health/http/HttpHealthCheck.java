@@ -3,16 +3,31 @@ package io.dropwizard.health.http;
 import com.codahale.metrics.health.HealthCheck;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.io.ByteStreams;
 import org.glassfish.jersey.client.ClientProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.ws.rs.HttpMethod;
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Invocation;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
 public class HttpHealthCheck extends HealthCheck {
@@ -20,11 +35,30 @@ public class HttpHealthCheck extends HealthCheck {
 
     @VisibleForTesting
     static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(2);
+    @VisibleForTesting
+    static final int DEFAULT_MAX_BODY_BYTES = 64 * 1024;
 
     @Nonnull
     private final String url;
     @Nonnull
     private final Client client;
+    @Nullable
+    private final Duration readTimeout;
+    @Nullable
+    private final Duration connectionTimeout;
+    private final int maxBodyBytes;
+    private final boolean discardBody;
+    @Nullable
+    private final ResponseBodyValidator bodyValidator;
+    @Nonnull
+    private final String method;
+    @Nullable
+    private final String path;
+    @Nonnull
+    private final Map<String, String> headers;
+    private final boolean conditional;
+    @Nullable
+    private volatile String lastEntityTag;
 
     public HttpHealthCheck(@Nonnull final String url) {
         this(url, DEFAULT_TIMEOUT, DEFAULT_TIMEOUT);
@@ -40,18 +74,68 @@ public class HttpHealthCheck extends HealthCheck {
     public HttpHealthCheck(@Nonnull final String url,
                            final Duration readTimeout,
                            final Duration connectionTimeout) {
-        this.url = Objects.requireNonNull(url);
-        Preconditions.checkState(readTimeout.toMillis() > 0L);
-        Preconditions.checkState(connectionTimeout.toMillis() > 0L);
-        this.client = ClientBuilder.newClient()
-                .property(ClientProperties.CONNECT_TIMEOUT, (int) connectionTimeout.toMillis())
-                .property(ClientProperties.READ_TIMEOUT, (int) readTimeout.toMillis());
+        this(builder(url).timeouts(readTimeout, connectionTimeout));
     }
 
+    /**
+     * Creates a check that uses the given client, e.g. the shared client of
+     * {@link io.dropwizard.health.core.HealthCheckBundle#getHttpClient()}. The client is not closed by the check.
+     *
+     * @param url    the URL to check
+     * @param client the client to send requests with
+     */
     public HttpHealthCheck(@Nonnull final String url,
                            @Nonnull final Client client) {
-        this.url = Objects.requireNonNull(url);
-        this.client = Objects.requireNonNull(client);
+        this(builder(url).client(client));
+    }
+
+    /**
+     * Creates a check that uses the given client, overriding its timeouts for the requests of this check.
+     *
+     * @param url               the URL to check
+     * @param client            the client to send requests with
+     * @param readTimeout       the read timeout of each request
+     * @param connectionTimeout the connection timeout of each request
+     */
+    public HttpHealthCheck(@Nonnull final String url,
+                           @Nonnull final Client client,
+                           final Duration readTimeout,
+                           final Duration connectionTimeout) {
+        this(builder(url).client(client).timeouts(readTimeout, connectionTimeout));
+    }
+
+    protected HttpHealthCheck(final Builder builder) {
+        this.url = Objects.requireNonNull(builder.url);
+        if (builder.client == null) {
+            final Duration readTimeout = builder.readTimeout == null ? DEFAULT_TIMEOUT : builder.readTimeout;
+            final Duration connectionTimeout = builder.connectionTimeout == null
+                    ? DEFAULT_TIMEOUT
+                    : builder.connectionTimeout;
+            this.client = ClientBuilder.newClient()
+                    .property(ClientProperties.CONNECT_TIMEOUT, (int) connectionTimeout.toMillis())
+                    .property(ClientProperties.READ_TIMEOUT, (int) readTimeout.toMillis());
+            this.readTimeout = null;
+            this.connectionTimeout = null;
+        } else {
+            this.client = builder.client;
+            this.readTimeout = builder.readTimeout;
+            this.connectionTimeout = builder.connectionTimeout;
+        }
+        this.maxBodyBytes = builder.maxBodyBytes;
+        this.discardBody = builder.discardBody;
+        this.bodyValidator = builder.bodyValidator;
+        this.method = builder.method;
+        this.path = builder.path;
+        this.headers = Collections.unmodifiableMap(new LinkedHashMap<>(builder.headers));
+        this.conditional = builder.conditional;
+    }
+
+    /**
+     * @param url the URL to check
+     * @return a builder for a check with more options than the constructors offer
+     */
+    public static Builder builder(@Nonnull final String url) {
+        return new Builder(url);
     }
 
     @Override
@@ -59,10 +143,15 @@ public class HttpHealthCheck extends HealthCheck {
         final HttpHealthResponse httpHealthResponse = httpCheck(url);
 
         if (isHealthResponseValid(httpHealthResponse)) {
+            if (conditional) {
+                // a 304 may omit the entity tag, in which case the previous one is still current
+                httpHealthResponse.getEntityTag().ifPresent(entityTag -> lastEntityTag = entityTag);
+            }
             log.debug("Health check against url={} successful", url);
             return Result.healthy();
         }
 
+        lastEntityTag = null;
         log.debug("Health check against url={} failed with response={}", url, httpHealthResponse);
         return Result.unhealthy("Http health check against url=%s failed with response=%s", url, httpHealthResponse);
     }
@@ -70,26 +159,202 @@ public class HttpHealthCheck extends HealthCheck {
     /**
      * Performs a health check via HTTP against an external dependency.
      * By default uses the Jersey 2 HTTP client, but can be overridden to allow for different behavior.
+     * At most the maximum body size is read from the response; the body is not read at all when it is discarded,
+     * and only streamed through the validator when one is configured.
+     * Conditional checks send the entity tag of the last healthy response in an {@code If-None-Match} header.
      * @param url the URL to check.
      * @return response from the health check.
      */
     protected HttpHealthResponse httpCheck(final String url) {
-        final Response response = client.target(url).request().get();
-
-        final String entityString = response.readEntity(String.class);
+        WebTarget target = client.target(url);
+        if (path != null) {
+            target = target.path(path);
+        }
+        final Invocation.Builder request = target.request();
+        headers.forEach(request::header);
+        final String entityTag = lastEntityTag;
+        if (conditional && entityTag != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, entityTag);
+        }
+        if (readTimeout != null && connectionTimeout != null) {
+            request.property(ClientProperties.READ_TIMEOUT, (int) readTimeout.toMillis())
+                    .property(ClientProperties.CONNECT_TIMEOUT, (int) connectionTimeout.toMillis());
+        }
 
-        return new HttpHealthResponse(response.getStatus(), entityString);
+        // always close the response, so that its connection is returned to the pool
+        final Response response = request.method(method);
+        try {
+            final int status = response.getStatus();
+            final String responseEntityTag = response.getHeaderString(HttpHeaders.ETAG);
+            if (status == Response.Status.NOT_MODIFIED.getStatusCode()) {
+                return new HttpHealthResponse(status, "", null, responseEntityTag);
+            }
+            if ((discardBody && bodyValidator == null) || !response.hasEntity()) {
+                return new HttpHealthResponse(status, "", bodyValidator == null ? null : false, responseEntityTag);
+            }
+            final Charset charset = charsetOf(response.getMediaType());
+            try (InputStream body = ByteStreams.limit(response.readEntity(InputStream.class), maxBodyBytes)) {
+                if (bodyValidator != null) {
+                    return new HttpHealthResponse(status, "", bodyValidator.isValid(body, charset), responseEntityTag);
+                }
+                return new HttpHealthResponse(status, new String(ByteStreams.toByteArray(body), charset), null,
+                        responseEntityTag);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            response.close();
+        }
     }
 
     /**
      * Validates the response from the health check.
-     * By default checks if the response status is 2xx.
+     * By default checks if the response status is 2xx and, if a body validator is configured, that it accepted the
+     * body. For conditional checks, a 304 means that the last healthy response is still current, so it is valid too.
      * @param httpHealthResponse The response resulting from the http health check.
      * @return healthiness flag.
      */
     protected boolean isHealthResponseValid(final HttpHealthResponse httpHealthResponse) {
         final Response.Status.Family statusFamily = Response.Status.Family.familyOf(httpHealthResponse.getStatus());
 
-        return statusFamily == Response.Status.Family.SUCCESSFUL;
+        if (conditional && httpHealthResponse.getStatus() == Response.Status.NOT_MODIFIED.getStatusCode()) {
+            return true;
+        }
+        return statusFamily == Response.Status.Family.SUCCESSFUL && httpHealthResponse.getBodyValid().orElse(true);
+    }
+
+    private static Charset charsetOf(@Nullable final MediaType mediaType) {
+        final String charset = mediaType == null ? null : mediaType.getParameters().get(MediaType.CHARSET_PARAMETER);
+        return charset == null ? StandardCharsets.UTF_8 : Charset.forName(charset);
+    }
+
+    /**
+     * Builds {@link HttpHealthCheck}s.
+     */
+    public static class Builder {
+        private final String url;
+        @Nullable
+        private Client client;
+        @Nullable
+        private Duration readTimeout;
+        @Nullable
+        private Duration connectionTimeout;
+        private int maxBodyBytes = DEFAULT_MAX_BODY_BYTES;
+        private boolean discardBody = false;
+        @Nullable
+        private ResponseBodyValidator bodyValidator;
+        private String method = HttpMethod.GET;
+        @Nullable
+        private String path;
+        private final Map<String, String> headers = new LinkedHashMap<>();
+        private boolean conditional = false;
+
+        protected Builder(@Nonnull final String url) {
+            this.url = Objects.requireNonNull(url);
+        }
+
+        String getUrl() {
+            return url;
+        }
+
+        /**
+         * @param client the client to send requests with, e.g. the shared client of
+         *               {@link io.dropwizard.health.core.HealthCheckBundle#getHttpClient()}; by default the check
+         *               creates its own client
+         * @return this builder
+         */
+        public Builder client(@Nonnull final Client client) {
+            this.client = Objects.requireNonNull(client);
+            return this;
+        }
+
+        /**
+         * @param readTimeout       the read timeout of each request
+         * @param connectionTimeout the connection timeout of each request
+         * @return this builder
+         */
+        public Builder timeouts(final Duration readTimeout, final Duration connectionTimeout) {
+            Preconditions.checkState(readTimeout.toMillis() > 0L);
+            Preconditions.checkState(connectionTimeout.toMillis() > 0L);
+            this.readTimeout = readTimeout;
+            this.connectionTimeout = connectionTimeout;
+            return this;
+        }
+
+        /**
+         * @param maxBodyBytes the maximum number of bytes of the body that are read; the rest is discarded
+         * @return this builder
+         */
+        public Builder maxBodySize(final int maxBodyBytes) {
+            Preconditions.checkState(maxBodyBytes >= 0, "maxBodyBytes must be a non-negative value.");
+            this.maxBodyBytes = maxBodyBytes;
+            return this;
+        }
+
+        /**
+         * Discards the body without reading it, for checks that only validate the status.
+         *
+         * @return this builder
+         */
+        public Builder discardBody() {
+            this.discardBody = true;
+            return this;
+        }
+
+        /**
+         * @param bodyValidator the validator to stream the body through, e.g.
+         *                      {@link ResponseBodyValidator#jsonPointer(String, String)}
+         * @return this builder
+         */
+        public Builder bodyValidator(@Nonnull final ResponseBodyValidator bodyValidator) {
+            this.bodyValidator = Objects.requireNonNull(bodyValidator);
+            return this;
+        }
+
+        /**
+         * @param method the request method, e.g. {@code HEAD} for endpoints where only the status matters;
+         *               {@code GET} by default
+         * @return this builder
+         */
+        public Builder method(@Nonnull final String method) {
+            this.method = Objects.requireNonNull(method);
+            return this;
+        }
+
+        /**
+         * @param path the path to append to the URL of the check, e.g. {@code /health/cheap}
+         * @return this builder
+         */
+        public Builder path(@Nonnull final String path) {
+            this.path = Objects.requireNonNull(path);
+            return this;
+        }
+
+        /**
+         * @param name  the name of a header to send with each request
+         * @param value the value of the header
+         * @return this builder
+         */
+        public Builder header(@Nonnull final String name, @Nonnull final String value) {
+            headers.put(Objects.requireNonNull(name), Objects.requireNonNull(value));
+            return this;
+        }
+
+        /**
+         * Sends the entity tag of the last healthy response in an {@code If-None-Match} header, so that the
+         * dependency can answer with a 304 and no body, which counts as healthy.
+         *
+         * @return this builder
+         */
+        public Builder conditional() {
+            this.conditional = true;
+            return this;
+        }
+
+        public HttpHealthCheck build() {
+            Preconditions.checkState(bodyValidator == null || !HttpMethod.HEAD.equalsIgnoreCase(method),
+                    "HEAD responses have no body to validate.");
+            return new HttpHealthCheck(this);
+        }
     }
 }
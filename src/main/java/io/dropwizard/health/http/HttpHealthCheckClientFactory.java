@@ -0,0 +1,181 @@
+package io.dropwizard.health.http;
+
+import io.dropwizard.client.JerseyClientBuilder;
+import io.dropwizard.client.JerseyClientConfiguration;
+import io.dropwizard.health.dns.CachingResolver;
+import io.dropwizard.lifecycle.Managed;
+import io.dropwizard.setup.Environment;
+import org.apache.http.conn.DnsResolver;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.http.HttpClientTransportOverHTTP;
+import org.eclipse.jetty.util.Promise;
+import org.eclipse.jetty.util.SocketAddressResolver;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.annotation.Nullable;
+import javax.ws.rs.client.Client;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Builds a single HTTP client that is shared by all {@link HttpHealthCheck}s of an application. The client keeps a
+ * bounded pool of persistent connections, so that scheduled checks reuse connections instead of paying for a new
+ * TCP (and TLS) handshake on every run.
+ *
+ * The client is only built when first requested. Its connection pool is instrumented with the gauges
+ * {@code org.apache.http.conn.HttpClientConnectionManager.<name>.(leased|available|pending|max)-connections}, and
+ * it is closed when the application stops.
+ *
+ * Likewise, a non-blocking Jetty client for {@link AsyncHttpHealthCheck}s is started on demand. It runs on a single
+ * selector thread and a small thread pool, and uses the same timeouts and pool limits.
+ */
+public class HttpHealthCheckClientFactory implements Managed {
+    private static final int ASYNC_MIN_THREADS = 2;
+    private static final int ASYNC_MAX_THREADS = 4;
+
+    private final Environment environment;
+    private final JerseyClientConfiguration configuration;
+    private final String name;
+    @Nullable
+    private final CachingResolver resolver;
+    @Nullable
+    private Client client;
+    @Nullable
+    private HttpClient asyncClient;
+
+    public HttpHealthCheckClientFactory(final Environment environment,
+                                        final JerseyClientConfiguration configuration,
+                                        final String name) {
+        this(environment, configuration, name, null);
+    }
+
+    /**
+     * @param environment   the environment of the application
+     * @param configuration the configuration of the clients
+     * @param name          the name of the clients
+     * @param resolver      the resolver to look up hosts with, or {@code null} to resolve them on every connect
+     */
+    public HttpHealthCheckClientFactory(final Environment environment,
+                                        final JerseyClientConfiguration configuration,
+                                        final String name,
+                                        @Nullable final CachingResolver resolver) {
+        this.environment = requireNonNull(environment);
+        this.configuration = requireNonNull(configuration);
+        this.name = requireNonNull(name);
+        this.resolver = resolver;
+    }
+
+    /**
+     * @return the shared client, built on the first call
+     */
+    public synchronized Client getClient() {
+        if (client == null) {
+            final JerseyClientBuilder builder = new JerseyClientBuilder(environment).using(configuration);
+            if (resolver != null) {
+                builder.using((DnsResolver) resolver::resolve);
+            }
+            client = builder.build(name);
+        }
+        return client;
+    }
+
+    /**
+     * @return the shared non-blocking client, started on the first call
+     * @throws Exception if the client cannot be started
+     */
+    public synchronized HttpClient getAsyncClient() throws Exception {
+        if (asyncClient == null) {
+            final QueuedThreadPool threadPool = new QueuedThreadPool(ASYNC_MAX_THREADS, ASYNC_MIN_THREADS);
+            threadPool.setName(name + "-async");
+            final HttpClient httpClient = new HttpClient(new HttpClientTransportOverHTTP(1),
+                    new SslContextFactory.Client());
+            httpClient.setExecutor(threadPool);
+            httpClient.setConnectTimeout(configuration.getConnectionTimeout().toMilliseconds());
+            httpClient.setMaxConnectionsPerDestination(configuration.getMaxConnectionsPerRoute());
+            httpClient.setFollowRedirects(false);
+            if (resolver != null) {
+                httpClient.setSocketAddressResolver(new CachingSocketAddressResolver(resolver, threadPool));
+            }
+            httpClient.start();
+            asyncClient = httpClient;
+        }
+        return asyncClient;
+    }
+
+    @Override
+    public void start() {
+        // the client is built on demand
+    }
+
+    @Override
+    public synchronized void stop() throws Exception {
+        if (client != null) {
+            client.close();
+            client = null;
+        }
+        if (asyncClient != null) {
+            asyncClient.stop();
+            asyncClient = null;
+        }
+    }
+
+    /**
+     * Resolves hosts that are cached on the calling thread, which may be the selector thread of the client, and looks
+     * up the others on the executor of the client, like {@link SocketAddressResolver.Async}, since a lookup blocks.
+     */
+    static class CachingSocketAddressResolver implements SocketAddressResolver {
+        private final CachingResolver resolver;
+        private final Executor executor;
+
+        CachingSocketAddressResolver(final CachingResolver resolver, final Executor executor) {
+            this.resolver = requireNonNull(resolver);
+            this.executor = requireNonNull(executor);
+        }
+
+        @Override
+        public void resolve(final String host, final int port, final Promise<List<InetSocketAddress>> promise) {
+            final InetAddress[] cached;
+            try {
+                cached = resolver.resolveCached(host);
+            } catch (UnknownHostException e) {
+                promise.failed(e);
+                return;
+            }
+            if (cached != null) {
+                promise.succeeded(socketAddresses(cached, port));
+                return;
+            }
+            try {
+                executor.execute(() -> {
+                    final InetAddress[] resolved;
+                    try {
+                        resolved = resolver.resolve(host);
+                    } catch (UnknownHostException e) {
+                        promise.failed(e);
+                        return;
+                    }
+                    promise.succeeded(socketAddresses(resolved, port));
+                });
+            } catch (RejectedExecutionException e) {
+                promise.failed(e);
+            }
+        }
+
+        private static List<InetSocketAddress> socketAddresses(final InetAddress[] addresses, final int port) {
+            final List<InetSocketAddress> socketAddresses = new ArrayList<>(addresses.length);
+            for (final InetAddress address : addresses) {
+                socketAddresses.add(new InetSocketAddress(address, port));
+            }
+            return socketAddresses;
+        }
+    }
+}
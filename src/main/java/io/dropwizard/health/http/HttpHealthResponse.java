@@ -1,17 +1,45 @@
 package io.dropwizard.health.http;
 
 import java.util.Objects;
+import java.util.Optional;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public class HttpHealthResponse {
     private final int status;
     @Nonnull
     private final String body;
+    @Nullable
+    private final Boolean bodyValid;
+    @Nullable
+    private final String entityTag;
 
     public HttpHealthResponse(final int status, @Nonnull final String body) {
+        this(status, body, null);
+    }
+
+    /**
+     * @param status    the status code of the response
+     * @param body      the body of the response, or an empty string if it was not read
+     * @param bodyValid whether a body validator accepted the body, or {@code null} if none was used
+     */
+    public HttpHealthResponse(final int status, @Nonnull final String body, @Nullable final Boolean bodyValid) {
+        this(status, body, bodyValid, null);
+    }
+
+    /**
+     * @param status    the status code of the response
+     * @param body      the body of the response, or an empty string if it was not read
+     * @param bodyValid whether a body validator accepted the body, or {@code null} if none was used
+     * @param entityTag the {@code ETag} header of the response, or {@code null} if it had none
+     */
+    public HttpHealthResponse(final int status, @Nonnull final String body, @Nullable final Boolean bodyValid,
+                              @Nullable final String entityTag) {
         this.status = status;
         this.body = Objects.requireNonNull(body);
+        this.bodyValid = bodyValid;
+        this.entityTag = entityTag;
     }
 
     public int getStatus() {
@@ -23,6 +51,20 @@ public class HttpHealthResponse {
         return body;
     }
 
+    /**
+     * @return whether a body validator accepted the body, or empty if none was used
+     */
+    public Optional<Boolean> getBodyValid() {
+        return Optional.ofNullable(bodyValid);
+    }
+
+    /**
+     * @return the {@code ETag} header of the response, or empty if it had none
+     */
+    public Optional<String> getEntityTag() {
+        return Optional.ofNullable(entityTag);
+    }
+
     @Override
     public boolean equals(final Object other) {
         if (this == other) {
@@ -33,12 +75,14 @@ public class HttpHealthResponse {
         }
         final HttpHealthResponse that = (HttpHealthResponse) other;
         return status == that.status
-                && Objects.equals(body, that.body);
+                && Objects.equals(body, that.body)
+                && Objects.equals(bodyValid, that.bodyValid)
+                && Objects.equals(entityTag, that.entityTag);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(status, body);
+        return Objects.hash(status, body, bodyValid, entityTag);
     }
 
     @Override
@@ -46,6 +90,12 @@ public class HttpHealthResponse {
         final StringBuilder sb = new StringBuilder("HttpHealthResponse{");
         sb.append("status=").append(status);
         sb.append(", body='").append(body).append('\'');
+        if (bodyValid != null) {
+            sb.append(", bodyValid=").append(bodyValid);
+        }
+        if (entityTag != null) {
+            sb.append(", entityTag=").append(entityTag);
+        }
         sb.append('}');
         return sb.toString();
     }
@@ -0,0 +1,54 @@
+package io.dropwizard.health.http;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Matches the value at a JSON pointer with a streaming parser, which reads the body in chunks into buffers recycled
+ * by Jackson and stops at the first occurrence of the pointer.
+ */
+class JsonPointerBodyValidator implements ResponseBodyValidator {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonPointer pointer;
+    private final String expectedValue;
+
+    JsonPointerBodyValidator(final String pointer, final String expectedValue) {
+        this.pointer = JsonPointer.compile(requireNonNull(pointer));
+        this.expectedValue = requireNonNull(expectedValue);
+    }
+
+    @Override
+    public boolean isValid(final InputStream body, final Charset charset) throws IOException {
+        try (JsonParser parser = StandardCharsets.UTF_8.equals(charset)
+                ? JSON_FACTORY.createParser(body)
+                : JSON_FACTORY.createParser(new InputStreamReader(body, charset))) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token.isScalarValue() && pointer.equals(parser.getParsingContext().pathAsPointer())) {
+                    return expectedValue.equals(parser.getValueAsString());
+                }
+            }
+            return false;
+        } catch (JsonProcessingException e) {
+            // a body that is not JSON, or is cut off by the size limit, does not contain the value
+            return false;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "JsonPointerBodyValidator{pointer=" + pointer + ", expectedValue='" + expectedValue + "'}";
+    }
+}
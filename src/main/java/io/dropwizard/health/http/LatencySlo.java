@@ -0,0 +1,89 @@
+package io.dropwizard.health.http;
+
+import com.google.common.base.Preconditions;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A service level objective for the response time of a dependency: the 95th and/or 99th percentile of the latencies
+ * observed within a sliding window must not exceed their thresholds. The objective is only evaluated once the window
+ * holds a minimum number of samples, so that a single slow probe after a restart does not fail the check.
+ */
+public final class LatencySlo {
+    @Nonnull
+    private final Duration window;
+    private final int minSamples;
+    @Nullable
+    private final Duration p95;
+    @Nullable
+    private final Duration p99;
+
+    /**
+     * @param window     the time window of the latencies to consider
+     * @param minSamples the minimum number of latencies within the window to evaluate the objective
+     * @param p95        the maximum 95th percentile latency, or {@code null} to not limit it
+     * @param p99        the maximum 99th percentile latency, or {@code null} to not limit it
+     */
+    public LatencySlo(@Nonnull final Duration window, final int minSamples, @Nullable final Duration p95,
+                      @Nullable final Duration p99) {
+        this.window = Objects.requireNonNull(window);
+        Preconditions.checkState(window.toMillis() > 0L, "window must be positive.");
+        Preconditions.checkState(minSamples > 0, "minSamples must be positive.");
+        Preconditions.checkState(p95 != null || p99 != null, "At least one percentile must be limited.");
+        this.minSamples = minSamples;
+        this.p95 = p95;
+        this.p99 = p99;
+    }
+
+    @Nonnull
+    public Duration getWindow() {
+        return window;
+    }
+
+    public int getMinSamples() {
+        return minSamples;
+    }
+
+    public Optional<Duration> getP95() {
+        return Optional.ofNullable(p95);
+    }
+
+    public Optional<Duration> getP99() {
+        return Optional.ofNullable(p99);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof LatencySlo)) {
+            return false;
+        }
+        final LatencySlo that = (LatencySlo) other;
+        return minSamples == that.minSamples
+                && window.equals(that.window)
+                && Objects.equals(p95, that.p95)
+                && Objects.equals(p99, that.p99);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(window, minSamples, p95, p99);
+    }
+
+    @Override
+    public String toString() {
+        return "LatencySlo{"
+                + "window=" + window
+                + ", minSamples=" + minSamples
+                + ", p95=" + p95
+                + ", p99=" + p99
+                + '}';
+    }
+}
@@ -0,0 +1,88 @@
+package io.dropwizard.health.http;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import javax.annotation.Nonnull;
+
+/**
+ * An {@link HttpHealthCheck} that is also unhealthy while the dependency is too slow: the latency of every probe,
+ * including probes that fail, is recorded in a {@link SlidingLatencyHistogram}, and the check fails once the
+ * percentiles within the window exceed the {@link LatencySlo}. This allows traffic to be routed away from a slow
+ * dependency before it starts to fail requests.
+ *
+ * The percentiles and the number of samples are reported as details of the result, whether the objective is met or not.
+ */
+public class LatencySloHttpHealthCheck extends HttpHealthCheck {
+    private static final Logger log = LoggerFactory.getLogger(LatencySloHttpHealthCheck.class);
+
+    @Nonnull
+    private final String url;
+    @Nonnull
+    private final LatencySlo slo;
+    private final LongSupplier nanoClock;
+    private final SlidingLatencyHistogram histogram;
+
+    /**
+     * @param builder the options of the HTTP check, e.g. {@code HttpHealthCheck.builder(url).client(client)}
+     * @param slo     the latency objective
+     */
+    public LatencySloHttpHealthCheck(@Nonnull final HttpHealthCheck.Builder builder, @Nonnull final LatencySlo slo) {
+        this(builder, slo, System::nanoTime);
+    }
+
+    LatencySloHttpHealthCheck(final HttpHealthCheck.Builder builder, final LatencySlo slo,
+                              final LongSupplier nanoClock) {
+        super(builder);
+        this.url = builder.getUrl();
+        this.slo = Objects.requireNonNull(slo);
+        this.nanoClock = Objects.requireNonNull(nanoClock);
+        this.histogram = new SlidingLatencyHistogram(slo.getWindow().toNanos());
+    }
+
+    @Override
+    protected Result check() {
+        final Result result = super.check();
+        final SlidingLatencyHistogram.Percentiles percentiles = histogram.percentiles(nanoClock.getAsLong());
+        final boolean evaluated = percentiles.getSamples() >= slo.getMinSamples();
+        final boolean exceeded = evaluated && (exceeds(percentiles.getP95Nanos(), slo.getP95().orElse(null))
+                || exceeds(percentiles.getP99Nanos(), slo.getP99().orElse(null)));
+
+        final ResultBuilder builder = Result.builder()
+                .withDetail("samples", percentiles.getSamples())
+                .withDetail("p95Millis", TimeUnit.NANOSECONDS.toMillis(percentiles.getP95Nanos()))
+                .withDetail("p99Millis", TimeUnit.NANOSECONDS.toMillis(percentiles.getP99Nanos()));
+        if (!result.isHealthy()) {
+            return builder.unhealthy().withMessage(result.getMessage()).build();
+        }
+        if (exceeded) {
+            log.debug("Health check against url={} exceeded its latency objective: slo={}", url, slo);
+            return builder.unhealthy()
+                    .withMessage("Http health check against url=%s exceeded slo=%s: p95=%dms, p99=%dms", url, slo,
+                            TimeUnit.NANOSECONDS.toMillis(percentiles.getP95Nanos()),
+                            TimeUnit.NANOSECONDS.toMillis(percentiles.getP99Nanos()))
+                    .build();
+        }
+        return builder.healthy().build();
+    }
+
+    @Override
+    protected HttpHealthResponse httpCheck(final String url) {
+        final long start = nanoClock.getAsLong();
+        try {
+            return super.httpCheck(url);
+        } finally {
+            final long now = nanoClock.getAsLong();
+            histogram.record(now, now - start);
+        }
+    }
+
+    private static boolean exceeds(final long latencyNanos, final Duration threshold) {
+        return threshold != null && latencyNanos > threshold.toNanos();
+    }
+}
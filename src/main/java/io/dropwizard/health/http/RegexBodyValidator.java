@@ -0,0 +1,93 @@
+package io.dropwizard.health.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Finds a pattern in the body by scanning it in chunks, through a window that keeps the tail of the previous chunk,
+ * so that matches spanning two chunks are found as long as they are at most {@value #OVERLAP} characters long. The
+ * character buffer is reused by each thread, and scanning stops at the first match.
+ */
+class RegexBodyValidator implements ResponseBodyValidator {
+    static final int CHUNK = 4096;
+    static final int OVERLAP = 1024;
+    private static final ThreadLocal<char[]> BUFFERS = ThreadLocal.withInitial(() -> new char[OVERLAP + CHUNK]);
+
+    private final Pattern pattern;
+
+    RegexBodyValidator(final Pattern pattern) {
+        this.pattern = requireNonNull(pattern);
+    }
+
+    @Override
+    public boolean isValid(final InputStream body, final Charset charset) throws IOException {
+        final char[] buffer = BUFFERS.get();
+        final Reader reader = new InputStreamReader(body, charset);
+        final WindowSequence window = new WindowSequence(buffer);
+        final Matcher matcher = pattern.matcher(window);
+        int length = 0;
+        int read;
+        while ((read = reader.read(buffer, length, buffer.length - length)) != -1) {
+            length += read;
+            if (length < buffer.length) {
+                // fill the window before matching, unless the body ends first
+                continue;
+            }
+            window.length = length;
+            if (matcher.reset().find()) {
+                return true;
+            }
+            System.arraycopy(buffer, length - OVERLAP, buffer, 0, OVERLAP);
+            length = OVERLAP;
+        }
+        window.length = length;
+        return matcher.reset().find();
+    }
+
+    @Override
+    public String toString() {
+        return "RegexBodyValidator{pattern=" + pattern + '}';
+    }
+
+    /**
+     * A view of the filled part of the buffer, to match without copying the characters into a string.
+     */
+    private static class WindowSequence implements CharSequence {
+        private final char[] buffer;
+        private int length;
+
+        private WindowSequence(final char[] buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(final int index) {
+            if (index >= length) {
+                throw new IndexOutOfBoundsException(Integer.toString(index));
+            }
+            return buffer[index];
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            return new String(buffer, start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(buffer, 0, length);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package io.dropwizard.health.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.regex.Pattern;
+
+/**
+ * Validates the body of an HTTP health check response while it is streamed, so that the body never has to be held
+ * in memory as a whole. Implementations should stop reading as soon as they reach a decision; the rest of the body
+ * is discarded.
+ */
+@FunctionalInterface
+public interface ResponseBodyValidator {
+    /**
+     * @param body    the response body, limited to the maximum body size of the health check
+     * @param charset the charset of the body, from the content type of the response or UTF-8
+     * @return whether the body is valid
+     * @throws IOException if reading the body fails
+     */
+    boolean isValid(InputStream body, Charset charset) throws IOException;
+
+    /**
+     * Creates a validator that accepts a JSON body if the value at the given JSON pointer (e.g. {@code /status})
+     * equals the expected value. Scalar values are compared by their text, e.g. {@code true} or {@code 42}.
+     *
+     * @param pointer       the JSON pointer to the value
+     * @param expectedValue the expected text of the value
+     * @return the validator
+     */
+    static ResponseBodyValidator jsonPointer(final String pointer, final String expectedValue) {
+        return new JsonPointerBodyValidator(pointer, expectedValue);
+    }
+
+    /**
+     * Creates a validator that accepts a body if the pattern is found in it.
+     *
+     * @param pattern the pattern to find
+     * @return the validator
+     */
+    static ResponseBodyValidator regex(final Pattern pattern) {
+        return new RegexBodyValidator(pattern);
+    }
+}
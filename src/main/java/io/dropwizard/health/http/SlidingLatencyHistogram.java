@@ -0,0 +1,123 @@
+package io.dropwizard.health.http;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A histogram of latencies over a sliding time window, kept in primitive arrays. The window is split into
+ * {@value #SLOTS} slots; each slot counts the latencies recorded during its part of the window into fixed,
+ * geometrically growing buckets (four per power of two, from {@value #MIN_MICROS} microseconds), and the oldest slot
+ * is reset when the window moves on. Percentiles are therefore accurate to about 19%, bounded by the largest latency
+ * recorded within the window, and recording never allocates.
+ */
+class SlidingLatencyHistogram {
+    static final int SLOTS = 10;
+    static final long MIN_MICROS = 100L;
+    private static final int BUCKETS_PER_DOUBLING = 4;
+    private static final long[] UPPER_BOUNDS_NANOS = upperBounds(TimeUnit.MINUTES.toNanos(2));
+
+    private final long slotNanos;
+    private final long[][] counts = new long[SLOTS][UPPER_BOUNDS_NANOS.length + 1];
+    private final long[] slotIds = new long[SLOTS];
+    private final long[] slotMaxNanos = new long[SLOTS];
+    private final long[] merged = new long[UPPER_BOUNDS_NANOS.length + 1];
+
+    SlidingLatencyHistogram(final long windowNanos) {
+        this.slotNanos = Math.max(1L, windowNanos / SLOTS);
+        Arrays.fill(slotIds, Long.MIN_VALUE);
+    }
+
+    synchronized void record(final long nowNanos, final long latencyNanos) {
+        final int slot = currentSlot(nowNanos);
+        counts[slot][bucketOf(latencyNanos)]++;
+        slotMaxNanos[slot] = Math.max(slotMaxNanos[slot], latencyNanos);
+    }
+
+    /**
+     * @param nowNanos the current time
+     * @return the percentiles of the latencies recorded within the window
+     */
+    synchronized Percentiles percentiles(final long nowNanos) {
+        final long currentId = Math.floorDiv(nowNanos, slotNanos);
+        Arrays.fill(merged, 0L);
+        long samples = 0L;
+        long maxNanos = 0L;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            if (slotIds[slot] > currentId - SLOTS && slotIds[slot] <= currentId) {
+                for (int bucket = 0; bucket < merged.length; bucket++) {
+                    merged[bucket] += counts[slot][bucket];
+                    samples += counts[slot][bucket];
+                }
+                maxNanos = Math.max(maxNanos, slotMaxNanos[slot]);
+            }
+        }
+        return new Percentiles(samples, percentile(0.95, samples, maxNanos), percentile(0.99, samples, maxNanos));
+    }
+
+    private int currentSlot(final long nowNanos) {
+        final long id = Math.floorDiv(nowNanos, slotNanos);
+        final int slot = (int) Math.floorMod(id, (long) SLOTS);
+        if (slotIds[slot] != id) {
+            slotIds[slot] = id;
+            Arrays.fill(counts[slot], 0L);
+            slotMaxNanos[slot] = 0L;
+        }
+        return slot;
+    }
+
+    private long percentile(final double quantile, final long samples, final long maxNanos) {
+        if (samples == 0L) {
+            return 0L;
+        }
+        final long rank = (long) Math.ceil(quantile * samples);
+        long cumulative = 0L;
+        for (int bucket = 0; bucket < merged.length; bucket++) {
+            cumulative += merged[bucket];
+            if (cumulative >= rank) {
+                return bucket < UPPER_BOUNDS_NANOS.length ? Math.min(UPPER_BOUNDS_NANOS[bucket], maxNanos) : maxNanos;
+            }
+        }
+        return maxNanos;
+    }
+
+    private static int bucketOf(final long latencyNanos) {
+        final int index = Arrays.binarySearch(UPPER_BOUNDS_NANOS, latencyNanos);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private static long[] upperBounds(final long maxNanos) {
+        final double factor = Math.pow(2.0, 1.0 / BUCKETS_PER_DOUBLING);
+        final long[] bounds = new long[128];
+        double bound = TimeUnit.MICROSECONDS.toNanos(MIN_MICROS);
+        int count = 0;
+        while (bound < maxNanos) {
+            bounds[count++] = (long) bound;
+            bound *= factor;
+        }
+        return Arrays.copyOf(bounds, count);
+    }
+
+    static class Percentiles {
+        private final long samples;
+        private final long p95Nanos;
+        private final long p99Nanos;
+
+        Percentiles(final long samples, final long p95Nanos, final long p99Nanos) {
+            this.samples = samples;
+            this.p95Nanos = p95Nanos;
+            this.p99Nanos = p99Nanos;
+        }
+
+        long getSamples() {
+            return samples;
+        }
+
+        long getP95Nanos() {
+            return p95Nanos;
+        }
+
+        long getP99Nanos() {
+            return p99Nanos;
+        }
+    }
+}
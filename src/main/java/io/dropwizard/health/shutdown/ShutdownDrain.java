@@ -0,0 +1,161 @@
+package io.dropwizard.health.shutdown;
+
+import io.dropwizard.util.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+import javax.annotation.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Decides when a delayed shutdown may finish before its wait period is over. Once the shutdown started, the drain is
+ * complete when the instance has answered at least {@code minUnhealthyProbes} health check probes as unhealthy, so
+ * that the load balancer has seen it leave the rotation, and no application requests have been in flight for the
+ * {@code quietPeriod} since then.
+ *
+ * The in-flight requests come from the request statistics of the Jetty server, e.g. its
+ * {@link org.eclipse.jetty.server.handler.StatisticsHandler}, less the probes that are in flight themselves. Only
+ * probes that the statistics count may be subtracted, so probes answered in front of the statistics handler are
+ * reported with {@link #probeAnswered(boolean)} instead. Watch requests, i.e. long polls and event streams of the
+ * health state, are subtracted as well: the statistics count them as active for as long as they are open, but a client
+ * waiting for the state to change holds no work that the shutdown has to wait for. Until the statistics are
+ * available, the drain never completes early and the shutdown waits for the whole wait period.
+ */
+public class ShutdownDrain {
+    private static final Logger log = LoggerFactory.getLogger(ShutdownDrain.class);
+    private static final long MAX_POLL_MILLIS = 50L;
+
+    private final int minUnhealthyProbes;
+    private final long quietPeriodNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger unhealthyProbes = new AtomicInteger();
+    private final AtomicInteger probesInFlight = new AtomicInteger();
+    private final AtomicInteger watchesInFlight = new AtomicInteger();
+    private volatile boolean started = false;
+    @Nullable
+    private volatile IntSupplier activeRequests;
+
+    public ShutdownDrain(final int minUnhealthyProbes, final Duration quietPeriod) {
+        this(minUnhealthyProbes, quietPeriod, System::nanoTime);
+    }
+
+    ShutdownDrain(final int minUnhealthyProbes, final Duration quietPeriod, final LongSupplier nanoClock) {
+        if (minUnhealthyProbes < 0) {
+            throw new IllegalArgumentException("minUnhealthyProbes must not be negative: " + minUnhealthyProbes);
+        }
+        this.minUnhealthyProbes = minUnhealthyProbes;
+        this.quietPeriodNanos = quietPeriod.toNanoseconds();
+        this.nanoClock = requireNonNull(nanoClock);
+    }
+
+    /**
+     * @param activeRequests the number of requests the server is currently handling, including probes
+     */
+    public void setActiveRequests(final IntSupplier activeRequests) {
+        this.activeRequests = requireNonNull(activeRequests);
+    }
+
+    /**
+     * Records that a probe is being answered, which the request statistics count as active while it is.
+     */
+    public void probeStarted() {
+        probesInFlight.incrementAndGet();
+    }
+
+    /**
+     * Records that a probe was answered.
+     *
+     * @param healthy whether the probe was answered as healthy
+     */
+    public void probeFinished(final boolean healthy) {
+        probesInFlight.decrementAndGet();
+        probeAnswered(healthy);
+    }
+
+    /**
+     * Records that a probe was answered that the request statistics do not count, e.g. by a handler in front of
+     * them.
+     *
+     * @param healthy whether the probe was answered as healthy
+     */
+    public void probeAnswered(final boolean healthy) {
+        if (started && !healthy) {
+            unhealthyProbes.incrementAndGet();
+        }
+    }
+
+    /**
+     * Records that a watch request started, which the request statistics count as active until it completes.
+     */
+    public void watchStarted() {
+        watchesInFlight.incrementAndGet();
+    }
+
+    /**
+     * Records that a watch request completed.
+     */
+    public void watchFinished() {
+        watchesInFlight.decrementAndGet();
+    }
+
+    /**
+     * Starts counting the probes that are answered as unhealthy. Called once the instance reports itself unhealthy.
+     */
+    public void start() {
+        started = true;
+    }
+
+    /**
+     * Waits until the drain is complete, or the given time has passed.
+     *
+     * @param maxWait the longest time to wait
+     * @return {@code true} if the drain completed before {@code maxWait} passed
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean await(final Duration maxWait) throws InterruptedException {
+        final long begin = nanoClock.getAsLong();
+        final long deadline = begin + maxWait.toNanoseconds();
+        final long pollMillis = Math.max(1L, Math.min(MAX_POLL_MILLIS,
+                TimeUnit.NANOSECONDS.toMillis(quietPeriodNanos) / 4));
+        long quietSince = Long.MIN_VALUE;
+        boolean quiet = false;
+
+        long now = begin;
+        while (now - deadline < 0) {
+            if (isIdle()) {
+                if (!quiet) {
+                    quiet = true;
+                    quietSince = now;
+                }
+                if (unhealthyProbes.get() >= minUnhealthyProbes && now - quietSince >= quietPeriodNanos) {
+                    log.info("delayed shutdown: drained after {}ms, unhealthy probes={}",
+                            TimeUnit.NANOSECONDS.toMillis(now - begin), unhealthyProbes.get());
+                    return true;
+                }
+            } else {
+                quiet = false;
+            }
+            Thread.sleep(Math.min(pollMillis, Math.max(1L, TimeUnit.NANOSECONDS.toMillis(deadline - now))));
+            now = nanoClock.getAsLong();
+        }
+        return false;
+    }
+
+    /**
+     * @return how many probes were answered as unhealthy since the drain started
+     */
+    public int getUnhealthyProbes() {
+        return unhealthyProbes.get();
+    }
+
+    private boolean isIdle() {
+        final IntSupplier requests = activeRequests;
+        return requests != null && requests.getAsInt() - probesInFlight.get() - watchesInFlight.get() <= 0;
+    }
+}
@@ -0,0 +1,20 @@
+package io.dropwizard.health.tcp;
+
+/**
+ * Which of the addresses that a host resolves to a {@link TcpHealthCheck} probes, and which of them must be
+ * reachable for the check to be healthy.
+ */
+public enum AddressMode {
+    /**
+     * Probe only the first address, which must be reachable.
+     */
+    FIRST,
+    /**
+     * Probe every address in parallel; the check is healthy if any of them is reachable.
+     */
+    ANY,
+    /**
+     * Probe every address in parallel; the check is healthy only if all of them are reachable.
+     */
+    ALL
+}
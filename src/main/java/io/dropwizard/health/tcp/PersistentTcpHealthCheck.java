@@ -0,0 +1,244 @@
+package io.dropwizard.health.tcp;
+
+import com.codahale.metrics.health.HealthCheck;
+import com.google.common.base.Preconditions;
+import io.dropwizard.health.dns.CachingResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketOption;
+import java.net.StandardSocketOptions;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A TCP health check that keeps one connection to the dependency open between runs, instead of opening and closing a
+ * connection on every run, which leaves a socket in {@code TIME_WAIT} behind each time.
+ *
+ * Each run probes the open connection with a non-blocking read, which returns immediately: end of stream or an
+ * error means that the connection is gone, while no data or unsolicited data means that it is still open. If a
+ * {@link TcpPing} is configured, it is exchanged over the connection as well. Only when the connection is gone or the
+ * ping fails does the check reconnect; the check is unhealthy if that fails too.
+ *
+ * Without a ping, a peer that went away silently, e.g. a powered-off host or a dropped route, is only noticed once
+ * TCP keepalive gives up on the connection. Where the JVM supports it, keepalive probes start after
+ * {@value #KEEPALIVE_IDLE_SECONDS} seconds of silence and give up after {@value #KEEPALIVE_COUNT} unanswered probes
+ * {@value #KEEPALIVE_INTERVAL_SECONDS} seconds apart; elsewhere the operating system defaults apply, which are often
+ * longer than two hours. To bound that window, a connection without a ping is replaced once it is older than
+ * {@code maxIdle}, so a dead peer is reported at the latest after {@code maxIdle} plus one check interval.
+ *
+ * The connection is closed by {@link #close()}; health checks declared in the configuration are closed when the
+ * application stops.
+ */
+public class PersistentTcpHealthCheck extends HealthCheck implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(PersistentTcpHealthCheck.class);
+    private static final Duration DEFAULT_CONNECTION_TIMEOUT = Duration.ofSeconds(2);
+    private static final Duration DEFAULT_MAX_IDLE = Duration.ofMinutes(1);
+    private static final int KEEPALIVE_IDLE_SECONDS = 10;
+    private static final int KEEPALIVE_INTERVAL_SECONDS = 5;
+    private static final int KEEPALIVE_COUNT = 3;
+    // extended socket options of Java 11 and later, looked up so that the check still runs on Java 8
+    @Nullable
+    private static final SocketOption<Integer> TCP_KEEPIDLE = extendedSocketOption("TCP_KEEPIDLE");
+    @Nullable
+    private static final SocketOption<Integer> TCP_KEEPINTERVAL = extendedSocketOption("TCP_KEEPINTERVAL");
+    @Nullable
+    private static final SocketOption<Integer> TCP_KEEPCOUNT = extendedSocketOption("TCP_KEEPCOUNT");
+
+    @Nonnull
+    private final String host;
+    private final int port;
+    private final Duration connectionTimeout;
+    @Nullable
+    private final CachingResolver resolver;
+    @Nullable
+    private final TcpPing ping;
+    private final Duration maxIdle;
+    // drains unsolicited data, e.g. banners, without allocating on every run
+    private final ByteBuffer drain = ByteBuffer.allocateDirect(256);
+    @Nullable
+    private SocketChannel channel;
+    private long connects = 0L;
+    private long connectedAtNanos = 0L;
+
+    public PersistentTcpHealthCheck(@Nonnull final String host, final int port) {
+        this(host, port, DEFAULT_CONNECTION_TIMEOUT, null, null);
+    }
+
+    /**
+     * @param host              the host to check
+     * @param port              the port to check
+     * @param connectionTimeout the timeout of connecting and of the ping
+     * @param resolver          the resolver to look up the host with, or {@code null} to resolve it on every connect
+     * @param ping              the exchange to verify the connection with, or {@code null} to only check that it
+     *                          is open
+     */
+    public PersistentTcpHealthCheck(@Nonnull final String host,
+                                    final int port,
+                                    final Duration connectionTimeout,
+                                    @Nullable final CachingResolver resolver,
+                                    @Nullable final TcpPing ping) {
+        this(host, port, connectionTimeout, resolver, ping, DEFAULT_MAX_IDLE);
+    }
+
+    /**
+     * @param host              the host to check
+     * @param port              the port to check
+     * @param connectionTimeout the timeout of connecting and of the ping
+     * @param resolver          the resolver to look up the host with, or {@code null} to resolve it on every connect
+     * @param ping              the exchange to verify the connection with, or {@code null} to only check that it
+     *                          is open
+     * @param maxIdle           how long a connection without a ping is kept before it is replaced, which bounds how
+     *                          long a peer that went away silently goes unnoticed
+     */
+    public PersistentTcpHealthCheck(@Nonnull final String host,
+                                    final int port,
+                                    final Duration connectionTimeout,
+                                    @Nullable final CachingResolver resolver,
+                                    @Nullable final TcpPing ping,
+                                    final Duration maxIdle) {
+        this.host = Objects.requireNonNull(host);
+        this.port = port;
+        Preconditions.checkState(!connectionTimeout.isNegative(), "connectionTimeout must be a non-negative value.");
+        Preconditions.checkState(connectionTimeout.toMillis() <= Integer.MAX_VALUE,
+                "Cannot configure a connectionTimeout greater than the max integer value");
+        this.connectionTimeout = connectionTimeout;
+        this.resolver = resolver;
+        this.ping = ping;
+        Preconditions.checkState(!maxIdle.isNegative() && !maxIdle.isZero(), "maxIdle must be a positive value.");
+        this.maxIdle = maxIdle;
+    }
+
+    @Override
+    protected synchronized Result check() throws IOException {
+        if (channel != null && ping == null && System.nanoTime() - connectedAtNanos >= maxIdle.toNanos()) {
+            // nothing is sent over the connection, so only a new connection shows that the peer is still there
+            log.debug("Replacing idle connection of health check against url={}:{}", host, port);
+            closeChannel();
+        }
+        if (channel != null) {
+            try {
+                if (isAlive(channel)) {
+                    log.debug("Health check against url={}:{} successful over open connection", host, port);
+                    return result(true, "connection open");
+                }
+                log.debug("Connection of health check against url={}:{} was closed by the peer", host, port);
+            } catch (IOException e) {
+                log.debug("Connection of health check against url={}:{} failed", host, port, e);
+            }
+            closeChannel();
+        }
+
+        channel = connect();
+        final boolean answered;
+        try {
+            answered = ping == null || ping.ping(channel, connectionTimeout);
+        } catch (IOException e) {
+            closeChannel();
+            throw e;
+        }
+        if (!answered) {
+            closeChannel();
+            log.debug("Health check against url={}:{} failed: unexpected ping response", host, port);
+            return result(false, "TCP health check against host=%s port=%s failed: unexpected ping response");
+        }
+        log.debug("Health check against url={}:{} successful after connecting", host, port);
+        return result(true, "connected");
+    }
+
+    /**
+     * @return how often the check connected to the dependency
+     */
+    public synchronized long getConnects() {
+        return connects;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            closeChannel();
+        } finally {
+            if (ping instanceof Closeable) {
+                ((Closeable) ping).close();
+            }
+        }
+    }
+
+    private boolean isAlive(final SocketChannel open) throws IOException {
+        int read;
+        do {
+            drain.clear();
+            read = open.read(drain);
+        } while (read > 0);
+        return read == 0 && (ping == null || ping.ping(open, connectionTimeout));
+    }
+
+    private SocketChannel connect() throws IOException {
+        final InetSocketAddress address = resolver == null
+                ? new InetSocketAddress(host, port)
+                : new InetSocketAddress(resolver.resolve(host)[0], port);
+        if (address.isUnresolved()) {
+            throw new UnknownHostException(host);
+        }
+        final SocketChannel opened = SocketChannel.open();
+        try {
+            opened.setOption(StandardSocketOptions.SO_KEEPALIVE, true);
+            setIfSupported(opened, TCP_KEEPIDLE, KEEPALIVE_IDLE_SECONDS);
+            setIfSupported(opened, TCP_KEEPINTERVAL, KEEPALIVE_INTERVAL_SECONDS);
+            setIfSupported(opened, TCP_KEEPCOUNT, KEEPALIVE_COUNT);
+            opened.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            // the socket adaptor connects with a timeout, which the channel itself cannot do in blocking mode
+            opened.socket().connect(address, (int) connectionTimeout.toMillis());
+            opened.configureBlocking(false);
+        } catch (IOException e) {
+            opened.close();
+            throw e;
+        }
+        connects++;
+        connectedAtNanos = System.nanoTime();
+        return opened;
+    }
+
+    private static void setIfSupported(final SocketChannel opened, @Nullable final SocketOption<Integer> option,
+                                       final int value) throws IOException {
+        if (option != null && opened.supportedOptions().contains(option)) {
+            opened.setOption(option, value);
+        }
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private static SocketOption<Integer> extendedSocketOption(final String name) {
+        try {
+            return (SocketOption<Integer>) Class.forName("jdk.net.ExtendedSocketOptions").getField(name).get(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            try {
+                channel.close();
+            } finally {
+                channel = null;
+            }
+        }
+    }
+
+    private Result result(final boolean healthy, final String message) {
+        final ResultBuilder builder = Result.builder().withDetail("connects", connects);
+        return healthy
+                ? builder.healthy().withMessage(message).build()
+                : builder.unhealthy().withMessage(message, host, port).build();
+    }
+}
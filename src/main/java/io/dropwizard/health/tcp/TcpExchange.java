@@ -0,0 +1,265 @@
+package io.dropwizard.health.tcp;
+
+import com.google.common.base.Preconditions;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+
+/**
+ * Sends a request over a connection and checks that the response starts with the expected bytes or contains a match
+ * of a pattern, so that a TCP health check verifies that a dependency actually serves its protocol, e.g.
+ * {@link #redisPing()}. At most a bounded number of bytes of the response is read.
+ *
+ * The request and response buffers are direct buffers that are allocated once and reused by every exchange, and
+ * patterns are matched against a view of the response buffer, so an exchange does not allocate. Exchanges of the same
+ * instance are therefore serialized. The selector used to wait for the connection is opened with the first exchange
+ * and closed by {@link #close()}.
+ */
+public class TcpExchange implements TcpPing, Closeable {
+    static final int DEFAULT_MAX_RESPONSE_BYTES = 256;
+
+    /**
+     * Built-in exchanges for common dependencies.
+     */
+    public enum Preset {
+        /**
+         * @see #redisPing()
+         */
+        REDIS,
+        /**
+         * @see #memcachedVersion()
+         */
+        MEMCACHED,
+        /**
+         * @see #smtpGreeting()
+         */
+        SMTP;
+
+        public TcpExchange create() {
+            switch (this) {
+                case REDIS:
+                    return redisPing();
+                case MEMCACHED:
+                    return memcachedVersion();
+                default:
+                    return smtpGreeting();
+            }
+        }
+    }
+
+    @Nullable
+    private final ByteBuffer request;
+    @Nullable
+    private final byte[] expectedPrefix;
+    @Nullable
+    private final Matcher matcher;
+    private final ByteBuffer response;
+    private final ResponseView responseView;
+    @Nullable
+    private Selector selector;
+
+    private TcpExchange(@Nullable final byte[] request, @Nullable final byte[] expectedPrefix,
+                        @Nullable final Pattern pattern, final int maxResponseBytes) {
+        Preconditions.checkState(maxResponseBytes > 0, "maxResponseBytes must be positive.");
+        Preconditions.checkState(expectedPrefix == null || expectedPrefix.length <= maxResponseBytes,
+                "The expected response is longer than maxResponseBytes.");
+        this.request = request == null || request.length == 0 ? null : directBuffer(request);
+        this.expectedPrefix = expectedPrefix == null ? null : expectedPrefix.clone();
+        this.response = ByteBuffer.allocateDirect(maxResponseBytes);
+        this.responseView = new ResponseView(response);
+        this.matcher = pattern == null ? null : pattern.matcher(responseView);
+    }
+
+    /**
+     * @param request          the bytes to send, or an empty array to only read, e.g. a greeting
+     * @param expectedPrefix   the bytes that the response must start with
+     * @return an exchange that expects the response to start with the given bytes
+     */
+    public static TcpExchange expectBytes(final byte[] request, final byte[] expectedPrefix) {
+        return new TcpExchange(Objects.requireNonNull(request), Objects.requireNonNull(expectedPrefix), null,
+                Math.max(DEFAULT_MAX_RESPONSE_BYTES, expectedPrefix.length));
+    }
+
+    /**
+     * @param request          the bytes to send, or an empty array to only read, e.g. a greeting
+     * @param pattern          the pattern to find in the response, which is decoded as ISO-8859-1
+     * @param maxResponseBytes the maximum number of bytes of the response to read
+     * @return an exchange that expects a match of the pattern within the first bytes of the response
+     */
+    public static TcpExchange expectPattern(final byte[] request, final Pattern pattern, final int maxResponseBytes) {
+        return new TcpExchange(Objects.requireNonNull(request), null, Objects.requireNonNull(pattern),
+                maxResponseBytes);
+    }
+
+    /**
+     * @return an exchange that sends a Redis {@code PING} and expects {@code +PONG}
+     */
+    public static TcpExchange redisPing() {
+        return expectBytes(ascii("PING\r\n"), ascii("+PONG"));
+    }
+
+    /**
+     * @return an exchange that sends a memcached {@code version} command and expects a {@code VERSION} response
+     */
+    public static TcpExchange memcachedVersion() {
+        return expectBytes(ascii("version\r\n"), ascii("VERSION "));
+    }
+
+    /**
+     * @return an exchange that only reads the greeting of an SMTP server and expects it to be ready ({@code 220})
+     */
+    public static TcpExchange smtpGreeting() {
+        return expectBytes(new byte[0], ascii("220"));
+    }
+
+    @Override
+    public synchronized boolean ping(final SocketChannel channel, final Duration timeout) throws IOException {
+        final long deadline = System.nanoTime() + timeout.toNanos();
+        final Selector current = selector();
+        final SelectionKey key = channel.register(current, 0);
+        try {
+            if (request != null) {
+                request.rewind();
+                while (request.hasRemaining()) {
+                    if (channel.write(request) == 0) {
+                        await(current, key, SelectionKey.OP_WRITE, deadline);
+                    }
+                }
+            }
+
+            response.clear();
+            while (true) {
+                final int read = channel.read(response);
+                if (read < 0 || !response.hasRemaining()) {
+                    return matches();
+                }
+                if (read > 0) {
+                    final Boolean decided = decide();
+                    if (decided != null) {
+                        return decided;
+                    }
+                } else {
+                    await(current, key, SelectionKey.OP_READ, deadline);
+                }
+            }
+        } finally {
+            key.cancel();
+            // deregister the channel now, so that it can be switched back to blocking mode or registered elsewhere
+            current.selectNow();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (selector != null) {
+            selector.close();
+            selector = null;
+        }
+    }
+
+    private Selector selector() throws IOException {
+        if (selector == null) {
+            selector = Selector.open();
+        }
+        return selector;
+    }
+
+    private static void await(final Selector selector, final SelectionKey key, final int operation,
+                              final long deadline) throws IOException {
+        final long remainingMillis = (deadline - System.nanoTime()) / 1_000_000L;
+        if (remainingMillis <= 0L) {
+            throw new SocketTimeoutException("No expected response within the timeout");
+        }
+        key.interestOps(operation);
+        selector.select(remainingMillis);
+        selector.selectedKeys().clear();
+    }
+
+    /**
+     * @return the outcome if it is decided by the bytes read so far, or {@code null} if more bytes are needed
+     */
+    @Nullable
+    private Boolean decide() {
+        if (expectedPrefix != null) {
+            final int length = Math.min(response.position(), expectedPrefix.length);
+            for (int i = 0; i < length; i++) {
+                if (response.get(i) != expectedPrefix[i]) {
+                    return false;
+                }
+            }
+            return response.position() >= expectedPrefix.length ? Boolean.TRUE : null;
+        }
+        responseView.length = response.position();
+        return Objects.requireNonNull(matcher).reset().find() ? Boolean.TRUE : null;
+    }
+
+    private boolean matches() {
+        final Boolean decided = decide();
+        return decided != null && decided;
+    }
+
+    private static ByteBuffer directBuffer(final byte[] bytes) {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        return buffer;
+    }
+
+    private static byte[] ascii(final String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * The bytes read into the response buffer so far, as ISO-8859-1 characters.
+     */
+    private static class ResponseView implements CharSequence {
+        private final ByteBuffer buffer;
+        private final int offset;
+        private int length;
+
+        private ResponseView(final ByteBuffer buffer) {
+            this(buffer, 0, 0);
+        }
+
+        private ResponseView(final ByteBuffer buffer, final int offset, final int length) {
+            this.buffer = buffer;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(final int index) {
+            return (char) (buffer.get(offset + index) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            return new ResponseView(buffer, offset + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder sb = new StringBuilder(length);
+            for (int i = 0; i < length; i++) {
+                sb.append(charAt(i));
+            }
+            return sb.toString();
+        }
+    }
+}
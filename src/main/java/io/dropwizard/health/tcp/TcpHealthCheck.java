@@ -3,18 +3,30 @@ package io.dropwizard.health.tcp;
 import com.codahale.metrics.health.HealthCheck;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import io.dropwizard.health.dns.CachingResolver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.net.UnknownHostException;
+import java.nio.channels.SocketChannel;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
-public class TcpHealthCheck extends HealthCheck {
+public class TcpHealthCheck extends HealthCheck implements Closeable {
     private static final Logger log = LoggerFactory.getLogger(TcpHealthCheck.class);
 
     private static final Duration DEFAULT_CONNECTION_TIMEOUT = Duration.ofSeconds(2);
@@ -23,6 +35,14 @@ public class TcpHealthCheck extends HealthCheck {
     private final String host;
     private final int port;
     private final Duration connectionTimeout;
+    @Nullable
+    private final TcpProbeEngine probeEngine;
+    @Nullable
+    private final CachingResolver resolver;
+    @Nonnull
+    private final AddressMode addressMode;
+    @Nullable
+    private final TcpPing exchange;
 
     public TcpHealthCheck(@Nonnull final String host,
                           final int port) {
@@ -32,16 +52,53 @@ public class TcpHealthCheck extends HealthCheck {
     public TcpHealthCheck(@Nonnull final String host,
                           final int port,
                           final Duration connectionTimeout) {
-        this.host = Objects.requireNonNull(host);
-        this.port = port;
-        Preconditions.checkState(!connectionTimeout.isNegative(), "connectionTimeout must be a non-negative value.");
-        Preconditions.checkState(connectionTimeout.toMillis() <= Integer.MAX_VALUE,
-                "Cannot configure a connectionTimeout greater than the max integer value");
-        this.connectionTimeout = connectionTimeout;
+        this(builder(host, port).connectionTimeout(connectionTimeout));
+    }
+
+    /**
+     * Creates a check that connects through the given engine, e.g. the shared engine of
+     * {@link io.dropwizard.health.core.HealthCheckResources#getTcpProbeEngine()}, instead of blocking a thread for
+     * each connect.
+     *
+     * @param host              the host to check
+     * @param port              the port to check
+     * @param connectionTimeout the connection timeout
+     * @param probeEngine       the engine to connect with, or {@code null} to connect with a blocking socket
+     */
+    public TcpHealthCheck(@Nonnull final String host,
+                          final int port,
+                          final Duration connectionTimeout,
+                          @Nullable final TcpProbeEngine probeEngine) {
+        this(probeEngine == null
+                ? builder(host, port).connectionTimeout(connectionTimeout)
+                : builder(host, port).connectionTimeout(connectionTimeout).probeEngine(probeEngine));
+    }
+
+    protected TcpHealthCheck(final Builder builder) {
+        this.host = Objects.requireNonNull(builder.host);
+        this.port = builder.port;
+        this.connectionTimeout = builder.connectionTimeout;
+        this.probeEngine = builder.probeEngine;
+        this.resolver = builder.resolver;
+        this.addressMode = builder.addressMode;
+        this.exchange = builder.exchange;
+    }
+
+    /**
+     * @param host the host to check
+     * @param port the port to check
+     * @return a builder for a check with more options than the constructors offer
+     */
+    public static Builder builder(@Nonnull final String host, final int port) {
+        return new Builder(host, port);
     }
 
     @Override
     protected Result check() throws IOException {
+        if (addressMode != AddressMode.FIRST) {
+            return summarize(probeAll(resolveAll()));
+        }
+
         final boolean isHealthy = tcpCheck(host, port);
 
         if (isHealthy) {
@@ -53,22 +110,270 @@ public class TcpHealthCheck extends HealthCheck {
         return Result.unhealthy("TCP health check against host=%s port=%s failed", host, port);
     }
 
+    /**
+     * Checks the dependency without blocking the calling thread if the check connects through a
+     * {@link TcpProbeEngine}; otherwise the check runs on the calling thread. Failures to connect complete the stage
+     * with an unhealthy result rather than exceptionally.
+     *
+     * @return a stage completed with the result of the check
+     */
+    public CompletionStage<Result> checkAsync() {
+        if (probeEngine == null) {
+            return CompletableFuture.completedFuture(execute());
+        }
+        final InetAddress[] addresses;
+        try {
+            addresses = resolveAll();
+        } catch (UnknownHostException e) {
+            return CompletableFuture.completedFuture(Result.unhealthy(e));
+        }
+
+        if (addressMode != AddressMode.FIRST) {
+            return probeAllAsync(probeEngine, addresses).thenApply(this::summarize);
+        }
+        return probeEngine.connect(new InetSocketAddress(addresses[0], port), connectionTimeout)
+                .handle((connected, e) -> {
+                    if (e == null) {
+                        log.debug("Health check against url={}:{} successful", host, port);
+                        return Result.healthy();
+                    }
+                    log.debug("Health check against url={}:{} failed", host, port, e);
+                    return Result.unhealthy(e);
+                });
+    }
+
     /**
      * Performs a health check via TCP against an external dependency.
-     * By default uses the Java {@link java.net.Socket} API, but can be overridden to allow for different behavior.
+     * By default uses the Java {@link java.net.Socket} API, or the {@link TcpProbeEngine} if the check has one, but
+     * can be overridden to allow for different behavior. Only used to probe the first address of the host.
+     * If the check has an exchange, it connects on the calling thread and runs the exchange over the connection.
      * @param host the host to check.
      * @param port the port to check.
      * @return whether the check was successful or not.
      */
     protected boolean tcpCheck(final String host, final int port) throws IOException {
+        final InetSocketAddress address = resolver == null
+                ? new InetSocketAddress(host, port)
+                : new InetSocketAddress(resolver.resolve(host)[0], port);
+        if (exchange != null) {
+            return exchangeCheck(exchange, address);
+        }
+        if (probeEngine != null) {
+            if (address.isUnresolved()) {
+                throw new UnknownHostException(host);
+            }
+            awaitConnect(probeEngine, address);
+            return true;
+        }
         try (Socket socket = new Socket()) {
-            socket.connect(new InetSocketAddress(host, port), (int) connectionTimeout.toMillis());
+            socket.connect(address, (int) connectionTimeout.toMillis());
             return socket.isConnected();
         }
     }
 
+    private boolean exchangeCheck(final TcpPing ping, final InetSocketAddress address) throws IOException {
+        try (SocketChannel channel = SocketChannel.open()) {
+            // the socket adaptor connects with a timeout, which the channel itself cannot do in blocking mode
+            channel.socket().connect(address, (int) connectionTimeout.toMillis());
+            channel.configureBlocking(false);
+            return ping.ping(channel, connectionTimeout);
+        }
+    }
+
+    /**
+     * Closes the exchange of the check, if it has one that holds resources.
+     *
+     * @throws IOException if closing the exchange fails
+     */
+    @Override
+    public void close() throws IOException {
+        if (exchange instanceof Closeable) {
+            ((Closeable) exchange).close();
+        }
+    }
+
+    private InetAddress[] resolveAll() throws UnknownHostException {
+        final InetAddress[] addresses = resolver == null ? InetAddress.getAllByName(host) : resolver.resolve(host);
+        if (addresses.length == 0) {
+            throw new UnknownHostException(host);
+        }
+        return addresses;
+    }
+
+    private List<AddressResult> probeAll(final InetAddress[] addresses) throws IOException {
+        if (probeEngine != null) {
+            try {
+                return probeAllAsync(probeEngine, addresses).toCompletableFuture().get();
+            } catch (ExecutionException e) {
+                throw new IOException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while connecting to " + host);
+            }
+        }
+
+        // without an engine the addresses can only be probed one after the other
+        final List<AddressResult> results = new ArrayList<>(addresses.length);
+        for (final InetAddress address : addresses) {
+            try (Socket socket = new Socket()) {
+                socket.connect(new InetSocketAddress(address, port), (int) connectionTimeout.toMillis());
+                results.add(new AddressResult(address, null));
+            } catch (IOException e) {
+                results.add(new AddressResult(address, e));
+            }
+        }
+        return results;
+    }
+
+    private CompletionStage<List<AddressResult>> probeAllAsync(final TcpProbeEngine engine,
+                                                               final InetAddress[] addresses) {
+        final List<CompletableFuture<AddressResult>> probes = new ArrayList<>(addresses.length);
+        for (final InetAddress address : addresses) {
+            probes.add(engine.connect(new InetSocketAddress(address, port), connectionTimeout)
+                    .handle((connected, e) -> new AddressResult(address, e))
+                    .toCompletableFuture());
+        }
+        return CompletableFuture.allOf(probes.toArray(new CompletableFuture<?>[0]))
+                .thenApply(done -> {
+                    final List<AddressResult> results = new ArrayList<>(probes.size());
+                    probes.forEach(probe -> results.add(probe.join()));
+                    return results;
+                });
+    }
+
+    private Result summarize(final List<AddressResult> results) {
+        int reachable = 0;
+        final StringBuilder details = new StringBuilder();
+        for (final AddressResult result : results) {
+            if (details.length() > 0) {
+                details.append(", ");
+            }
+            details.append(result.address.getHostAddress()).append('=');
+            if (result.failure == null) {
+                reachable++;
+                details.append("up");
+            } else {
+                details.append("down (").append(result.failure.getMessage()).append(')');
+            }
+        }
+
+        final boolean healthy = addressMode == AddressMode.ALL ? reachable == results.size() : reachable > 0;
+        if (healthy) {
+            log.debug("Health check against url={}:{} successful: {}", host, port, details);
+            return Result.healthy("TCP health check against host=%s port=%s reached %d of %d addresses: %s", host,
+                    port, reachable, results.size(), details);
+        }
+        log.debug("Health check against url={}:{} failed: {}", host, port, details);
+        return Result.unhealthy("TCP health check against host=%s port=%s reached %d of %d addresses: %s", host, port,
+                reachable, results.size(), details);
+    }
+
+    private void awaitConnect(final TcpProbeEngine engine, final InetSocketAddress address) throws IOException {
+        try {
+            engine.connect(address, connectionTimeout).toCompletableFuture().get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while connecting to " + address);
+        }
+    }
+
     @VisibleForTesting
     Duration getConnectionTimeout() {
         return connectionTimeout;
     }
+
+    private static class AddressResult {
+        private final InetAddress address;
+        @Nullable
+        private final Throwable failure;
+
+        private AddressResult(final InetAddress address, @Nullable final Throwable failure) {
+            this.address = address;
+            this.failure = failure;
+        }
+    }
+
+    /**
+     * Builds {@link TcpHealthCheck}s.
+     */
+    public static class Builder {
+        private final String host;
+        private final int port;
+        private Duration connectionTimeout = DEFAULT_CONNECTION_TIMEOUT;
+        @Nullable
+        private TcpProbeEngine probeEngine;
+        @Nullable
+        private CachingResolver resolver;
+        private AddressMode addressMode = AddressMode.FIRST;
+        @Nullable
+        private TcpPing exchange;
+
+        protected Builder(@Nonnull final String host, final int port) {
+            this.host = Objects.requireNonNull(host);
+            this.port = port;
+        }
+
+        /**
+         * @param connectionTimeout the connection timeout
+         * @return this builder
+         */
+        public Builder connectionTimeout(final Duration connectionTimeout) {
+            Preconditions.checkState(!connectionTimeout.isNegative(),
+                    "connectionTimeout must be a non-negative value.");
+            Preconditions.checkState(connectionTimeout.toMillis() <= Integer.MAX_VALUE,
+                    "Cannot configure a connectionTimeout greater than the max integer value");
+            this.connectionTimeout = connectionTimeout;
+            return this;
+        }
+
+        /**
+         * @param probeEngine the engine to connect with instead of a blocking socket
+         * @return this builder
+         */
+        public Builder probeEngine(@Nonnull final TcpProbeEngine probeEngine) {
+            this.probeEngine = Objects.requireNonNull(probeEngine);
+            return this;
+        }
+
+        /**
+         * @param resolver the resolver to look up the host with, e.g. the shared resolver of
+         *                 {@link io.dropwizard.health.core.HealthCheckResources#getResolver()}
+         * @return this builder
+         */
+        public Builder resolver(@Nonnull final CachingResolver resolver) {
+            this.resolver = Objects.requireNonNull(resolver);
+            return this;
+        }
+
+        /**
+         * @param addressMode which addresses of the host to probe; only the first by default
+         * @return this builder
+         */
+        public Builder addresses(@Nonnull final AddressMode addressMode) {
+            this.addressMode = Objects.requireNonNull(addressMode);
+            return this;
+        }
+
+        /**
+         * @param exchange the exchange to run over each connection to verify that the dependency serves its
+         *                 protocol, e.g. {@link TcpExchange#redisPing()}; only supported with
+         *                 {@link AddressMode#FIRST}
+         * @return this builder
+         */
+        public Builder exchange(@Nonnull final TcpPing exchange) {
+            this.exchange = Objects.requireNonNull(exchange);
+            return this;
+        }
+
+        public TcpHealthCheck build() {
+            Preconditions.checkState(exchange == null || addressMode == AddressMode.FIRST,
+                    "Exchanges are only supported when probing the first address.");
+            return new TcpHealthCheck(this);
+        }
+    }
 }
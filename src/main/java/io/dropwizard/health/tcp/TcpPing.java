@@ -0,0 +1,20 @@
+package io.dropwizard.health.tcp;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+
+/**
+ * An application-level exchange that verifies that a connected dependency is responsive, beyond the connection
+ * being open, e.g. a Redis {@code PING}.
+ */
+@FunctionalInterface
+public interface TcpPing {
+    /**
+     * @param channel the connected channel, in non-blocking mode
+     * @param timeout how long the exchange may take
+     * @return whether the dependency answered as expected
+     * @throws IOException if the exchange fails, e.g. because the connection was closed or timed out
+     */
+    boolean ping(SocketChannel channel, Duration timeout) throws IOException;
+}
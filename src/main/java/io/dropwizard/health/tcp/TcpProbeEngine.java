@@ -0,0 +1,247 @@
+package io.dropwizard.health.tcp;
+
+import io.dropwizard.lifecycle.Managed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.annotation.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Runs the TCP connects of many {@link TcpHealthCheck}s on a single selector thread: every probe opens a
+ * non-blocking {@link SocketChannel}, and the thread completes it once the connection is established, fails, or
+ * its timeout expires. The timeouts are kept in a queue ordered by deadline, which bounds how long the thread
+ * waits for the selector, so thousands of probes in flight cost one thread instead of one thread each. Probes that
+ * complete stay in the queue until they reach its head, which is cheaper than removing them from the middle.
+ *
+ * The thread is started with the first probe, and stopping the engine fails the probes that are still in flight.
+ */
+public class TcpProbeEngine implements Managed {
+    private static final Logger log = LoggerFactory.getLogger(TcpProbeEngine.class);
+
+    private final String name;
+    private final Queue<Probe> pending = new ConcurrentLinkedQueue<>();
+    @Nullable
+    private Selector selector;
+    @Nullable
+    private Thread thread;
+    private boolean stopped = false;
+
+    public TcpProbeEngine(final String name) {
+        this.name = requireNonNull(name);
+    }
+
+    /**
+     * Connects to the address without blocking the calling thread.
+     *
+     * @param address the resolved address to connect to
+     * @param timeout the connection timeout; as for {@link java.net.Socket#connect(java.net.SocketAddress, int)},
+     *                a timeout of less than one millisecond means no timeout
+     * @return a stage that completes once the connection is established, or exceptionally with the
+     * {@link IOException} that failed it, e.g. a {@link SocketTimeoutException}
+     */
+    public CompletionStage<Void> connect(final InetSocketAddress address, final Duration timeout) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        final Selector current;
+        try {
+            // probes are only queued while the engine runs, so that none is left behind when it stops
+            synchronized (this) {
+                current = ensureStarted();
+                pending.add(new Probe(address, timeout.toMillis() > 0L, System.nanoTime() + timeout.toNanos(),
+                        future));
+            }
+        } catch (IOException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+        current.wakeup();
+        return future;
+    }
+
+    @Override
+    public void start() throws Exception {
+        // the selector thread is started with the first probe
+    }
+
+    @Override
+    public void stop() throws Exception {
+        final Thread stopping;
+        synchronized (this) {
+            stopped = true;
+            stopping = thread;
+            if (selector != null) {
+                selector.wakeup();
+            }
+        }
+        if (stopping != null) {
+            stopping.join();
+        }
+    }
+
+    private synchronized Selector ensureStarted() throws IOException {
+        if (stopped) {
+            throw new IOException("The TCP probe engine is stopped");
+        }
+        if (selector == null) {
+            final Selector opened = Selector.open();
+            final Thread started = new Thread(() -> run(opened), name);
+            started.setDaemon(true);
+            started.start();
+            selector = opened;
+            thread = started;
+        }
+        return selector;
+    }
+
+    private synchronized boolean isStopped() {
+        return stopped;
+    }
+
+    private void run(final Selector selector) {
+        final PriorityQueue<Probe> deadlines = new PriorityQueue<>();
+        try {
+            while (!isStopped()) {
+                register(selector, deadlines);
+                final long waitMillis = deadlines.isEmpty()
+                        ? 0L
+                        : Math.max(1L, (deadlines.peek().deadlineNanos - System.nanoTime() + 999_999L) / 1_000_000L);
+                selector.select(waitMillis);
+
+                final Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    final SelectionKey key = keys.next();
+                    keys.remove();
+                    finishConnect(key);
+                }
+                expire(deadlines);
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            log.error("TCP probe engine failed: name={}", name, e);
+        } finally {
+            synchronized (this) {
+                stopped = true;
+            }
+            final IOException stoppedException = new IOException("The TCP probe engine is stopped");
+            Probe probe;
+            while ((probe = pending.poll()) != null) {
+                probe.fail(stoppedException);
+            }
+            // every probe in flight is registered with the selector, including those without a timeout
+            for (final SelectionKey key : selector.keys()) {
+                ((Probe) key.attachment()).fail(stoppedException);
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                log.warn("Failed to close selector of TCP probe engine: name={}", name, e);
+            }
+        }
+    }
+
+    private void register(final Selector selector, final PriorityQueue<Probe> deadlines) {
+        Probe probe;
+        while ((probe = pending.poll()) != null) {
+            try {
+                final SocketChannel channel = SocketChannel.open();
+                probe.channel = channel;
+                channel.configureBlocking(false);
+                if (channel.connect(probe.address)) {
+                    probe.succeed();
+                } else {
+                    channel.register(selector, SelectionKey.OP_CONNECT, probe);
+                    if (probe.timed) {
+                        deadlines.add(probe);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                probe.fail(e);
+            }
+        }
+    }
+
+    private static void finishConnect(final SelectionKey key) {
+        final Probe probe = (Probe) key.attachment();
+        try {
+            // the probe stays registered and keeps its deadline until the connect is finished
+            if (((SocketChannel) key.channel()).finishConnect()) {
+                probe.succeed();
+            }
+        } catch (IOException | RuntimeException e) {
+            probe.fail(e);
+        }
+    }
+
+    private static void expire(final PriorityQueue<Probe> deadlines) {
+        final long now = System.nanoTime();
+        // completed probes are dropped once they reach the head, so that they do not shorten the next select
+        while (!deadlines.isEmpty() && (deadlines.peek().done || deadlines.peek().deadlineNanos - now <= 0L)) {
+            final Probe probe = deadlines.poll();
+            if (!probe.done) {
+                probe.fail(new SocketTimeoutException("connect timed out: " + probe.address));
+            }
+        }
+    }
+
+    private static class Probe implements Comparable<Probe> {
+        private final InetSocketAddress address;
+        private final boolean timed;
+        private final long deadlineNanos;
+        private final CompletableFuture<Void> future;
+        @Nullable
+        private SocketChannel channel;
+        // only accessed by the selector thread
+        private boolean done = false;
+
+        private Probe(final InetSocketAddress address, final boolean timed, final long deadlineNanos,
+                      final CompletableFuture<Void> future) {
+            this.address = address;
+            this.timed = timed;
+            this.deadlineNanos = deadlineNanos;
+            this.future = future;
+        }
+
+        private void succeed() {
+            done = true;
+            close();
+            future.complete(null);
+        }
+
+        private void fail(final Throwable e) {
+            done = true;
+            close();
+            future.completeExceptionally(e);
+        }
+
+        private void close() {
+            if (channel != null) {
+                try {
+                    // closing the channel also cancels its selection key
+                    channel.close();
+                } catch (IOException e) {
+                    log.debug("Failed to close probe channel: address={}", address, e);
+                }
+            }
+        }
+
+        @Override
+        public int compareTo(final Probe other) {
+            return Long.compare(deadlineNanos - other.deadlineNanos, 0L);
+        }
+    }
+}
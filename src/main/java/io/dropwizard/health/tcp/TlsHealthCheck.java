@@ -0,0 +1,337 @@
+package io.dropwizard.health.tcp;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+import com.codahale.metrics.health.HealthCheck;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import io.dropwizard.health.dns.CachingResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.security.GeneralSecurityException;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+
+/**
+ * A health check that performs a TLS handshake with the dependency, so that broken TLS terminators and expired or
+ * soon to expire certificates are noticed. The check is unhealthy if the handshake fails, e.g. because the certificate
+ * is not trusted or does not match the host, or if the certificate chain expires in fewer than
+ * {@code minDaysToExpiry} days. The days until the earliest expiry of the chain are reported as a detail of the result
+ * and as the {@code days-to-expiry} gauge of {@link #getMetrics()}.
+ *
+ * A full handshake costs both ends a key exchange and a signature verification. The check therefore keeps its own
+ * {@link SSLContext}, whose session cache lets repeated runs resume the session of a previous run with an abbreviated
+ * handshake. With TLS 1.3 the server sends the ticket to resume with after the handshake, so the check half-closes
+ * the connection and briefly waits for the server to close its side before closing the socket.
+ */
+public class TlsHealthCheck extends HealthCheck implements MetricSet {
+    private static final Logger log = LoggerFactory.getLogger(TlsHealthCheck.class);
+
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(2);
+    private static final int DEFAULT_MIN_DAYS_TO_EXPIRY = 14;
+    private static final Duration DEFAULT_SESSION_TIMEOUT = Duration.ofHours(1);
+    // bounds how long a run waits for session tickets after the handshake
+    private static final int TICKET_WAIT_MILLIS = 250;
+    private static final int SESSION_CACHE_SIZE = 16;
+
+    @Nonnull
+    private final String host;
+    private final int port;
+    private final Duration timeout;
+    private final int minDaysToExpiry;
+    private final SSLSocketFactory socketFactory;
+    private final boolean verifyHostname;
+    private final boolean sessionResumption;
+    @Nullable
+    private final CachingResolver resolver;
+    private final Clock clock;
+    private final AtomicLong handshakes = new AtomicLong();
+    private final AtomicLong resumedHandshakes = new AtomicLong();
+    @Nullable
+    private volatile Long daysToExpiry;
+
+    public TlsHealthCheck(@Nonnull final String host, final int port) {
+        this(builder(host, port));
+    }
+
+    protected TlsHealthCheck(final Builder builder) {
+        this.host = Objects.requireNonNull(builder.host);
+        this.port = builder.port;
+        this.timeout = builder.timeout;
+        this.minDaysToExpiry = builder.minDaysToExpiry;
+        this.verifyHostname = builder.verifyHostname;
+        this.sessionResumption = builder.sessionResumption;
+        this.resolver = builder.resolver;
+        this.clock = builder.clock;
+
+        final SSLContext sslContext = builder.sslContext == null ? defaultContext() : builder.sslContext;
+        sslContext.getClientSessionContext().setSessionCacheSize(SESSION_CACHE_SIZE);
+        sslContext.getClientSessionContext().setSessionTimeout((int) builder.sessionTimeout.getSeconds());
+        this.socketFactory = sslContext.getSocketFactory();
+    }
+
+    /**
+     * @param host the host to check
+     * @param port the port to check
+     * @return a builder for a check with more options than the constructor offers
+     */
+    public static Builder builder(@Nonnull final String host, final int port) {
+        return new Builder(host, port);
+    }
+
+    @Override
+    protected Result check() throws Exception {
+        final InetSocketAddress address = resolver == null
+                ? new InetSocketAddress(host, port)
+                : new InetSocketAddress(resolver.resolve(host)[0], port);
+        // compared with the creation time of the session, which comes from the system clock
+        final long started = System.currentTimeMillis();
+
+        final SSLSession session;
+        try (Socket socket = new Socket()) {
+            socket.connect(address, (int) timeout.toMillis());
+            socket.setSoTimeout((int) timeout.toMillis());
+            // layering the TLS socket with the host name sets SNI and keys the session cache by host and port
+            try (SSLSocket sslSocket = (SSLSocket) socketFactory.createSocket(socket, host, port, true)) {
+                if (verifyHostname) {
+                    final SSLParameters parameters = sslSocket.getSSLParameters();
+                    parameters.setEndpointIdentificationAlgorithm("HTTPS");
+                    sslSocket.setSSLParameters(parameters);
+                }
+                sslSocket.startHandshake();
+                session = sslSocket.getSession();
+                if (sessionResumption && "TLSv1.3".equals(session.getProtocol())) {
+                    awaitTickets(sslSocket);
+                }
+            }
+        }
+
+        // a resumed session keeps the creation time of the handshake that established it
+        final boolean resumed = session.getCreationTime() < started;
+        handshakes.incrementAndGet();
+        if (resumed) {
+            resumedHandshakes.incrementAndGet();
+        }
+        if (!sessionResumption) {
+            session.invalidate();
+        }
+
+        final Instant notAfter = earliestExpiry(session.getPeerCertificates());
+        final long days = ChronoUnit.DAYS.between(clock.instant(), notAfter);
+        daysToExpiry = days;
+
+        final ResultBuilder builder = Result.builder()
+                .withDetail("daysToExpiry", days)
+                .withDetail("notAfter", notAfter.toString())
+                .withDetail("protocol", session.getProtocol())
+                .withDetail("resumed", resumed);
+        if (days < minDaysToExpiry) {
+            log.debug("Health check against url={}:{} failed: certificate expires in {} days", host, port, days);
+            return builder.unhealthy()
+                    .withMessage("TLS health check against host=%s port=%s failed: certificate expires in %d days, "
+                            + "minimum is %d", host, port, days, minDaysToExpiry)
+                    .build();
+        }
+        log.debug("Health check against url={}:{} successful", host, port);
+        return builder.healthy().build();
+    }
+
+    /**
+     * @return the {@code days-to-expiry} gauge, which is {@code null} until the first successful handshake
+     */
+    @Override
+    public Map<String, Metric> getMetrics() {
+        return Collections.singletonMap("days-to-expiry", (Gauge<Long>) () -> daysToExpiry);
+    }
+
+    /**
+     * @return how many handshakes the check completed
+     */
+    public long getHandshakes() {
+        return handshakes.get();
+    }
+
+    /**
+     * @return how many of the completed handshakes resumed a previous session
+     */
+    public long getResumedHandshakes() {
+        return resumedHandshakes.get();
+    }
+
+    private void awaitTickets(final SSLSocket sslSocket) throws IOException {
+        try {
+            sslSocket.shutdownOutput();
+            sslSocket.setSoTimeout((int) Math.min(TICKET_WAIT_MILLIS, timeout.toMillis()));
+            // reading processes the tickets and ends once the server answers the close_notify
+            final InputStream in = sslSocket.getInputStream();
+            while (in.read() != -1) {
+                // discard any data
+            }
+        } catch (SocketTimeoutException | UnsupportedOperationException e) {
+            // the server keeps its side open, or the provider cannot half-close; the next run may not resume
+            log.trace("Health check against url={}:{} did not wait for session tickets", host, port, e);
+        }
+    }
+
+    private static Instant earliestExpiry(final Certificate[] chain) throws IOException {
+        Instant earliest = null;
+        for (final Certificate certificate : chain) {
+            if (certificate instanceof X509Certificate) {
+                final Instant notAfter = ((X509Certificate) certificate).getNotAfter().toInstant();
+                if (earliest == null || notAfter.isBefore(earliest)) {
+                    earliest = notAfter;
+                }
+            }
+        }
+        if (earliest == null) {
+            throw new IOException("The peer did not present an X.509 certificate");
+        }
+        return earliest;
+    }
+
+    private static SSLContext defaultContext() {
+        try {
+            final SSLContext sslContext = SSLContext.getInstance("TLS");
+            // the default trust managers of the JVM
+            sslContext.init(null, null, null);
+            return sslContext;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialize a TLS context", e);
+        }
+    }
+
+    @VisibleForTesting
+    Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Builds {@link TlsHealthCheck}s.
+     */
+    public static class Builder {
+        private final String host;
+        private final int port;
+        private Duration timeout = DEFAULT_TIMEOUT;
+        private int minDaysToExpiry = DEFAULT_MIN_DAYS_TO_EXPIRY;
+        @Nullable
+        private SSLContext sslContext;
+        private Duration sessionTimeout = DEFAULT_SESSION_TIMEOUT;
+        private boolean verifyHostname = true;
+        private boolean sessionResumption = true;
+        @Nullable
+        private CachingResolver resolver;
+        private Clock clock = Clock.systemUTC();
+
+        protected Builder(@Nonnull final String host, final int port) {
+            this.host = Objects.requireNonNull(host);
+            this.port = port;
+        }
+
+        /**
+         * @param timeout the timeout of connecting and of the handshake
+         * @return this builder
+         */
+        public Builder timeout(final Duration timeout) {
+            Preconditions.checkState(!timeout.isNegative(), "timeout must be a non-negative value.");
+            Preconditions.checkState(timeout.toMillis() <= Integer.MAX_VALUE,
+                    "Cannot configure a timeout greater than the max integer value");
+            this.timeout = timeout;
+            return this;
+        }
+
+        /**
+         * @param minDaysToExpiry the number of days the certificate chain must at least remain valid for the check to
+         *                        be healthy; 14 by default
+         * @return this builder
+         */
+        public Builder minDaysToExpiry(final int minDaysToExpiry) {
+            Preconditions.checkState(minDaysToExpiry >= 0, "minDaysToExpiry must be a non-negative value.");
+            this.minDaysToExpiry = minDaysToExpiry;
+            return this;
+        }
+
+        /**
+         * @param sslContext the context to handshake with, e.g. one that trusts a private CA; it should not be
+         *                   shared with other clients, since the check sizes its session cache
+         * @return this builder
+         */
+        public Builder sslContext(@Nonnull final SSLContext sslContext) {
+            this.sslContext = Objects.requireNonNull(sslContext);
+            return this;
+        }
+
+        /**
+         * @param sessionTimeout how long a session may be resumed; one hour by default
+         * @return this builder
+         */
+        public Builder sessionTimeout(final Duration sessionTimeout) {
+            Preconditions.checkState(!sessionTimeout.isNegative(), "sessionTimeout must be a non-negative value.");
+            Preconditions.checkState(sessionTimeout.getSeconds() <= Integer.MAX_VALUE,
+                    "Cannot configure a sessionTimeout greater than the max integer value");
+            this.sessionTimeout = sessionTimeout;
+            return this;
+        }
+
+        /**
+         * @param verifyHostname whether the certificate must match the host; enabled by default
+         * @return this builder
+         */
+        public Builder verifyHostname(final boolean verifyHostname) {
+            this.verifyHostname = verifyHostname;
+            return this;
+        }
+
+        /**
+         * @param sessionResumption whether runs resume the session of a previous run; enabled by default. Without
+         *                          it, every run performs a full handshake.
+         * @return this builder
+         */
+        public Builder sessionResumption(final boolean sessionResumption) {
+            this.sessionResumption = sessionResumption;
+            return this;
+        }
+
+        /**
+         * @param resolver the resolver to look up the host with, e.g. the shared resolver of
+         *                 {@link io.dropwizard.health.core.HealthCheckResources#getResolver()}
+         * @return this builder
+         */
+        public Builder resolver(@Nonnull final CachingResolver resolver) {
+            this.resolver = Objects.requireNonNull(resolver);
+            return this;
+        }
+
+        @VisibleForTesting
+        Builder clock(final Clock clock) {
+            this.clock = Objects.requireNonNull(clock);
+            return this;
+        }
+
+        public TlsHealthCheck build() {
+            return new TlsHealthCheck(this);
+        }
+    }
+}
@@ -14,6 +14,7 @@ import com.google.common.io.Resources;
 import io.dropwizard.Configuration;
 import io.dropwizard.configuration.YamlConfigurationFactory;
 import io.dropwizard.health.core.HealthCheckServlet;
+import io.dropwizard.health.core.UnixSocketResponder;
 import io.dropwizard.jackson.Jackson;
 import io.dropwizard.jersey.validation.Validators;
 import io.dropwizard.jetty.setup.ServletEnvironment;
@@ -31,11 +32,15 @@ import javax.validation.Valid;
 import javax.validation.Validator;
 import javax.validation.constraints.NotNull;
 
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 public class HealthCheckBundleTest {
@@ -75,6 +80,38 @@ public class HealthCheckBundleTest {
 
     @Test
     public void shouldSuccessfullyConfigureHealthCheckBundle() {
+        final ServletRegistration.Dynamic servletRegistration = stubRun();
+
+        bundle.run(config, env);
+
+        verify(servletRegistration).addMapping(config.getHealth().getHealthCheckUrlPaths().toArray(new String[0]));
+
+        verify(healthChecks).addListener(any(HealthCheckManager.class));
+    }
+
+    @Test
+    public void shouldServeTheStatusOverAUnixSocket() {
+        assumeTrue(isUnixDomainSocketSupported());
+        stubRun();
+        config.getHealth().setUnixSocketPath("/tmp/health.sock");
+
+        bundle.run(config, env);
+
+        verify(lifecycle).manage(any(UnixSocketResponder.class));
+    }
+
+    @Test
+    public void shouldRejectUnixSocketPathWithoutUnixDomainSocketSupport() {
+        assumeFalse(isUnixDomainSocketSupported());
+        config.getHealth().setUnixSocketPath("/tmp/health.sock");
+
+        assertThatThrownBy(() -> bundle.run(config, env))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("unixSocketPath");
+        verifyNoInteractions(lifecycle, servlets);
+    }
+
+    private ServletRegistration.Dynamic stubRun() {
         final ScheduledExecutorServiceBuilder executorServiceBuilder = mock(ScheduledExecutorServiceBuilder.class);
         when(lifecycle.scheduledExecutorService(
                 eq("health-check-scheduled-executor"),
@@ -91,12 +128,16 @@ public class HealthCheckBundleTest {
 
         when(servletRegistration.addMapping(any()))
                 .thenReturn(ImmutableSet.of());
+        return servletRegistration;
+    }
 
-        bundle.run(config, env);
-
-        verify(servletRegistration).addMapping(config.getHealth().getHealthCheckUrlPaths().toArray(new String[0]));
-
-        verify(healthChecks).addListener(any(HealthCheckManager.class));
+    private static boolean isUnixDomainSocketSupported() {
+        try {
+            Class.forName("java.net.UnixDomainSocketAddress");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
     }
 
     private static class ExampleConfiguration extends Configuration {
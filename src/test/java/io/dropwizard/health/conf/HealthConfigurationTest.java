@@ -4,6 +4,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableList;
 import com.google.common.io.Resources;
 import io.dropwizard.configuration.YamlConfigurationFactory;
+import io.dropwizard.health.conf.response.DefaultHealthServletFactory;
+import io.dropwizard.health.conf.response.DetailedHealthServletFactory;
 import io.dropwizard.jackson.Jackson;
 import io.dropwizard.jersey.validation.Validators;
 import org.junit.Test;
@@ -14,8 +16,10 @@ import java.util.stream.Collectors;
 import javax.validation.Validator;
 
 import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertThrows;
 
 public class HealthConfigurationTest {
     private final ObjectMapper objectMapper = Jackson.newObjectMapper();
@@ -48,5 +52,16 @@ public class HealthConfigurationTest {
             assertThat(healthCheckConfig.getSchedule().getFailureAttempts(), is(3));
             assertThat(healthCheckConfig.getSchedule().getSuccessAttempts(), is(2));
         });
+        assertThat(healthConfig.getServletFactory(), instanceOf(DefaultHealthServletFactory.class));
+        assertThat(healthConfig.getHealthStateServletFactory(), instanceOf(DefaultHealthServletFactory.class));
+    }
+
+    @Test
+    public void shouldBuildHealthStateServletFactoryFromYaml() throws Exception {
+        final File yml = new File(Resources.getResource("yml/health-detailed-servlet.yml").toURI());
+        final HealthConfiguration healthConfig = configFactory.build(yml);
+
+        assertThat(healthConfig.getHealthStateServletFactory(), instanceOf(DetailedHealthServletFactory.class));
+        assertThrows(IllegalStateException.class, healthConfig::getServletFactory);
     }
 }
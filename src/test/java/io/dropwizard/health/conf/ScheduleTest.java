@@ -29,5 +29,6 @@ public class ScheduleTest {
         assertThat(schedule.getDowntimeInterval().toSeconds(), is(25L));
         assertThat(schedule.getFailureAttempts(), is(2));
         assertThat(schedule.getSuccessAttempts(), is(1));
+        assertThat(schedule.getStartupInterval().toMilliseconds(), is(100L));
     }
 }
@@ -0,0 +1,106 @@
+package io.dropwizard.health.conf.check;
+
+import com.codahale.metrics.health.HealthCheck;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import com.google.common.io.Resources;
+import io.dropwizard.configuration.YamlConfigurationFactory;
+import io.dropwizard.health.conf.HealthCheckConfiguration;
+import io.dropwizard.health.core.HealthCheckResources;
+import io.dropwizard.health.http.HttpHealthCheck;
+import io.dropwizard.jackson.DiscoverableSubtypeResolver;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.jersey.validation.Validators;
+import io.dropwizard.util.Duration;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.File;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class HttpHealthCheckFactoryTest {
+    private final ObjectMapper objectMapper = Jackson.newObjectMapper();
+    private final Validator validator = Validators.newValidator();
+    private final YamlConfigurationFactory<HealthCheckConfiguration> configFactory =
+            new YamlConfigurationFactory<>(HealthCheckConfiguration.class, validator, objectMapper, "dw");
+    private final Client client = ClientBuilder.newClient();
+
+    @Rule
+    public WireMockRule wireMockRule = new WireMockRule(wireMockConfig().dynamicPort());
+
+    @After
+    public void tearDown() {
+        client.close();
+    }
+
+    @Test
+    public void isDiscoverable() {
+        assertThat(new DiscoverableSubtypeResolver().getDiscoveredSubtypes())
+                .contains(HttpHealthCheckFactory.class, TcpHealthCheckFactory.class);
+    }
+
+    @Test
+    public void shouldBuildHttpHealthCheckFactoryFromYaml() throws Exception {
+        final File yml = new File(Resources.getResource("yml/healthCheck-http.yml").toURI());
+        final HealthCheckConfiguration healthCheckConfig = configFactory.build(yml);
+
+        assertThat(healthCheckConfig.getCheck()).isInstanceOf(HttpHealthCheckFactory.class);
+        final HttpHealthCheckFactory factory = (HttpHealthCheckFactory) healthCheckConfig.getCheck();
+        assertThat(factory.getUrl()).isEqualTo("http://localhost:8080");
+        assertThat(factory.getMethod()).isEqualTo("GET");
+        assertThat(factory.getPath()).isEqualTo("/health-check");
+        assertThat(factory.getHeaders()).containsEntry("X-Probe", "health");
+        assertThat(factory.getReadTimeout()).isEqualTo(Duration.milliseconds(500));
+        assertThat(factory.getConnectionTimeout()).isNull();
+        assertThat(factory.getBodyPattern()).isEqualTo("\"status\"\\s*:\\s*\"UP\"");
+    }
+
+    @Test
+    public void shouldRequireAJsonPointerValueWithAJsonPointer() {
+        final HttpHealthCheckFactory factory = new HttpHealthCheckFactory();
+        factory.setUrl("http://localhost:8080");
+        factory.setJsonPointer("/status");
+
+        assertThat(validator.validate(factory))
+                .extracting(ConstraintViolation::getMessage)
+                .containsExactly("jsonPointerValue must be set when jsonPointer is set");
+
+        factory.setJsonPointerValue("UP");
+        assertThat(validator.validate(factory)).isEmpty();
+    }
+
+    @Test
+    public void shouldBuildAHealthCheckWithTheSharedClient() throws Exception {
+        stubFor(get(urlEqualTo("/health-check"))
+                .withHeader("X-Probe", equalTo("health"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withBody("{\"status\": \"UP\"}")));
+
+        final File yml = new File(Resources.getResource("yml/healthCheck-http.yml").toURI());
+        final HttpHealthCheckFactory factory = (HttpHealthCheckFactory) configFactory.build(yml).getCheck();
+        factory.setUrl(wireMockRule.baseUrl());
+        final HealthCheckResources resources = mock(HealthCheckResources.class);
+        when(resources.getHttpClient()).thenReturn(client);
+
+        final HealthCheck healthCheck = factory.build(resources);
+
+        assertThat(healthCheck).isInstanceOf(HttpHealthCheck.class);
+        assertThat(healthCheck.execute().isHealthy()).isTrue();
+    }
+}
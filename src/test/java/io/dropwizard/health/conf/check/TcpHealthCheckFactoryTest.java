@@ -0,0 +1,64 @@
+package io.dropwizard.health.conf.check;
+
+import com.codahale.metrics.health.HealthCheck;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.io.Resources;
+import io.dropwizard.configuration.YamlConfigurationFactory;
+import io.dropwizard.health.conf.HealthCheckConfiguration;
+import io.dropwizard.health.core.HealthCheckResources;
+import io.dropwizard.health.dns.CachingResolver;
+import io.dropwizard.health.tcp.TcpProbeEngine;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.jersey.validation.Validators;
+import io.dropwizard.util.Duration;
+import org.junit.Test;
+
+import java.io.File;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+
+import javax.validation.Validator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TcpHealthCheckFactoryTest {
+    private final ObjectMapper objectMapper = Jackson.newObjectMapper();
+    private final Validator validator = Validators.newValidator();
+    private final YamlConfigurationFactory<HealthCheckConfiguration> configFactory =
+            new YamlConfigurationFactory<>(HealthCheckConfiguration.class, validator, objectMapper, "dw");
+
+    @Test
+    public void shouldBuildTcpHealthCheckFactoryFromYaml() throws Exception {
+        final File yml = new File(Resources.getResource("yml/healthCheck-tcp.yml").toURI());
+        final HealthCheckConfiguration healthCheckConfig = configFactory.build(yml);
+
+        assertThat(healthCheckConfig.getName()).isEqualTo("cassandra");
+        assertThat(healthCheckConfig.getCheck()).isInstanceOf(TcpHealthCheckFactory.class);
+        final TcpHealthCheckFactory factory = (TcpHealthCheckFactory) healthCheckConfig.getCheck();
+        assertThat(factory.getHost()).isEqualTo("localhost");
+        assertThat(factory.getPort()).isEqualTo(9042);
+        assertThat(factory.getConnectionTimeout()).isEqualTo(Duration.seconds(1));
+    }
+
+    @Test
+    public void shouldBuildAWorkingHealthCheck() throws Exception {
+        final TcpProbeEngine engine = new TcpProbeEngine("tcp-probes");
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            final TcpHealthCheckFactory factory = new TcpHealthCheckFactory();
+            factory.setHost(InetAddress.getLoopbackAddress().getHostAddress());
+            factory.setPort(serverSocket.getLocalPort());
+            final HealthCheckResources resources = mock(HealthCheckResources.class);
+            when(resources.getTcpProbeEngine()).thenReturn(engine);
+            when(resources.getResolver()).thenReturn(new CachingResolver(java.time.Duration.ofSeconds(30),
+                    java.time.Duration.ofSeconds(10)));
+
+            final HealthCheck healthCheck = factory.build(resources);
+
+            assertThat(healthCheck.execute().isHealthy()).isTrue();
+        } finally {
+            engine.stop();
+        }
+    }
+}
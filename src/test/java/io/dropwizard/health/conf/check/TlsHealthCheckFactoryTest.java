@@ -0,0 +1,69 @@
+package io.dropwizard.health.conf.check;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.io.Resources;
+import io.dropwizard.configuration.YamlConfigurationFactory;
+import io.dropwizard.health.conf.HealthCheckConfiguration;
+import io.dropwizard.health.core.HealthCheckResources;
+import io.dropwizard.health.dns.CachingResolver;
+import io.dropwizard.health.tcp.TlsHealthCheck;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.jersey.validation.Validators;
+import io.dropwizard.util.Duration;
+import org.junit.Test;
+
+import java.io.File;
+
+import javax.validation.Validator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TlsHealthCheckFactoryTest {
+    private final ObjectMapper objectMapper = Jackson.newObjectMapper();
+    private final Validator validator = Validators.newValidator();
+    private final YamlConfigurationFactory<HealthCheckConfiguration> configFactory =
+            new YamlConfigurationFactory<>(HealthCheckConfiguration.class, validator, objectMapper, "dw");
+
+    @Test
+    public void shouldBuildTlsHealthCheckFactoryFromYaml() throws Exception {
+        final File yml = new File(Resources.getResource("yml/healthCheck-tls.yml").toURI());
+        final HealthCheckConfiguration healthCheckConfig = configFactory.build(yml);
+
+        assertThat(healthCheckConfig.getName()).isEqualTo("payments-certificate");
+        assertThat(healthCheckConfig.getCheck()).isInstanceOf(TlsHealthCheckFactory.class);
+        final TlsHealthCheckFactory factory = (TlsHealthCheckFactory) healthCheckConfig.getCheck();
+        assertThat(factory.getHost()).isEqualTo("payments");
+        assertThat(factory.getPort()).isEqualTo(8443);
+        assertThat(factory.getMinDaysToExpiry()).isEqualTo(30);
+        assertThat(factory.getTimeout()).isEqualTo(Duration.seconds(2));
+        assertThat(factory.isVerifyHostname()).isTrue();
+    }
+
+    @Test
+    public void shouldBuildATlsHealthCheck() {
+        final TlsHealthCheckFactory factory = new TlsHealthCheckFactory();
+        factory.setHost("localhost");
+        final HealthCheckResources resources = mock(HealthCheckResources.class);
+        when(resources.getResolver()).thenReturn(new CachingResolver(java.time.Duration.ofSeconds(30),
+                java.time.Duration.ofSeconds(10)));
+
+        assertThat(factory.build(resources)).isInstanceOf(TlsHealthCheck.class);
+    }
+
+    @Test
+    public void shouldFailToBuildWithAMissingTrustStore() {
+        final TlsHealthCheckFactory factory = new TlsHealthCheckFactory();
+        factory.setHost("localhost");
+        factory.setTrustStorePath("does-not-exist.p12");
+        final HealthCheckResources resources = mock(HealthCheckResources.class);
+        when(resources.getResolver()).thenReturn(new CachingResolver(java.time.Duration.ofSeconds(30),
+                java.time.Duration.ofSeconds(10)));
+
+        assertThatThrownBy(() -> factory.build(resources))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("does-not-exist.p12");
+    }
+}
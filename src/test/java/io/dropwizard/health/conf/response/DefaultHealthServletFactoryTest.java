@@ -1,13 +1,18 @@
 package io.dropwizard.health.conf.response;
 
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.io.Resources;
 import io.dropwizard.configuration.YamlConfigurationFactory;
+import io.dropwizard.health.core.HealthStateAggregator;
 import io.dropwizard.jackson.DiscoverableSubtypeResolver;
 import io.dropwizard.jackson.Jackson;
 import io.dropwizard.jersey.validation.Validators;
+import org.awaitility.Awaitility;
 import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpParser;
 import org.eclipse.jetty.http.HttpTester;
 import org.eclipse.jetty.server.Response;
 import org.eclipse.jetty.servlet.ServletHolder;
@@ -19,7 +24,9 @@ import org.junit.Test;
 import java.io.File;
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.servlet.http.HttpServlet;
 import javax.validation.Validator;
@@ -27,8 +34,11 @@ import javax.ws.rs.core.MediaType;
 
 import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.isEmptyOrNullString;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class DefaultHealthServletFactoryTest {
     private static final String HEALTH_CHECK_URI = "/health-check";
@@ -136,15 +146,128 @@ public class DefaultHealthServletFactoryTest {
         assertThat(healthyResponse.getStatus(), is(Response.SC_OK));
         assertThat(healthyResponse.get(HttpHeader.CONTENT_TYPE), is(PLAIN_TEXT_UTF_8));
         assertThat(healthyResponse.getContent(), is("HAPPY"));
+        assertThat(healthyResponse.get(HttpHeader.CONTENT_LENGTH), is("5"));
         assertThat(unhealthyResponse.getStatus(), is(Response.SC_SERVICE_UNAVAILABLE));
         assertThat(unhealthyResponse.get(HttpHeader.CONTENT_TYPE), is(PLAIN_TEXT_UTF_8));
         assertThat(unhealthyResponse.getContent(), is("SAD"));
+        assertThat(unhealthyResponse.get(HttpHeader.CONTENT_LENGTH), is("3"));
+    }
+
+    @Test
+    public void testConditionalRequestsUseHealthStateVersion() throws Exception {
+        // given
+        File yml = new File(Resources.getResource("yml/servlet-factory-caching.yml").toURI());
+        AtomicBoolean healthy = new AtomicBoolean(true);
+        AtomicLong version = new AtomicLong(7L);
+        HealthStateAggregator aggregator = mock(HealthStateAggregator.class);
+        when(aggregator.getStateVersion()).thenAnswer(invocation -> version.get());
+
+        // when
+        HealthServletFactory factory = configFactory.build(yml);
+        HttpServlet servlet = factory.build(type -> healthy.get(), aggregator);
+        servletTester.addServlet(new ServletHolder(servlet), HEALTH_CHECK_URI);
+        servletTester.start();
+        HttpTester.Response initialResponse = executeRequest(request);
+        request.setHeader(HttpHeader.IF_NONE_MATCH.asString(), initialResponse.get(HttpHeader.ETAG));
+        HttpTester.Response notModifiedResponse = executeRequest(request);
+        version.incrementAndGet();
+        HttpTester.Response changedVersionResponse = executeRequest(request);
+        healthy.set(false);
+        request.setHeader(HttpHeader.IF_NONE_MATCH.asString(), "*");
+        HttpTester.Response unhealthyResponse = executeRequest(request);
+
+        // then
+        assertThat(initialResponse.getStatus(), is(Response.SC_OK));
+        assertThat(initialResponse.get(HttpHeader.ETAG), is("\"7-healthy\""));
+        assertThat(notModifiedResponse.getStatus(), is(Response.SC_NOT_MODIFIED));
+        assertThat(notModifiedResponse.getContent(), is(""));
+        assertThat(changedVersionResponse.getStatus(), is(Response.SC_OK));
+        assertThat(changedVersionResponse.get(HttpHeader.ETAG), is("\"8-healthy\""));
+        assertThat(unhealthyResponse.getStatus(), is(Response.SC_SERVICE_UNAVAILABLE));
+        assertThat(unhealthyResponse.get(HttpHeader.ETAG), is("\"8-unhealthy\""));
+    }
+
+    @Test
+    public void testHeadRequestHasNoBody() throws Exception {
+        // given
+        File yml = new File(Resources.getResource("yml/servlet-factory-custom-responses.yml").toURI());
+        AtomicBoolean healthy = new AtomicBoolean(true);
+        request.setMethod("HEAD");
+
+        // when
+        HealthServletFactory factory = configFactory.build(yml);
+        HttpServlet servlet = factory.build(healthy);
+        servletTester.addServlet(new ServletHolder(servlet), HEALTH_CHECK_URI);
+        servletTester.start();
+        HttpTester.Response response = executeHeadRequest(request);
+
+        // then
+        assertThat(response.getStatus(), is(Response.SC_OK));
+        assertThat(response.get(HttpHeader.CONTENT_LENGTH), is("5"));
+        assertThat(response.getContent(), isEmptyOrNullString());
+    }
+
+    @Test
+    public void testRequestsAreTimedPerPath() throws Exception {
+        // given
+        File yml = new File(Resources.getResource("yml/servlet-factory-caching.yml").toURI());
+        MetricRegistry metrics = new MetricRegistry();
+
+        // when
+        HealthServletFactory factory = configFactory.build(yml);
+        HttpServlet servlet = factory.build(type -> true, mock(HealthStateAggregator.class), metrics, null);
+        servletTester.addServlet(new ServletHolder(servlet), HEALTH_CHECK_URI);
+        servletTester.start();
+        executeRequest(request);
+        executeRequest(request);
+
+        // then
+        // a request is timed until the servlet returns, which can be after the client read the response
+        Timer timer = metrics.timer(MetricRegistry.name("health", "requests", HEALTH_CHECK_URI));
+        Awaitility.await()
+                .atMost(5, TimeUnit.SECONDS)
+                .until(() -> timer.getCount() == 2L);
+    }
+
+    @Test
+    public void testRateLimitedClientsGetLastResponse() throws Exception {
+        // given
+        File yml = new File(Resources.getResource("yml/servlet-factory-rate-limited.yml").toURI());
+        AtomicBoolean healthy = new AtomicBoolean(true);
+        MetricRegistry metrics = new MetricRegistry();
+        HealthServletFactory factory = configFactory.build(yml);
+        HttpServlet servlet = factory.build(type -> healthy.get(), mock(HealthStateAggregator.class), metrics, "admin");
+        servletTester.addServlet(new ServletHolder(servlet), HEALTH_CHECK_URI);
+        servletTester.start();
+        // start early in a one-second window, so that both requests fall into the same window
+        while (System.nanoTime() % 1_000_000_000L > 500_000_000L) {
+            Thread.sleep(10L);
+        }
+
+        // when
+        HttpTester.Response firstResponse = executeRequest(request);
+        healthy.set(false);
+        HttpTester.Response limitedResponse = executeRequest(request);
+
+        // then
+        assertThat(firstResponse.getStatus(), is(Response.SC_OK));
+        assertThat(limitedResponse.getStatus(), is(Response.SC_OK));
+        assertThat(metrics.meter(MetricRegistry.name("health", "admin", "rate-limited")).getCount(), is(1L));
     }
 
     private HttpTester.Response executeRequest(HttpTester.Request request) throws Exception {
         return HttpTester.parseResponse(servletTester.getResponses(request.generate()));
     }
 
+    private HttpTester.Response executeHeadRequest(HttpTester.Request request) throws Exception {
+        // a response to HEAD announces a length, but has no content to parse
+        HttpTester.Response response = new HttpTester.Response();
+        HttpParser parser = new HttpParser(response);
+        parser.setHeadResponse(true);
+        parser.parseNext(servletTester.getResponses(request.generate()));
+        return response;
+    }
+
     private String parseResponseBody(HttpTester.Response response) throws IOException {
         JsonNode jsonBody = mapper.readValue(response.getContentBytes(), JsonNode.class);
         return jsonBody.get("status").asText();
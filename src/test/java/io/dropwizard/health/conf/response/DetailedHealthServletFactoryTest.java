@@ -0,0 +1,136 @@
+package io.dropwizard.health.conf.response;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Resources;
+import io.dropwizard.configuration.YamlConfigurationFactory;
+import io.dropwizard.health.conf.HealthCheckType;
+import io.dropwizard.health.core.HealthStateAggregator;
+import io.dropwizard.health.core.HealthStateView;
+import io.dropwizard.jackson.DiscoverableSubtypeResolver;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.jersey.validation.Validators;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpTester;
+import org.eclipse.jetty.server.Response;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.servlet.ServletTester;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.servlet.http.HttpServlet;
+import javax.validation.Validator;
+import javax.ws.rs.core.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DetailedHealthServletFactoryTest {
+    private static final String HEALTH_CHECK_URI = "/health-check";
+    private final ObjectMapper mapper = Jackson.newObjectMapper();
+    private final Validator validator = Validators.newValidator();
+    private final YamlConfigurationFactory<HealthStateServletFactory> configFactory =
+            new YamlConfigurationFactory<>(HealthStateServletFactory.class, validator, mapper, "dw");
+    private final HttpTester.Request request = new HttpTester.Request();
+    private final HealthStateAggregator aggregator = mock(HealthStateAggregator.class);
+    private final AtomicBoolean healthy = new AtomicBoolean(true);
+    private final AtomicLong version = new AtomicLong(1L);
+
+    private ServletTester servletTester;
+
+    @Before
+    public void setUp() throws Exception {
+        servletTester = new ServletTester();
+
+        request.setHeader(HttpHeader.HOST.asString(), "localhost");
+        request.setURI(HEALTH_CHECK_URI);
+        request.setMethod("GET");
+
+        when(aggregator.getStateVersion()).thenAnswer(invocation -> version.get());
+        when(aggregator.healthStateViews()).thenAnswer(invocation -> ImmutableList.of(
+                new HealthStateView("cache", HealthCheckType.READY, false, true, null, null),
+                new HealthStateView("database", HealthCheckType.READY, true, healthy.get(),
+                        Instant.parse("2021-03-04T05:06:07.890Z"), healthy.get() ? null : "Connection refused")));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        servletTester.stop();
+    }
+
+    @Test
+    public void isDiscoverable() {
+        assertThat(new DiscoverableSubtypeResolver().getDiscoveredSubtypes())
+                .contains(DetailedHealthServletFactory.class);
+    }
+
+    @Test
+    public void testBuildDetailedHealthServlet() throws Exception {
+        // given
+        final File yml = new File(Resources.getResource("yml/servlet-factory-detailed.yml").toURI());
+
+        // when
+        final HealthStateServletFactory factory = configFactory.build(yml);
+        final HttpServlet servlet = factory.build(type -> healthy.get(), aggregator);
+        servletTester.addServlet(new ServletHolder(servlet), HEALTH_CHECK_URI);
+        servletTester.start();
+        final HttpTester.Response healthyResponse = executeRequest();
+        healthy.set(false);
+        version.incrementAndGet();
+        final HttpTester.Response unhealthyResponse = executeRequest();
+
+        // then
+        assertThat(factory).isInstanceOf(DetailedHealthServletFactory.class);
+        assertThat(healthyResponse.getStatus()).isEqualTo(Response.SC_OK);
+        assertThat(healthyResponse.get(HttpHeader.CONTENT_TYPE)).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(healthyResponse.get(HttpHeader.CACHE_CONTROL)).isEqualTo("no-cache");
+        final JsonNode healthyBody = mapper.readTree(healthyResponse.getContentBytes());
+        assertThat(healthyBody.get("status").asText()).isEqualTo("healthy");
+        assertThat(healthyBody.get("version").asLong()).isEqualTo(1L);
+        assertThat(healthyBody.get("checks")).hasSize(2);
+        assertThat(healthyBody.get("checks").get(0).get("name").asText()).isEqualTo("cache");
+        assertThat(healthyBody.get("checks").get(0).get("lastTransition").isNull()).isTrue();
+
+        assertThat(unhealthyResponse.getStatus()).isEqualTo(Response.SC_SERVICE_UNAVAILABLE);
+        final JsonNode database = mapper.readTree(unhealthyResponse.getContentBytes()).get("checks").get(1);
+        assertThat(database.get("name").asText()).isEqualTo("database");
+        assertThat(database.get("type").asText()).isEqualTo("ready");
+        assertThat(database.get("critical").asBoolean()).isTrue();
+        assertThat(database.get("state").asText()).isEqualTo("unhealthy");
+        assertThat(database.get("lastTransition").asText()).isEqualTo("2021-03-04T05:06:07.890Z");
+        assertThat(database.get("lastMessage").asText()).isEqualTo("Connection refused");
+    }
+
+    @Test
+    public void testResponseIsOnlySerializedOnStateChange() throws Exception {
+        // given
+        final File yml = new File(Resources.getResource("yml/servlet-factory-detailed.yml").toURI());
+
+        // when
+        final HttpServlet servlet = configFactory.build(yml).build(type -> healthy.get(), aggregator);
+        servletTester.addServlet(new ServletHolder(servlet), HEALTH_CHECK_URI);
+        servletTester.start();
+        executeRequest();
+        executeRequest();
+        executeRequest();
+        version.incrementAndGet();
+        executeRequest();
+
+        // then
+        verify(aggregator, times(2)).healthStateViews();
+    }
+
+    private HttpTester.Response executeRequest() throws Exception {
+        return HttpTester.parseResponse(servletTester.getResponses(request.generate()));
+    }
+}
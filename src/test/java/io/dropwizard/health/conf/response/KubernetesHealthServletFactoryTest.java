@@ -0,0 +1,150 @@
+package io.dropwizard.health.conf.response;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.health.HealthCheck;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Resources;
+import io.dropwizard.configuration.YamlConfigurationFactory;
+import io.dropwizard.health.conf.HealthCheckConfiguration;
+import io.dropwizard.health.conf.HealthCheckType;
+import io.dropwizard.health.core.HealthCheckManager;
+import io.dropwizard.health.core.HealthCheckScheduler;
+import io.dropwizard.jackson.DiscoverableSubtypeResolver;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.jersey.validation.Validators;
+import io.dropwizard.util.Duration;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpTester;
+import org.eclipse.jetty.server.Response;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.servlet.ServletTester;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+
+import javax.servlet.http.HttpServlet;
+import javax.validation.Validator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class KubernetesHealthServletFactoryTest {
+    private static final String DATABASE = "database";
+    private static final String DEADLOCKS = "deadlocks";
+    private final ObjectMapper mapper = Jackson.newObjectMapper();
+    private final Validator validator = Validators.newValidator();
+    private final YamlConfigurationFactory<HealthStateServletFactory> configFactory =
+            new YamlConfigurationFactory<>(HealthStateServletFactory.class, validator, mapper, "dw");
+
+    private ServletTester servletTester;
+    private HealthCheckManager manager;
+
+    @Before
+    public void setUp() throws Exception {
+        final HealthCheckConfiguration database = new HealthCheckConfiguration();
+        database.setName(DATABASE);
+        database.setCritical(true);
+        database.setInitialState(false);
+        final HealthCheckConfiguration deadlocks = new HealthCheckConfiguration();
+        deadlocks.setName(DEADLOCKS);
+        deadlocks.setType(HealthCheckType.ALIVE);
+        deadlocks.setCritical(true);
+        manager = new HealthCheckManager(ImmutableList.of(database, deadlocks), mock(HealthCheckScheduler.class),
+                new MetricRegistry(), Duration.seconds(1), true);
+        manager.onHealthCheckAdded(DATABASE, mock(HealthCheck.class));
+        manager.onHealthCheckAdded(DEADLOCKS, mock(HealthCheck.class));
+        // the overall state is only initialized by the bundle, so let the application become ready on its own
+        manager.onStateChanged(DATABASE, true);
+
+        final File yml = new File(Resources.getResource("yml/servlet-factory-kubernetes.yml").toURI());
+        final HttpServlet servlet = configFactory.build(yml).build(manager, manager);
+        servletTester = new ServletTester();
+        servletTester.addServlet(new ServletHolder(servlet), "/livez");
+        servletTester.addServlet(new ServletHolder(servlet), "/readyz");
+        servletTester.addServlet(new ServletHolder(servlet), "/startupz");
+        servletTester.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        servletTester.stop();
+    }
+
+    @Test
+    public void isDiscoverable() {
+        assertThat(new DiscoverableSubtypeResolver().getDiscoveredSubtypes())
+                .contains(KubernetesHealthServletFactory.class);
+    }
+
+    @Test
+    public void shouldRespondOkWhenHealthy() throws Exception {
+        // when
+        final HttpTester.Response livez = executeRequest("/livez");
+        final HttpTester.Response readyz = executeRequest("/readyz");
+        final HttpTester.Response startupz = executeRequest("/startupz");
+
+        // then
+        assertThat(livez.getStatus()).isEqualTo(Response.SC_OK);
+        assertThat(livez.getContent()).isEqualTo("ok");
+        assertThat(livez.get(HttpHeader.CACHE_CONTROL)).isEqualTo("no-store");
+        assertThat(readyz.getStatus()).isEqualTo(Response.SC_OK);
+        assertThat(startupz.getStatus()).isEqualTo(Response.SC_OK);
+    }
+
+    @Test
+    public void shouldListChecksWhenVerbose() throws Exception {
+        // when
+        manager.onStateChanged(DATABASE, false);
+        final HttpTester.Response livez = executeRequest("/livez?verbose");
+        final HttpTester.Response readyz = executeRequest("/readyz?verbose");
+
+        // then
+        assertThat(livez.getStatus()).isEqualTo(Response.SC_OK);
+        assertThat(livez.getContent()).isEqualTo("[+]deadlocks ok\nlivez check passed\n");
+        assertThat(readyz.getStatus()).isEqualTo(Response.SC_SERVICE_UNAVAILABLE);
+        assertThat(readyz.getContent())
+                .isEqualTo("[-]database failed: critical\n[+]deadlocks ok\nreadyz check failed\n");
+    }
+
+    @Test
+    public void shouldIgnoreExcludedChecks() throws Exception {
+        // when
+        manager.onStateChanged(DATABASE, false);
+        final HttpTester.Response readyz = executeRequest("/readyz?exclude=database");
+        final HttpTester.Response verboseReadyz = executeRequest("/readyz?verbose&exclude=database&exclude=unknown");
+        manager.onStateChanged(DEADLOCKS, false);
+        final HttpTester.Response notAliveReadyz = executeRequest("/readyz?exclude=database");
+
+        // then
+        assertThat(readyz.getStatus()).isEqualTo(Response.SC_OK);
+        assertThat(readyz.getContent()).isEqualTo("ok");
+        assertThat(verboseReadyz.getContent()).isEqualTo("[+]database excluded: ok\n[+]deadlocks ok\n"
+                + "warn: some health checks cannot be excluded: no matches for \"unknown\"\nreadyz check passed\n");
+        assertThat(notAliveReadyz.getStatus()).isEqualTo(Response.SC_SERVICE_UNAVAILABLE);
+    }
+
+    @Test
+    public void shouldKeepReportingStartedOnceReady() throws Exception {
+        // when
+        final HttpTester.Response startedResponse = executeRequest("/startupz");
+        manager.onStateChanged(DATABASE, false);
+        final HttpTester.Response startupz = executeRequest("/startupz");
+        final HttpTester.Response readyz = executeRequest("/readyz");
+
+        // then
+        assertThat(startedResponse.getStatus()).isEqualTo(Response.SC_OK);
+        assertThat(startupz.getStatus()).isEqualTo(Response.SC_OK);
+        assertThat(readyz.getStatus()).isEqualTo(Response.SC_SERVICE_UNAVAILABLE);
+    }
+
+    private HttpTester.Response executeRequest(final String uri) throws Exception {
+        final HttpTester.Request request = HttpTester.newRequest();
+        request.setHeader(HttpHeader.HOST.asString(), "localhost");
+        request.setMethod("GET");
+        request.setURI(uri);
+        return HttpTester.parseResponse(servletTester.getResponses(request.generate()));
+    }
+}
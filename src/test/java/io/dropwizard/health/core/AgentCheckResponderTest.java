@@ -0,0 +1,70 @@
+package io.dropwizard.health.core;
+
+import io.dropwizard.health.conf.HealthCheckType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AgentCheckResponderTest {
+    private final HealthStatusChecker checker = mock(HealthStatusChecker.class);
+    private final AgentCheckResponder responder = new AgentCheckResponder(checker,
+            new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), "agent-check-test", "up 100%", "drain", "down");
+
+    @Before
+    public void setUp() throws Exception {
+        responder.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        responder.stop();
+    }
+
+    @Test
+    public void shouldAnswerWithLineMatchingStatus() throws Exception {
+        // given
+        when(checker.isHealthy(HealthCheckType.ALIVE.name())).thenReturn(true);
+        when(checker.isHealthy(HealthCheckType.READY.name())).thenReturn(true);
+
+        // when / then
+        assertThat(readLine()).isEqualTo("up 100%");
+        assertThat(readLine()).isEqualTo("up 100%");
+
+        when(checker.isHealthy(HealthCheckType.READY.name())).thenReturn(false);
+        assertThat(readLine()).isEqualTo("drain");
+
+        when(checker.isHealthy(HealthCheckType.ALIVE.name())).thenReturn(false);
+        assertThat(readLine()).isEqualTo("down");
+    }
+
+    @Test
+    public void shouldReleasePortOnStop() throws Exception {
+        // when
+        responder.stop();
+
+        // then
+        assertThat(responder.getLocalPort()).isEqualTo(-1);
+    }
+
+    private String readLine() throws Exception {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), responder.getLocalPort());
+             BufferedReader reader = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII))) {
+            socket.setSoTimeout(5000);
+            final String line = reader.readLine();
+            assertThat(reader.read()).isEqualTo(-1);
+            return line;
+        }
+    }
+}
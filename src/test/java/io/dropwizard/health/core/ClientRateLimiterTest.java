@@ -0,0 +1,47 @@
+package io.dropwizard.health.core;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ClientRateLimiterTest {
+    private final AtomicLong nanoTime = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+    private final ClientRateLimiter rateLimiter = new ClientRateLimiter(2, nanoTime::get);
+
+    @Test
+    public void shouldLimitRequestsPerClientAndSecond() {
+        // when / then
+        assertThat(rateLimiter.tryAcquire("10.0.0.1")).isTrue();
+        assertThat(rateLimiter.tryAcquire("10.0.0.1")).isTrue();
+        assertThat(rateLimiter.tryAcquire("10.0.0.1")).isFalse();
+        assertThat(rateLimiter.tryAcquire("10.0.0.2")).isTrue();
+
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(rateLimiter.tryAcquire("10.0.0.1")).isTrue();
+    }
+
+    @Test
+    public void shouldEvictIdleClients() {
+        // given
+        for (int i = 0; i < 1024; i++) {
+            rateLimiter.tryAcquire("10.0.0." + i);
+        }
+
+        // when
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        rateLimiter.tryAcquire("10.0.1.0");
+        rateLimiter.tryAcquire("10.0.1.1");
+
+        // then
+        assertThat(rateLimiter.trackedClients()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldRejectNonPositiveLimit() {
+        assertThatThrownBy(() -> new ClientRateLimiter(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
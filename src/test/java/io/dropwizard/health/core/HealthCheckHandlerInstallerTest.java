@@ -0,0 +1,97 @@
+package io.dropwizard.health.core;
+
+import com.google.common.collect.ImmutableList;
+import org.eclipse.jetty.http.HttpTester;
+import org.eclipse.jetty.server.LocalConnector;
+import org.eclipse.jetty.server.Response;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.core.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HealthCheckHandlerInstallerTest {
+    private final HealthCheckServlet servlet = new HealthCheckServlet(type -> true, true, "no-store",
+            MediaType.TEXT_PLAIN, "HAPPY", "SAD");
+
+    private Server server;
+    private LocalConnector appConnector;
+    private LocalConnector adminConnector;
+    private ServletContextHandler applicationContext;
+
+    @Before
+    public void setUp() {
+        server = new Server();
+        appConnector = new LocalConnector(server);
+        appConnector.setName("application");
+        adminConnector = new LocalConnector(server);
+        adminConnector.setName("admin");
+        server.addConnector(appConnector);
+        server.addConnector(adminConnector);
+        applicationContext = new ServletContextHandler();
+        server.setHandler(applicationContext);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop();
+    }
+
+    @Test
+    public void shouldAnswerProbesUnderTheApplicationContextPath() throws Exception {
+        // given
+        applicationContext.setContextPath("/application");
+        server.addLifeCycleListener(new HealthCheckHandlerInstaller("probe", servlet,
+                ImmutableList.of("/health-check"), applicationContext, null, null));
+        server.start();
+
+        // when
+        final HttpTester.Response prefixedResponse = executeRequest(appConnector, "/application/health-check");
+        final HttpTester.Response unprefixedResponse = executeRequest(appConnector, "/health-check");
+
+        // then
+        assertThat(prefixedResponse.getStatus()).isEqualTo(Response.SC_OK);
+        assertThat(prefixedResponse.getContent()).isEqualTo("HAPPY");
+        assertThat(unprefixedResponse.getStatus()).isEqualTo(Response.SC_NOT_FOUND);
+    }
+
+    @Test
+    public void shouldNotAnswerProbesOnTheAdminConnector() throws Exception {
+        // given
+        applicationContext.setContextPath("/");
+        server.addLifeCycleListener(new HealthCheckHandlerInstaller("probe", servlet,
+                ImmutableList.of("/health-check"), applicationContext, null, null));
+        server.start();
+
+        // when
+        final HttpTester.Response appResponse = executeRequest(appConnector, "/health-check");
+        final HttpTester.Response adminResponse = executeRequest(adminConnector, "/health-check");
+
+        // then
+        assertThat(appResponse.getStatus()).isEqualTo(Response.SC_OK);
+        assertThat(adminResponse.getStatus()).isEqualTo(Response.SC_NOT_FOUND);
+    }
+
+    @Test
+    public void shouldJoinTheContextPathAndThePaths() {
+        assertThat(HealthCheckHandlerInstaller.withContextPath("/", ImmutableList.of("/health-check")))
+                .containsExactly("/health-check");
+        assertThat(HealthCheckHandlerInstaller.withContextPath("/application/", ImmutableList.of("/health-check")))
+                .containsExactly("/application/health-check");
+        assertThat(HealthCheckHandlerInstaller.withContextPath(null, ImmutableList.of("/health-check")))
+                .containsExactly("/health-check");
+    }
+
+    private static HttpTester.Response executeRequest(final LocalConnector connector, final String uri)
+            throws Exception {
+        final HttpTester.Request request = HttpTester.newRequest();
+        request.setHeader("Host", "localhost");
+        request.setMethod("GET");
+        request.setURI(uri);
+        return HttpTester.parseResponse(connector.getResponse(request.generate()));
+    }
+}
@@ -0,0 +1,127 @@
+package io.dropwizard.health.core;
+
+import com.google.common.collect.ImmutableList;
+import org.eclipse.jetty.http.HttpTester;
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.LocalConnector;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Response;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HealthCheckHandlerTest {
+    private final AtomicBoolean healthy = new AtomicBoolean(true);
+    private final HealthCheckServlet servlet = new HealthCheckServlet(type -> healthy.get(), true, "no-store",
+            MediaType.TEXT_PLAIN, "HAPPY", "SAD");
+
+    private Server server;
+    private LocalConnector appConnector;
+    private LocalConnector probeConnector;
+
+    @Before
+    public void setUp() {
+        server = new Server();
+        appConnector = new LocalConnector(server);
+        probeConnector = new LocalConnector(server);
+        server.addConnector(appConnector);
+        server.addConnector(probeConnector);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop();
+    }
+
+    @Test
+    public void shouldAnswerProbesAndPassOtherRequestsThrough() throws Exception {
+        // given
+        startServer(null);
+
+        // when
+        final HttpTester.Response healthyResponse = executeRequest(appConnector, "/health-check");
+        healthy.set(false);
+        final HttpTester.Response unhealthyResponse = executeRequest(appConnector, "/health-check");
+        final HttpTester.Response applicationResponse = executeRequest(appConnector, "/users");
+
+        // then
+        assertThat(healthyResponse.getStatus()).isEqualTo(Response.SC_OK);
+        assertThat(healthyResponse.getContent()).isEqualTo("HAPPY");
+        assertThat(unhealthyResponse.getStatus()).isEqualTo(Response.SC_SERVICE_UNAVAILABLE);
+        assertThat(unhealthyResponse.getContent()).isEqualTo("SAD");
+        assertThat(applicationResponse.getStatus()).isEqualTo(Response.SC_ACCEPTED);
+    }
+
+    @Test
+    public void shouldOnlyAnswerProbesOnDedicatedConnector() throws Exception {
+        // given
+        startServer(probeConnector);
+
+        // when
+        final HttpTester.Response probeResponse = executeRequest(probeConnector, "/health-check");
+        final HttpTester.Response otherProbeConnectorResponse = executeRequest(probeConnector, "/users");
+        final HttpTester.Response appConnectorResponse = executeRequest(appConnector, "/health-check");
+
+        // then
+        assertThat(probeResponse.getStatus()).isEqualTo(Response.SC_OK);
+        assertThat(probeResponse.getContent()).isEqualTo("HAPPY");
+        assertThat(otherProbeConnectorResponse.getStatus()).isEqualTo(Response.SC_NOT_FOUND);
+        assertThat(appConnectorResponse.getStatus()).isEqualTo(Response.SC_ACCEPTED);
+    }
+
+    @Test
+    public void shouldOnlyAnswerProbesOnApplicationConnectors() throws Exception {
+        // given
+        startServer(null, ImmutableList.of(appConnector));
+
+        // when
+        final HttpTester.Response appConnectorResponse = executeRequest(appConnector, "/health-check");
+        final HttpTester.Response otherConnectorResponse = executeRequest(probeConnector, "/health-check");
+
+        // then
+        assertThat(appConnectorResponse.getStatus()).isEqualTo(Response.SC_OK);
+        assertThat(appConnectorResponse.getContent()).isEqualTo("HAPPY");
+        assertThat(otherConnectorResponse.getStatus()).isEqualTo(Response.SC_ACCEPTED);
+    }
+
+    private void startServer(final LocalConnector dedicatedConnector) throws Exception {
+        startServer(dedicatedConnector, null);
+    }
+
+    private void startServer(final LocalConnector dedicatedConnector,
+                             final List<Connector> applicationConnectors) throws Exception {
+        final HealthCheckHandler handler = new HealthCheckHandler(servlet, ImmutableList.of("/health-check"),
+                dedicatedConnector, applicationConnectors);
+        handler.setHandler(new AbstractHandler() {
+            @Override
+            public void handle(final String target, final Request baseRequest,
+                               final HttpServletRequest request,
+                               final HttpServletResponse response) {
+                baseRequest.setHandled(true);
+                response.setStatus(HttpServletResponse.SC_ACCEPTED);
+            }
+        });
+        server.setHandler(handler);
+        server.start();
+    }
+
+    private static HttpTester.Response executeRequest(final LocalConnector connector, final String uri)
+            throws Exception {
+        final HttpTester.Request request = HttpTester.newRequest();
+        request.setHeader("Host", "localhost");
+        request.setMethod("GET");
+        request.setURI(uri);
+        return HttpTester.parseResponse(connector.getResponse(request.generate()));
+    }
+}
@@ -8,6 +8,7 @@ import com.google.common.collect.ImmutableMap;
 import io.dropwizard.health.conf.HealthCheckConfiguration;
 import io.dropwizard.health.conf.HealthCheckType;
 import io.dropwizard.health.conf.Schedule;
+import io.dropwizard.health.shutdown.ShutdownDrain;
 import io.dropwizard.util.Duration;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -17,6 +18,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ScheduledExecutorService;
@@ -24,7 +26,10 @@ import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -369,7 +374,30 @@ public class HealthCheckManagerTest {
     }
 
     @Test
-    public void shouldContinueScheduledCheckingWhileDelayingShutdown() throws Exception {
+    public void shouldIncrementStateVersionAndNotifyListenersOnStateChange() {
+        // given
+        final HealthCheckConfiguration config = new HealthCheckConfiguration();
+        config.setName(NAME);
+        config.setCritical(true);
+        config.setSchedule(new Schedule());
+        final HealthCheckManager manager = new HealthCheckManager(Collections.singletonList(config), scheduler,
+                new MetricRegistry());
+        final List<Long> notifiedVersions = new ArrayList<>();
+        manager.addHealthStateListener(notifiedVersions::add);
+        manager.onHealthCheckAdded(NAME, mock(HealthCheck.class));
+        final long initialVersion = manager.getStateVersion();
+
+        // when
+        manager.onStateChanged(NAME, false);
+        manager.onStateChanged(NAME, true);
+
+        // then
+        assertThat(manager.getStateVersion()).isEqualTo(initialVersion + 2);
+        assertThat(notifiedVersions).containsExactly(initialVersion + 1, initialVersion + 2);
+    }
+
+    @Test
+    public void shouldContinueScheduledAliveCheckingWhileDelayingShutdown() throws Exception {
         // given
         final int checkIntervalMillis = 10;
         final int shutdownWaitTimeMillis = 50;
@@ -380,7 +408,7 @@ public class HealthCheckManagerTest {
         schedule.setCheckInterval(Duration.milliseconds(checkIntervalMillis));
         final HealthCheckConfiguration checkConfig = new HealthCheckConfiguration();
         checkConfig.setName("check1");
-        checkConfig.setCritical(true);
+        checkConfig.setType(HealthCheckType.ALIVE);
         checkConfig.setSchedule(schedule);
         final List<HealthCheckConfiguration> configs = ImmutableList.of(checkConfig);
         final ScheduledExecutorService executorService = new ScheduledThreadPoolExecutor(1);
@@ -411,6 +439,135 @@ public class HealthCheckManagerTest {
         assertThat(afterCount - beforeCount).isGreaterThanOrEqualTo(expectedCount);
     }
 
+    @Test
+    public void shouldStopNonAliveChecksWhenShutdownStarts() throws Exception {
+        // given
+        final HealthCheckConfiguration readyConfig = new HealthCheckConfiguration();
+        readyConfig.setName(NAME);
+        readyConfig.setCritical(true);
+        readyConfig.setSchedule(new Schedule());
+        final HealthCheckConfiguration aliveConfig = new HealthCheckConfiguration();
+        aliveConfig.setName(NAME_2);
+        aliveConfig.setType(HealthCheckType.ALIVE);
+        aliveConfig.setSchedule(new Schedule());
+        final MetricRegistry metrics = new MetricRegistry();
+        final HealthCheckManager manager = new HealthCheckManager(ImmutableList.of(readyConfig, aliveConfig),
+                scheduler, metrics, Duration.milliseconds(10), true);
+        manager.onHealthCheckAdded(NAME, mock(HealthCheck.class));
+        manager.onHealthCheckAdded(NAME_2, mock(HealthCheck.class));
+
+        // when
+        manager.notifyShutdownStarted();
+        manager.onStateChanged(NAME, false);
+        manager.onStateChanged(NAME_2, false);
+
+        // then
+        verify(scheduler).unschedule(NAME);
+        verify(scheduler, never()).unschedule(NAME_2);
+        verify(scheduler, never()).schedule(argThat(check -> check.getName().equals(NAME)), eq(false));
+        verify(scheduler).schedule(argThat(check -> check.getName().equals(NAME_2)), eq(false));
+        assertThat(manager.shutdownWaitTimer().getCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void shouldFinishDelayedShutdownOnceDrained() throws Exception {
+        // given
+        final HealthCheckManager manager = new HealthCheckManager(Collections.emptyList(), scheduler,
+                new MetricRegistry(), SHUTDOWN_WAIT, true);
+        manager.initializeAppHealth();
+        final ShutdownDrain drain = new ShutdownDrain(1, Duration.milliseconds(20));
+        drain.setActiveRequests(() -> 0);
+        manager.setShutdownDrain(drain);
+        final Thread prober = new Thread(() -> {
+            while (manager.isHealthy()) {
+                Thread.yield();
+            }
+            drain.probeStarted();
+            drain.probeFinished(manager.isHealthy());
+        });
+        prober.start();
+
+        // when
+        final long start = System.nanoTime();
+        manager.notifyShutdownStarted();
+        prober.join();
+
+        // then
+        assertThat(manager.isHealthy()).isFalse();
+        assertThat(drain.getUnhealthyProbes()).isEqualTo(1);
+        assertThat(System.nanoTime() - start).isLessThan(SHUTDOWN_WAIT.toNanoseconds());
+    }
+
+    @Test
+    public void shouldNotBeReadyOrStartedUntilStartupChecksPass() {
+        // given
+        final HealthCheckConfiguration startupConfig = new HealthCheckConfiguration();
+        startupConfig.setName(NAME);
+        startupConfig.setType(HealthCheckType.STARTUP);
+        startupConfig.setSchedule(new Schedule());
+        final HealthCheckManager manager = new HealthCheckManager(Collections.singletonList(startupConfig), scheduler,
+                new MetricRegistry(), SHUTDOWN_WAIT, true);
+        manager.initializeAppHealth();
+        manager.onHealthCheckAdded(NAME, mock(HealthCheck.class));
+
+        // when
+        final boolean readyBeforePassing = manager.isHealthy();
+        final boolean startedBeforePassing = manager.isHealthy("startup");
+        manager.onStateChanged(NAME, true);
+        final boolean readyAfterPassing = manager.isHealthy();
+        manager.onStateChanged(NAME, false);
+
+        // then
+        assertThat(readyBeforePassing).isFalse();
+        assertThat(startedBeforePassing).isFalse();
+        assertThat(manager.isHealthy("alive")).isTrue();
+        assertThat(readyAfterPassing).isTrue();
+        assertThat(manager.isHealthy()).isTrue();
+        assertThat(manager.isHealthy("startup")).isTrue();
+    }
+
+    @Test
+    public void shouldRemainStartedWhenNoLongerReady() {
+        // given
+        final HealthCheckConfiguration config = new HealthCheckConfiguration();
+        config.setName(NAME);
+        config.setCritical(true);
+        config.setSchedule(new Schedule());
+        final HealthCheckManager manager = new HealthCheckManager(Collections.singletonList(config), scheduler,
+                new MetricRegistry(), SHUTDOWN_WAIT, true);
+        manager.initializeAppHealth();
+        manager.onHealthCheckAdded(NAME, mock(HealthCheck.class));
+
+        // when
+        final boolean started = manager.isHealthy("startup");
+        manager.onStateChanged(NAME, false);
+
+        // then
+        assertThat(started).isTrue();
+        assertThat(manager.isHealthy()).isFalse();
+        assertThat(manager.isHealthy("startup")).isTrue();
+    }
+
+    @Test
+    public void shouldHaveStartedWhenReadyBeforeNoLongerReady() {
+        // given
+        final HealthCheckConfiguration config = new HealthCheckConfiguration();
+        config.setName(NAME);
+        config.setCritical(true);
+        config.setSchedule(new Schedule());
+        final HealthCheckManager manager = new HealthCheckManager(Collections.singletonList(config), scheduler,
+                new MetricRegistry(), SHUTDOWN_WAIT, true);
+        manager.initializeAppHealth();
+        manager.onHealthCheckAdded(NAME, mock(HealthCheck.class));
+
+        // when
+        manager.onStateChanged(NAME, false);
+
+        // then
+        assertThat(manager.isHealthy()).isFalse();
+        assertThat(manager.isHealthy("startup")).isTrue();
+    }
+
     private void verifyCheckWasScheduled(HealthCheckScheduler scheduler, String name, boolean critical) {
         ArgumentCaptor<ScheduledHealthCheck> checkCaptor = ArgumentCaptor.forClass(ScheduledHealthCheck.class);
         verify(scheduler).scheduleInitial(checkCaptor.capture());
@@ -1,6 +1,7 @@
 package io.dropwizard.health.core;
 
 import io.dropwizard.health.conf.Schedule;
+import io.dropwizard.util.Duration;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -8,15 +9,23 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.AdditionalMatchers.or;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -26,6 +35,9 @@ public class HealthCheckSchedulerTest {
     private ScheduledExecutorService executor;
 
     private HealthCheckScheduler scheduler;
+    private final List<Runnable> startupRuns = new ArrayList<>();
+    private final List<Long> startupDelays = new ArrayList<>();
+    private final List<ScheduledFuture> startupFutures = new ArrayList<>();
 
     @Before
     public void setUp() {
@@ -175,4 +187,68 @@ public class HealthCheckSchedulerTest {
 
         scheduler.unschedule(name);
     }
+
+    @Test
+    public void shouldPollCheckWithBackoffUntilItStarts() {
+        final Schedule schedule = new Schedule();
+        schedule.setStartupInterval(Duration.milliseconds(100));
+        final ScheduledHealthCheck check = startupCheck(schedule);
+        when(check.isStarted()).thenReturn(false, false, true);
+        when(executor.scheduleWithFixedDelay(eq(check), eq(5000L), eq(5000L), eq(TimeUnit.MILLISECONDS)))
+                .thenReturn(mock(ScheduledFuture.class));
+
+        scheduler.scheduleInitial(check);
+        for (int i = 0; i < 3; i++) {
+            startupRuns.get(i).run();
+        }
+
+        assertThat(startupDelays).containsExactly(100L, 200L, 400L);
+        verify(check, times(3)).run();
+        verify(executor).scheduleWithFixedDelay(eq(check), eq(5000L), eq(5000L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void shouldKeepPollingCheckThatBecomesUnhealthyBeforeItStarts() {
+        final Schedule schedule = new Schedule();
+        schedule.setStartupInterval(Duration.milliseconds(100));
+        final ScheduledHealthCheck check = startupCheck(schedule);
+
+        scheduler.scheduleInitial(check);
+        scheduler.schedule(check, false);
+
+        verify(startupFutures.get(0), never()).cancel(true);
+        verify(executor).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+        verifyNoMoreInteractions(executor);
+    }
+
+    @Test
+    public void shouldStopPollingCheckUnscheduledWhileRunning() {
+        final Schedule schedule = new Schedule();
+        schedule.setStartupInterval(Duration.milliseconds(100));
+        final ScheduledHealthCheck check = startupCheck(schedule);
+        doAnswer(invocation -> {
+            scheduler.unschedule(check.getName());
+            return null;
+        }).when(check).run();
+
+        scheduler.scheduleInitial(check);
+        startupRuns.get(0).run();
+
+        verify(startupFutures.get(0)).cancel(true);
+        verify(startupFutures.get(1)).cancel(false);
+    }
+
+    private ScheduledHealthCheck startupCheck(final Schedule schedule) {
+        final ScheduledHealthCheck check = mock(ScheduledHealthCheck.class);
+        when(check.getName()).thenReturn("test");
+        when(check.getSchedule()).thenReturn(schedule);
+        when(executor.schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS))).thenAnswer(invocation -> {
+            final ScheduledFuture future = mock(ScheduledFuture.class);
+            startupRuns.add(invocation.getArgument(0));
+            startupDelays.add(invocation.getArgument(1));
+            startupFutures.add(future);
+            return future;
+        });
+        return check;
+    }
 }
@@ -0,0 +1,181 @@
+package io.dropwizard.health.core;
+
+import io.dropwizard.util.Duration;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpTester;
+import org.eclipse.jetty.server.LocalConnector;
+import org.eclipse.jetty.server.Response;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.servlet.ServletTester;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ObjLongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HealthStateWatchServletTest {
+    private static final String WATCH_URI = "/health-check/watch";
+
+    private final AtomicBoolean healthy = new AtomicBoolean(true);
+    private final AtomicLong version = new AtomicLong(3L);
+    private final StubHealthState healthState = new StubHealthState();
+    private final HealthStateWatchServlet servlet = new HealthStateWatchServlet(healthState, healthState,
+            Duration.seconds(5), Duration.seconds(10));
+
+    private ServletTester servletTester;
+    private LocalConnector connector;
+
+    @Before
+    public void setUp() throws Exception {
+        servletTester = new ServletTester();
+        final ServletHolder holder = new ServletHolder(servlet);
+        holder.setAsyncSupported(true);
+        servletTester.addServlet(holder, WATCH_URI);
+        connector = servletTester.createLocalConnector();
+        servletTester.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        servletTester.stop();
+    }
+
+    @Test
+    public void shouldRespondImmediatelyWhenVersionDiffers() throws Exception {
+        // when
+        final HttpTester.Response response = executeRequest(WATCH_URI + "?waitForChange=1");
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(Response.SC_OK);
+        assertThat(response.get(HealthStateWatchServlet.VERSION_HEADER)).isEqualTo("3");
+        assertThat(response.getContent()).isEqualTo("{\"status\":\"healthy\",\"version\":3}");
+    }
+
+    @Test
+    public void shouldRespondOnceStateChanges() throws Exception {
+        // given
+        final CompletableFuture<HttpTester.Response> pending = CompletableFuture.supplyAsync(() ->
+                executeRequest(WATCH_URI + "?waitForChange=3&timeout=5s"));
+
+        // when
+        Thread.sleep(200);
+        assertThat(pending).isNotDone();
+        healthy.set(false);
+        servlet.onHealthStateChanged(version.incrementAndGet());
+        final HttpTester.Response response = pending.get(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(Response.SC_SERVICE_UNAVAILABLE);
+        assertThat(response.get(HealthStateWatchServlet.VERSION_HEADER)).isEqualTo("4");
+        assertThat(response.getContent()).isEqualTo("{\"status\":\"unhealthy\",\"version\":4}");
+    }
+
+    @Test
+    public void shouldRespondWithUnchangedStateOnTimeout() throws Exception {
+        // when
+        final HttpTester.Response response = executeRequest(WATCH_URI + "?waitForChange=3&timeout=100ms");
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(Response.SC_OK);
+        assertThat(response.get(HealthStateWatchServlet.VERSION_HEADER)).isEqualTo("3");
+    }
+
+    @Test
+    public void shouldRejectTimeoutsThatNeverExpire() throws Exception {
+        // when
+        final HttpTester.Response zero = executeRequest(WATCH_URI + "?waitForChange=3&timeout=0");
+        final HttpTester.Response zeroSeconds = executeRequest(WATCH_URI + "?waitForChange=3&timeout=0s");
+        final HttpTester.Response subMillisecond = executeRequest(WATCH_URI + "?stream=true&timeout=1us");
+
+        // then
+        assertThat(zero.getStatus()).isEqualTo(Response.SC_BAD_REQUEST);
+        assertThat(zeroSeconds.getStatus()).isEqualTo(Response.SC_BAD_REQUEST);
+        assertThat(subMillisecond.getStatus()).isEqualTo(Response.SC_BAD_REQUEST);
+    }
+
+    @Test
+    public void shouldRejectInvalidVersion() throws Exception {
+        // when
+        final HttpTester.Response response = executeRequest(WATCH_URI + "?waitForChange=abc");
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(Response.SC_BAD_REQUEST);
+    }
+
+    @Test
+    public void shouldStreamStateChangesAsServerSentEvents() throws Exception {
+        // given
+        final CompletableFuture<HttpTester.Response> pending = CompletableFuture.supplyAsync(() ->
+                executeRequest(WATCH_URI + "?stream=true&timeout=500ms"));
+
+        // when
+        Thread.sleep(200);
+        healthy.set(false);
+        servlet.onHealthStateChanged(version.incrementAndGet());
+        final HttpTester.Response response = pending.get(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(Response.SC_OK);
+        assertThat(response.get(HttpHeader.CONTENT_TYPE)).startsWith(HealthStateWatchServlet.EVENT_STREAM);
+        assertThat(response.getContent())
+                .contains("id: 3\nevent: health\ndata: {\"status\":\"healthy\",\"version\":3}\n\n")
+                .contains("id: 4\nevent: health\ndata: {\"status\":\"unhealthy\",\"version\":4}\n\n");
+    }
+
+    private HttpTester.Response executeRequest(final String uri) {
+        final HttpTester.Request request = HttpTester.newRequest();
+        request.setHeader(HttpHeader.HOST.asString(), "localhost");
+        request.setMethod("GET");
+        request.setURI(uri);
+        try {
+            return HttpTester.parseResponse(connector.getResponse(request.generate(), 5, TimeUnit.SECONDS));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private class StubHealthState implements HealthStatusChecker, HealthStateAggregator {
+        @Override
+        public boolean isHealthy(final String type) {
+            return healthy.get();
+        }
+
+        @Override
+        public long getStateVersion() {
+            return version.get();
+        }
+
+        @Override
+        public Collection<HealthStateView> healthStateViews() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isHealthyExcluding(final String type, final Collection<String> excludedChecks) {
+            return healthy.get();
+        }
+
+        @Override
+        public void forEachLastDuration(final ObjLongConsumer<String> consumer) {
+            // do nothing
+        }
+
+        @Override
+        public void addHealthStateListener(final HealthStateListener listener) {
+            // do nothing
+        }
+
+        @Override
+        public void removeHealthStateListener(final HealthStateListener listener) {
+            // do nothing
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package io.dropwizard.health.core;
+
+import io.dropwizard.health.conf.HealthCheckType;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MappedStatusFileTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final AtomicBoolean healthy = new AtomicBoolean(true);
+    private final AtomicLong version = new AtomicLong(5L);
+    private final HealthStatusChecker checker = mock(HealthStatusChecker.class);
+    private final HealthStateAggregator aggregator = mock(HealthStateAggregator.class);
+
+    @Test
+    public void shouldPublishStatusChanges() throws Exception {
+        // given
+        when(checker.isHealthy(anyString())).thenAnswer(invocation -> healthy.get()
+                || HealthCheckType.ALIVE.name().equals(invocation.getArgument(0)));
+        when(aggregator.getStateVersion()).thenAnswer(invocation -> version.get());
+        when(aggregator.healthStateViews()).thenReturn(Collections.emptyList());
+        final Path path = folder.getRoot().toPath().resolve("health.status");
+        final MappedStatusFile statusFile = new MappedStatusFile(checker, aggregator, path);
+
+        // when
+        statusFile.start();
+        final MappedByteBuffer reader = map(path);
+        final long[] started = read(reader);
+
+        healthy.set(false);
+        when(aggregator.healthStateViews()).thenReturn(Arrays.asList(
+                new HealthStateView("cache", HealthCheckType.READY, false, true, null, null),
+                new HealthStateView("database", HealthCheckType.READY, true, false, null, null)));
+        statusFile.onHealthStateChanged(version.incrementAndGet());
+        final long[] changed = read(reader);
+
+        statusFile.stop();
+        final long[] stopped = read(reader);
+
+        // then
+        assertThat(reader.getInt(0)).isEqualTo(MappedStatusFile.MAGIC);
+        assertThat(reader.getInt(4)).isEqualTo(MappedStatusFile.LAYOUT_VERSION);
+        assertThat(started).containsExactly(5L, 1L, 1L, 0L);
+        assertThat(changed).containsExactly(6L, 1L, 0L, 1L);
+        assertThat(stopped).containsExactly(6L, 0L, 0L, 1L);
+    }
+
+    @Test
+    public void shouldRecoverFromInterruptedUpdate() throws Exception {
+        // given
+        when(checker.isHealthy(anyString())).thenReturn(true);
+        when(aggregator.getStateVersion()).thenReturn(1L);
+        when(aggregator.healthStateViews()).thenReturn(Collections.emptyList());
+        final Path path = folder.getRoot().toPath().resolve("health.status");
+        final MappedByteBuffer previous = map(path);
+        previous.putLong(MappedStatusFile.SEQUENCE_OFFSET, 7L);
+        final MappedStatusFile statusFile = new MappedStatusFile(checker, aggregator, path);
+
+        // when
+        statusFile.start();
+
+        // then
+        final long sequence = previous.getLong(MappedStatusFile.SEQUENCE_OFFSET);
+        assertThat(sequence).isGreaterThan(7L);
+        assertThat(sequence % 2).isZero();
+        assertThat(read(previous)).containsExactly(1L, 1L, 1L, 0L);
+    }
+
+    private static MappedByteBuffer map(final Path path) throws Exception {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, MappedStatusFile.SIZE);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return buffer;
+        }
+    }
+
+    private static long[] read(final MappedByteBuffer buffer) {
+        while (true) {
+            final long before = buffer.getLong(MappedStatusFile.SEQUENCE_OFFSET);
+            if ((before & 1L) != 0L) {
+                continue;
+            }
+            MemoryFences.loadFence();
+            final long[] values = {
+                    buffer.getLong(MappedStatusFile.STATE_VERSION_OFFSET),
+                    buffer.get(MappedStatusFile.ALIVE_OFFSET),
+                    buffer.get(MappedStatusFile.READY_OFFSET),
+                    buffer.getInt(MappedStatusFile.UNHEALTHY_COUNT_OFFSET)
+            };
+            MemoryFences.loadFence();
+            if (buffer.getLong(MappedStatusFile.SEQUENCE_OFFSET) == before) {
+                return values;
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io.dropwizard.health.core;
+
+import io.dropwizard.health.conf.HealthCheckType;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpTester;
+import org.eclipse.jetty.server.Response;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.servlet.ServletTester;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ObjLongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class OpenMetricsHealthServletTest {
+    private static final String METRICS_URI = "/health-check/metrics";
+
+    private final AtomicBoolean healthy = new AtomicBoolean(true);
+    private final AtomicLong version = new AtomicLong(1L);
+    private final AtomicLong durationNanos = new AtomicLong(12_000_000L);
+    private final HealthStatusChecker checker = mock(HealthStatusChecker.class);
+    private final HealthStateAggregator aggregator = mock(HealthStateAggregator.class);
+
+    private ServletTester servletTester;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        when(checker.isHealthy(anyString())).thenAnswer(invocation -> healthy.get());
+        when(aggregator.getStateVersion()).thenAnswer(invocation -> version.get());
+        when(aggregator.healthStateViews()).thenAnswer(invocation -> Arrays.asList(
+                new HealthStateView("database", HealthCheckType.READY, true, healthy.get(), null, null, 3L),
+                new HealthStateView("dead\"locks", HealthCheckType.ALIVE, false, true, null, null, 0L)));
+        doAnswer(invocation -> {
+            invocation.<ObjLongConsumer<String>>getArgument(0).accept("database", durationNanos.get());
+            return null;
+        }).when(aggregator).forEachLastDuration(any(ObjLongConsumer.class));
+
+        servletTester = new ServletTester();
+        servletTester.addServlet(new ServletHolder(new OpenMetricsHealthServlet(checker, aggregator)), METRICS_URI);
+        servletTester.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        servletTester.stop();
+    }
+
+    @Test
+    public void shouldExposeHealthStateAsOpenMetrics() throws Exception {
+        // when
+        final HttpTester.Response response = executeRequest();
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(Response.SC_OK);
+        assertThat(response.get(HttpHeader.CONTENT_TYPE)).startsWith("application/openmetrics-text");
+        assertThat(response.getContent())
+                .contains("health_alive 1\n")
+                .contains("health_ready 1\n")
+                .contains("health_check_up{name=\"database\",type=\"ready\",critical=\"true\"} 1\n")
+                .contains("health_check_up{name=\"dead\\\"locks\",type=\"alive\",critical=\"false\"} 1\n")
+                .contains("health_check_transitions_total{name=\"database\",type=\"ready\",critical=\"true\"} 3\n")
+                .contains("health_check_last_duration_seconds{name=\"database\",type=\"ready\",critical=\"true\"} "
+                        + "0.012\n")
+                .doesNotContain("health_check_last_duration_seconds{name=\"dead")
+                .endsWith("# EOF\n");
+    }
+
+    @Test
+    public void shouldOnlyRenderHealthStateOncePerVersion() throws Exception {
+        // when
+        executeRequest();
+        durationNanos.set(2_000_000_000L);
+        final HttpTester.Response cached = executeRequest();
+        healthy.set(false);
+        final HttpTester.Response stale = executeRequest();
+        version.incrementAndGet();
+        final HttpTester.Response changed = executeRequest();
+
+        // then
+        verify(aggregator, times(2)).healthStateViews();
+        assertThat(cached.getContent())
+                .contains("health_check_last_duration_seconds{name=\"database\",type=\"ready\",critical=\"true\"} 2.0\n");
+        assertThat(stale.getContent()).contains("health_ready 1\n");
+        assertThat(changed.getContent())
+                .contains("health_ready 0\n")
+                .contains("health_check_up{name=\"database\",type=\"ready\",critical=\"true\"} 0\n");
+    }
+
+    private HttpTester.Response executeRequest() throws Exception {
+        final HttpTester.Request request = HttpTester.newRequest();
+        request.setHeader(HttpHeader.HOST.asString(), "localhost");
+        request.setMethod("GET");
+        request.setURI(METRICS_URI);
+        return HttpTester.parseResponse(servletTester.getResponses(request.generate()));
+    }
+}
@@ -0,0 +1,42 @@
+package io.dropwizard.health.core;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class QueryStringsTest {
+    @Test
+    public void shouldReturnNullForMissingQueryString() {
+        assertThat(QueryStrings.getParameter(null, "type")).isNull();
+        assertThat(QueryStrings.getParameter("", "type")).isNull();
+    }
+
+    @Test
+    public void shouldReturnNullForMissingParameter() {
+        assertThat(QueryStrings.getParameter("foo=bar&types=alive", "type")).isNull();
+    }
+
+    @Test
+    public void shouldReturnFirstValueOfParameter() {
+        assertThat(QueryStrings.getParameter("type=alive", "type")).isEqualTo("alive");
+        assertThat(QueryStrings.getParameter("foo=bar&type=ready&type=alive", "type")).isEqualTo("ready");
+    }
+
+    @Test
+    public void shouldReturnEmptyValueForParameterWithoutValue() {
+        assertThat(QueryStrings.getParameter("verbose&type=alive", "verbose")).isEmpty();
+        assertThat(QueryStrings.getParameter("type=", "type")).isEmpty();
+    }
+
+    @Test
+    public void shouldDecodeEncodedValues() {
+        assertThat(QueryStrings.getParameter("name=my%20check+name", "name")).isEqualTo("my check name");
+    }
+
+    @Test
+    public void shouldReturnAllValuesOfParameter() {
+        assertThat(QueryStrings.getParameters(null, "exclude")).isEmpty();
+        assertThat(QueryStrings.getParameters("exclude=a&verbose&exclude=b%20c", "exclude"))
+                .containsExactly("a", "b c");
+    }
+}
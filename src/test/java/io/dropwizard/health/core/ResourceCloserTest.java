@@ -0,0 +1,69 @@
+package io.dropwizard.health.core;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.util.Duration;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResourceCloserTest {
+    private final MetricRegistry metrics = new MetricRegistry();
+    private final ResourceCloser closer = new ResourceCloser("test-close", Duration.milliseconds(200), metrics, null);
+
+    @Test
+    public void shouldCloseResourcesInParallel() throws Exception {
+        // given
+        final CountDownLatch bothClosing = new CountDownLatch(2);
+        closer.add("first", () -> awaitOther(bothClosing));
+        closer.add("second", () -> awaitOther(bothClosing));
+
+        // when
+        closer.stop();
+
+        // then
+        assertThat(bothClosing.getCount()).isZero();
+        assertThat(metrics.timer("health.shutdown.close-resources").getCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void shouldNotWaitLongerThanTheTimeoutForASlowResource() throws Exception {
+        // given
+        final AtomicBoolean fastClosed = new AtomicBoolean(false);
+        closer.add("slow", () -> Thread.sleep(TimeUnit.SECONDS.toMillis(10)));
+        closer.add("fast", () -> fastClosed.set(true));
+
+        // when
+        final long start = System.nanoTime();
+        closer.stop();
+
+        // then
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(5));
+        assertThat(fastClosed).isTrue();
+    }
+
+    @Test
+    public void shouldCloseTheOtherResourcesWhenOneFails() throws Exception {
+        // given
+        final AtomicBoolean closed = new AtomicBoolean(false);
+        closer.add("failing", () -> {
+            throw new IllegalStateException("failed");
+        });
+        closer.add("working", () -> closed.set(true));
+
+        // when
+        closer.stop();
+
+        // then
+        assertThat(closed).isTrue();
+    }
+
+    private static void awaitOther(final CountDownLatch bothClosing) throws InterruptedException {
+        bothClosing.countDown();
+        // only returns before the timeout if the other resource is closed at the same time
+        bothClosing.await(1, TimeUnit.SECONDS);
+    }
+}
@@ -66,4 +66,20 @@ public class ScheduledHealthCheckTest {
         assertThat(healthyCounter.getCount()).isEqualTo(0L);
         assertThat(unhealthyCounter.getCount()).isEqualTo(1L);
     }
+
+    @Test
+    public void shouldStartOnceSucceedingInHealthyState() {
+        final String name = "test";
+        final State state = new State(name, 1, 2, false, (checkName, newState) -> {});
+        final ScheduledHealthCheck scheduledHealthCheck = new ScheduledHealthCheck(name, HealthCheckType.STARTUP, true,
+                healthCheck, schedule, state, metrics.counter("test.healthy"), metrics.counter("test.unhealthy"));
+        when(healthCheck.execute()).thenReturn(HealthCheck.Result.healthy());
+
+        scheduledHealthCheck.run();
+        final boolean startedAfterFirstRun = scheduledHealthCheck.isStarted();
+        scheduledHealthCheck.run();
+
+        assertThat(startedAfterFirstRun).isFalse();
+        assertThat(scheduledHealthCheck.isStarted()).isTrue();
+    }
 }
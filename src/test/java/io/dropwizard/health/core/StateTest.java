@@ -132,5 +132,6 @@ public class StateTest {
         state.success(); // dependency recovering and starts returning healthy
         state.success(); // should trigger callback transitioning to healthy
         verify(callback).onStateChanged(NAME, true);
+        assertThat(state.getTransitions()).isEqualTo(2L);
     }
 }
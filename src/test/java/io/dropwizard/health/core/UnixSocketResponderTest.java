@@ -0,0 +1,117 @@
+package io.dropwizard.health.core;
+
+import io.dropwizard.health.conf.HealthCheckType;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class UnixSocketResponderTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final HealthStatusChecker checker = mock(HealthStatusChecker.class);
+    private final HealthStateAggregator aggregator = mock(HealthStateAggregator.class);
+
+    @Test
+    public void shouldSummarizeHealthState() throws Exception {
+        // given
+        when(checker.isHealthy(HealthCheckType.ALIVE.name())).thenReturn(true);
+        when(checker.isHealthy(HealthCheckType.READY.name())).thenReturn(false);
+        when(aggregator.healthStateViews()).thenReturn(Arrays.asList(
+                new HealthStateView("cache", HealthCheckType.READY, false, true, null, null),
+                new HealthStateView("database", HealthCheckType.READY, true, false, null, null)));
+        final UnixSocketResponder responder = new UnixSocketResponder(checker, aggregator,
+                folder.getRoot().toPath().resolve("health.sock"), null, "unix-socket-test");
+
+        // when
+        final String summary = new String(responder.render(12L), StandardCharsets.UTF_8);
+
+        // then
+        assertThat(summary).isEqualTo("{\"alive\":true,\"ready\":false,\"version\":12,\"unhealthy\":[\"database\"]}\n");
+    }
+
+    @Test
+    public void shouldServeTheSummaryOverTheSocket() throws Exception {
+        // given
+        assumeTrue(UnixDomainSockets.isSupported());
+        when(checker.isHealthy(HealthCheckType.ALIVE.name())).thenReturn(true);
+        when(checker.isHealthy(HealthCheckType.READY.name())).thenReturn(true);
+        when(aggregator.getStateVersion()).thenReturn(3L);
+        when(aggregator.healthStateViews()).thenReturn(Collections.emptyList());
+        final Path path = folder.getRoot().toPath().resolve("health.sock");
+        // a socket file left behind by a previous run
+        UnixDomainSockets.openServerChannel(path).close();
+        final UnixSocketResponder responder = new UnixSocketResponder(checker, aggregator, path, null,
+                "unix-socket-test");
+
+        // when
+        responder.start();
+        final String summary;
+        try {
+            summary = readLine(path);
+        } finally {
+            responder.stop();
+        }
+
+        // then
+        assertThat(summary).isEqualTo("{\"alive\":true,\"ready\":true,\"version\":3,\"unhealthy\":[]}\n");
+        assertThat(path).doesNotExist();
+    }
+
+    @Test
+    public void shouldFailToStartWithoutUnixDomainSocketSupport() throws Exception {
+        // given
+        assumeFalse(UnixDomainSockets.isSupported());
+        final Path path = folder.getRoot().toPath().resolve("health.sock");
+        final UnixSocketResponder responder = new UnixSocketResponder(checker, aggregator, path, null,
+                "unix-socket-test");
+
+        // when / then
+        assertThatThrownBy(responder::start).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void shouldNotReplaceAFileThatIsNotASocket() throws Exception {
+        // given
+        final Path path = folder.newFile("health.sock").toPath();
+        Files.write(path, "data".getBytes(StandardCharsets.UTF_8));
+        final UnixSocketResponder responder = new UnixSocketResponder(checker, aggregator, path, null,
+                "unix-socket-test");
+
+        // when / then
+        assertThatThrownBy(responder::start).isInstanceOf(UnixDomainSockets.isSupported()
+                ? FileAlreadyExistsException.class
+                : UnsupportedOperationException.class);
+        assertThat(Files.readAllBytes(path)).isEqualTo("data".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readLine(final Path path) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (SocketChannel channel = UnixDomainSockets.openChannel(path)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(256);
+            while (channel.read(buffer) >= 0) {
+                output.write(buffer.array(), 0, buffer.position());
+                buffer.clear();
+            }
+        }
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,73 @@
+package io.dropwizard.health.dns;
+
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CachingResolverTest {
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final CachingResolver resolver = new CachingResolver(Duration.ofSeconds(30), Duration.ofSeconds(5),
+            host -> {
+                lookups.incrementAndGet();
+                if (host.endsWith(".invalid")) {
+                    throw new UnknownHostException(host);
+                }
+                return new InetAddress[] {InetAddress.getByAddress(host, new byte[] {10, 0, 0, 1})};
+            }, now::get);
+
+    @Test
+    public void shouldCacheResolvedAddressesForTheTtl() throws Exception {
+        final InetAddress[] first = resolver.resolve("db");
+        now.addAndGet(TimeUnit.SECONDS.toNanos(29));
+        final InetAddress[] second = resolver.resolve("db");
+
+        assertThat(second).containsExactly(first);
+        assertThat(lookups).hasValue(1);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        resolver.resolve("db");
+        assertThat(lookups).hasValue(2);
+    }
+
+    @Test
+    public void shouldCacheFailuresForTheNegativeTtl() {
+        assertThatThrownBy(() -> resolver.resolve("db.invalid")).isInstanceOf(UnknownHostException.class);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(4));
+        assertThatThrownBy(() -> resolver.resolve("db.invalid")).isInstanceOf(UnknownHostException.class);
+        assertThat(lookups).hasValue(1);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThatThrownBy(() -> resolver.resolve("db.invalid")).isInstanceOf(UnknownHostException.class);
+        assertThat(lookups).hasValue(2);
+    }
+
+    @Test
+    public void shouldOnlyResolveCachedHostsWithoutALookup() throws Exception {
+        assertThat(resolver.resolveCached("db")).isNull();
+        assertThat(lookups).hasValue(0);
+
+        final InetAddress[] resolved = resolver.resolve("db");
+        assertThat(resolver.resolveCached("db")).containsExactly(resolved);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        assertThat(resolver.resolveCached("db")).isNull();
+        assertThat(lookups).hasValue(1);
+    }
+
+    @Test
+    public void shouldNotLetCallersModifyTheCachedAddresses() throws Exception {
+        resolver.resolve("db")[0] = null;
+
+        assertThat(resolver.resolve("db")[0]).isNotNull();
+        assertThat(resolver.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,121 @@
+package io.dropwizard.health.http;
+
+import com.codahale.metrics.health.HealthCheck;
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import org.eclipse.jetty.client.HttpClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AsyncHttpHealthCheckTest {
+    private static final String PATH = "/health-check";
+
+    @Rule
+    // enough server threads to answer all concurrent checks at once, so that they are not queued past the timeout
+    public WireMockRule wireMockRule = new WireMockRule(wireMockConfig().dynamicPort().containerThreads(50));
+
+    private final HttpClient client = new HttpClient();
+    private AsyncHttpHealthCheck healthCheck;
+
+    @Before
+    public void setUp() throws Exception {
+        client.start();
+        healthCheck = new AsyncHttpHealthCheck(wireMockRule.url(PATH), client, Duration.ofMillis(500));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        client.stop();
+    }
+
+    @Test
+    public void shouldConsiderA200ResponseHealthy() throws Exception {
+        stubFor(get(urlEqualTo(PATH))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withBody("HAPPY")));
+
+        assertThat(healthCheck.checkAsync().toCompletableFuture().get(5, TimeUnit.SECONDS).isHealthy()).isTrue();
+        assertThat(healthCheck.execute().isHealthy()).isTrue();
+    }
+
+    @Test
+    public void shouldKeepOnlyTheStartOfALargeBody() throws Exception {
+        final char[] page = new char[HttpHealthCheck.DEFAULT_MAX_BODY_BYTES * 4];
+        Arrays.fill(page, 'x');
+        stubFor(get(urlEqualTo(PATH))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withBody(new String(page))));
+
+        final HttpHealthResponse response = healthCheck.httpCheckAsync(wireMockRule.url(PATH)).toCompletableFuture()
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(response.getBody()).hasSize(HttpHealthCheck.DEFAULT_MAX_BODY_BYTES);
+        assertThat(healthCheck.checkAsync().toCompletableFuture().get(5, TimeUnit.SECONDS).isHealthy()).isTrue();
+    }
+
+    @Test
+    public void shouldConsiderA500ResponseUnhealthy() throws Exception {
+        stubFor(get(urlEqualTo(PATH))
+                .willReturn(aResponse()
+                        .withStatus(500)
+                        .withBody("SAD")));
+
+        assertThat(healthCheck.checkAsync().toCompletableFuture().get(5, TimeUnit.SECONDS).isHealthy()).isFalse();
+    }
+
+    @Test
+    public void shouldConsiderTimeoutsAndFaultsUnhealthy() throws Exception {
+        stubFor(get(urlEqualTo(PATH))
+                .willReturn(aResponse()
+                        .withFixedDelay(1000)
+                        .withStatus(200)));
+        final HealthCheck.Result timedOut = healthCheck.checkAsync().toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        stubFor(get(urlEqualTo(PATH))
+                .willReturn(aResponse()
+                        .withFault(Fault.RANDOM_DATA_THEN_CLOSE)));
+        final HealthCheck.Result faulted = healthCheck.checkAsync().toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(timedOut.isHealthy()).isFalse();
+        assertThat(timedOut.getError()).isNotNull();
+        assertThat(faulted.isHealthy()).isFalse();
+    }
+
+    @Test
+    public void shouldRunConcurrentChecksWithoutBlocking() throws Exception {
+        stubFor(get(urlEqualTo(PATH))
+                .willReturn(aResponse()
+                        .withFixedDelay(200)
+                        .withStatus(200)));
+
+        final long start = System.nanoTime();
+        final List<CompletableFuture<HealthCheck.Result>> results = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            results.add(healthCheck.checkAsync().toCompletableFuture());
+        }
+        final long submitMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(submitMillis).isLessThan(200L);
+        for (final CompletableFuture<HealthCheck.Result> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS).isHealthy()).isTrue();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package io.dropwizard.health.http;
+
+import io.dropwizard.health.dns.CachingResolver;
+import org.eclipse.jetty.util.Promise;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HttpHealthCheckClientFactoryTest {
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final CachingResolver resolver = new CachingResolver(Duration.ofSeconds(30), Duration.ofSeconds(5),
+            host -> new InetAddress[] {InetAddress.getByAddress(host, new byte[] {10, 0, 0, 1})});
+    private final HttpHealthCheckClientFactory.CachingSocketAddressResolver socketAddressResolver =
+            new HttpHealthCheckClientFactory.CachingSocketAddressResolver(resolver, tasks::add);
+
+    @Test
+    public void shouldLookUpUncachedHostsOnTheExecutor() throws Exception {
+        // given
+        final Promise.Completable<List<InetSocketAddress>> promise = new Promise.Completable<>();
+
+        // when
+        socketAddressResolver.resolve("db", 5432, promise);
+
+        // then
+        assertThat(promise).isNotDone();
+        assertThat(tasks).hasSize(1);
+        tasks.poll().run();
+        assertThat(promise.get()).containsExactly(
+                new InetSocketAddress(InetAddress.getByAddress("db", new byte[] {10, 0, 0, 1}), 5432));
+    }
+
+    @Test
+    public void shouldResolveCachedHostsOnTheCallingThread() throws Exception {
+        // given
+        resolver.resolve("db");
+        final Promise.Completable<List<InetSocketAddress>> promise = new Promise.Completable<>();
+
+        // when
+        socketAddressResolver.resolve("db", 5432, promise);
+
+        // then
+        assertThat(tasks).isEmpty();
+        assertThat(promise.get()).hasSize(1);
+    }
+}
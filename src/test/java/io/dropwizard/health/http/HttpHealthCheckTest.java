@@ -1,20 +1,40 @@
 package io.dropwizard.health.http;
 
+import com.codahale.metrics.health.HealthCheck;
+import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.http.Fault;
 import com.github.tomakehurst.wiremock.junit.WireMockRule;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
 import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Invocation;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.Response;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.head;
+import static com.github.tomakehurst.wiremock.client.WireMock.headRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class HttpHealthCheckTest {
     private static final String PATH = "/health-check";
@@ -83,4 +103,192 @@ public class HttpHealthCheckTest {
 
         assertThat(httpHealthCheck.check().isHealthy()).isTrue();
     }
+
+    @Test
+    public void httpHealthCheckShouldCloseResponses() {
+        final Client client = mock(Client.class);
+        final WebTarget target = mock(WebTarget.class);
+        final Invocation.Builder request = mock(Invocation.Builder.class);
+        final Response response = mock(Response.class);
+        when(client.target(wireMockRule.url(PATH))).thenReturn(target);
+        when(target.request()).thenReturn(request);
+        when(request.method("GET")).thenReturn(response);
+        when(response.getStatus()).thenReturn(200);
+
+        assertThat(new HttpHealthCheck(wireMockRule.url(PATH), client).check().isHealthy()).isTrue();
+        verify(response).close();
+    }
+
+    @Test(expected = ProcessingException.class)
+    public void httpHealthCheckShouldApplyItsTimeoutsToASharedClient() {
+        stubFor(get(urlEqualTo(PATH))
+                .willReturn(aResponse()
+                        .withFixedDelay(1000)
+                        .withStatus(200)
+                        .withBody("HAPPY")));
+
+        final Client client = ClientBuilder.newClient();
+        try {
+            new HttpHealthCheck(wireMockRule.url(PATH), client, Duration.ofMillis(100), Duration.ofMillis(100)).check();
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void httpHealthCheckShouldReadAtMostTheMaximumBodySize() {
+        stubFor(get(urlEqualTo(PATH))
+                .willReturn(aResponse()
+                        .withStatus(500)
+                        .withBody(repeat('x', 10_000))));
+
+        final HealthCheck.Result result = HttpHealthCheck.builder(wireMockRule.url(PATH))
+                .maxBodySize(16)
+                .build()
+                .check();
+
+        assertThat(result.isHealthy()).isFalse();
+        assertThat(result.getMessage()).contains("body='" + repeat('x', 16) + "'");
+    }
+
+    @Test
+    public void httpHealthCheckShouldNotReadDiscardedBodies() {
+        final Client client = mock(Client.class);
+        final WebTarget target = mock(WebTarget.class);
+        final Invocation.Builder request = mock(Invocation.Builder.class);
+        final Response response = mock(Response.class);
+        when(client.target(wireMockRule.url(PATH))).thenReturn(target);
+        when(target.request()).thenReturn(request);
+        when(request.method("GET")).thenReturn(response);
+        when(response.getStatus()).thenReturn(200);
+        when(response.hasEntity()).thenReturn(true);
+
+        assertThat(HttpHealthCheck.builder(wireMockRule.url(PATH)).client(client).discardBody().build()
+                .check().isHealthy()).isTrue();
+        verify(response, never()).readEntity(any(Class.class));
+        verify(response).close();
+    }
+
+    @Test
+    public void httpHealthCheckShouldValidateTheBodyWithAJsonPointer() {
+        final HttpHealthCheck check = HttpHealthCheck.builder(wireMockRule.url(PATH))
+                .bodyValidator(ResponseBodyValidator.jsonPointer("/status/database", "UP"))
+                .build();
+
+        stubFor(get(urlEqualTo(PATH))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"version\":\"1.0\",\"status\":{\"cache\":\"DOWN\",\"database\":\"UP\"}}")));
+        assertThat(check.check().isHealthy()).isTrue();
+
+        stubFor(get(urlEqualTo(PATH))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"status\":{\"cache\":\"UP\",\"database\":\"DOWN\"}}")));
+        assertThat(check.check().isHealthy()).isFalse();
+
+        stubFor(get(urlEqualTo(PATH))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withBody("not json")));
+        assertThat(check.check().isHealthy()).isFalse();
+    }
+
+    @Test
+    public void httpHealthCheckShouldValidateTheBodyWithARegexAcrossChunks() {
+        stubFor(get(urlEqualTo(PATH))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withBody(repeat('x', 4090) + "status=OK" + repeat('y', 5000))));
+
+        assertThat(HttpHealthCheck.builder(wireMockRule.url(PATH))
+                .bodyValidator(ResponseBodyValidator.regex(Pattern.compile("status=OK")))
+                .build()
+                .check().isHealthy()).isTrue();
+        assertThat(HttpHealthCheck.builder(wireMockRule.url(PATH))
+                .bodyValidator(ResponseBodyValidator.regex(Pattern.compile("status=OK")))
+                .maxBodySize(4096)
+                .build()
+                .check().isHealthy()).isFalse();
+    }
+
+    @Test
+    public void httpHealthCheckShouldSendHeadRequestsToACustomPathWithHeaders() {
+        stubFor(head(urlEqualTo(PATH + "/cheap"))
+                .withHeader("Authorization", equalTo("Bearer token"))
+                .willReturn(aResponse()
+                        .withStatus(200)));
+
+        final HttpHealthCheck check = HttpHealthCheck.builder(wireMockRule.url(PATH))
+                .method("HEAD")
+                .path("cheap")
+                .header("Authorization", "Bearer token")
+                .build();
+
+        assertThat(check.check().isHealthy()).isTrue();
+        WireMock.verify(headRequestedFor(urlEqualTo(PATH + "/cheap")));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void httpHealthCheckShouldRejectBodyValidationOfHeadRequests() {
+        HttpHealthCheck.builder(wireMockRule.url(PATH))
+                .method("HEAD")
+                .bodyValidator(ResponseBodyValidator.regex(Pattern.compile("OK")))
+                .build();
+    }
+
+    @Test
+    public void conditionalHttpHealthCheckShouldConsiderA304ResponseHealthy() {
+        stubFor(get(urlEqualTo(PATH))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("ETag", "\"v1\"")
+                        .withBody("HAPPY")));
+        stubFor(get(urlEqualTo(PATH))
+                .withHeader("If-None-Match", equalTo("\"v1\""))
+                .willReturn(aResponse()
+                        .withStatus(304)));
+
+        final HttpHealthCheck check = HttpHealthCheck.builder(wireMockRule.url(PATH))
+                .conditional()
+                .build();
+
+        assertThat(check.check().isHealthy()).isTrue();
+        assertThat(check.check().isHealthy()).isTrue();
+        WireMock.verify(1, getRequestedFor(urlEqualTo(PATH)).withHeader("If-None-Match", equalTo("\"v1\"")));
+    }
+
+    @Test
+    public void conditionalHttpHealthCheckShouldForgetTheEntityTagOfUnhealthyResponses() {
+        stubFor(get(urlEqualTo(PATH))
+                .willReturn(aResponse()
+                        .withStatus(500)
+                        .withHeader("ETag", "\"v1\"")
+                        .withBody("SAD")));
+
+        final HttpHealthCheck check = HttpHealthCheck.builder(wireMockRule.url(PATH))
+                .conditional()
+                .build();
+
+        assertThat(check.check().isHealthy()).isFalse();
+        assertThat(check.check().isHealthy()).isFalse();
+        WireMock.verify(0, getRequestedFor(urlEqualTo(PATH)).withHeader("If-None-Match", WireMock.matching(".*")));
+    }
+
+    @Test
+    public void httpHealthCheckShouldConsiderA304ResponseUnhealthyUnlessConditional() {
+        stubFor(get(urlEqualTo(PATH))
+                .willReturn(aResponse()
+                        .withStatus(304)));
+
+        assertThat(httpHealthCheck.check().isHealthy()).isFalse();
+    }
+
+    private static String repeat(final char c, final int count) {
+        final char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
 }
@@ -0,0 +1,75 @@
+package io.dropwizard.health.http;
+
+import com.codahale.metrics.health.HealthCheck;
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LatencySloHttpHealthCheckTest {
+    private static final String PATH = "/health-check";
+
+    @Rule
+    public WireMockRule wireMockRule = new WireMockRule(wireMockConfig().dynamicPort());
+
+    @Test
+    public void shouldBeHealthyUntilEnoughSamplesAreRecorded() {
+        stubFor(get(urlEqualTo(PATH))
+                .willReturn(aResponse()
+                        .withFixedDelay(200)
+                        .withStatus(200)));
+
+        final LatencySloHttpHealthCheck check = new LatencySloHttpHealthCheck(
+                HttpHealthCheck.builder(wireMockRule.url(PATH)),
+                new LatencySlo(Duration.ofMinutes(1), 3, null, Duration.ofMillis(50)));
+
+        assertThat(check.check().isHealthy()).isTrue();
+        assertThat(check.check().isHealthy()).isTrue();
+        final HealthCheck.Result result = check.check();
+        assertThat(result.isHealthy()).isFalse();
+        assertThat(result.getMessage()).contains("exceeded slo");
+        assertThat(result.getDetails()).containsEntry("samples", 3L);
+    }
+
+    @Test
+    public void shouldBeHealthyWhileWithinTheObjective() {
+        stubFor(get(urlEqualTo(PATH))
+                .willReturn(aResponse()
+                        .withStatus(200)));
+
+        final LatencySloHttpHealthCheck check = new LatencySloHttpHealthCheck(
+                HttpHealthCheck.builder(wireMockRule.url(PATH)),
+                new LatencySlo(Duration.ofMinutes(1), 1, Duration.ofSeconds(1), Duration.ofSeconds(1)));
+
+        assertThat(check.check().isHealthy()).isTrue();
+        assertThat(check.check().getDetails()).containsKeys("samples", "p95Millis", "p99Millis");
+    }
+
+    @Test
+    public void shouldReportFailedResponsesAsUnhealthy() {
+        stubFor(get(urlEqualTo(PATH))
+                .willReturn(aResponse()
+                        .withStatus(500)));
+
+        final LatencySloHttpHealthCheck check = new LatencySloHttpHealthCheck(
+                HttpHealthCheck.builder(wireMockRule.url(PATH)),
+                new LatencySlo(Duration.ofMinutes(1), 1, Duration.ofSeconds(1), null));
+
+        final HealthCheck.Result result = check.check();
+        assertThat(result.isHealthy()).isFalse();
+        assertThat(result.getMessage()).contains("status=500");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRequireAPercentileThreshold() {
+        new LatencySlo(Duration.ofMinutes(1), 1, null, null);
+    }
+}
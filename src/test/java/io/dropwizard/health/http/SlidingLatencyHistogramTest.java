@@ -0,0 +1,57 @@
+package io.dropwizard.health.http;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.data.Percentage.withPercentage;
+
+public class SlidingLatencyHistogramTest {
+    private static final long WINDOW = TimeUnit.SECONDS.toNanos(10);
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final SlidingLatencyHistogram histogram = new SlidingLatencyHistogram(WINDOW);
+
+    @Test
+    public void shouldReportNoSamplesWhenEmpty() {
+        final SlidingLatencyHistogram.Percentiles percentiles = histogram.percentiles(0L);
+
+        assertThat(percentiles.getSamples()).isZero();
+        assertThat(percentiles.getP95Nanos()).isZero();
+        assertThat(percentiles.getP99Nanos()).isZero();
+    }
+
+    @Test
+    public void shouldEstimatePercentilesWithinTheBucketResolution() {
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(0L, i * MILLIS);
+        }
+
+        final SlidingLatencyHistogram.Percentiles percentiles = histogram.percentiles(0L);
+
+        assertThat(percentiles.getSamples()).isEqualTo(100L);
+        assertThat(percentiles.getP95Nanos()).isCloseTo(95 * MILLIS, withPercentage(20));
+        assertThat(percentiles.getP99Nanos()).isCloseTo(99 * MILLIS, withPercentage(20));
+        assertThat(percentiles.getP99Nanos()).isLessThanOrEqualTo(100 * MILLIS);
+    }
+
+    @Test
+    public void shouldForgetLatenciesOutsideTheWindow() {
+        histogram.record(0L, 500 * MILLIS);
+        histogram.record(WINDOW / 2, 10 * MILLIS);
+
+        assertThat(histogram.percentiles(WINDOW / 2).getSamples()).isEqualTo(2L);
+        assertThat(histogram.percentiles(WINDOW).getSamples()).isEqualTo(1L);
+        assertThat(histogram.percentiles(WINDOW).getP99Nanos()).isLessThanOrEqualTo(10 * MILLIS);
+        assertThat(histogram.percentiles(2 * WINDOW).getSamples()).isZero();
+    }
+
+    @Test
+    public void shouldReportLatenciesBeyondTheLargestBucketAsTheMaximum() {
+        final long latency = TimeUnit.MINUTES.toNanos(5);
+        histogram.record(0L, latency);
+
+        assertThat(histogram.percentiles(0L).getP99Nanos()).isEqualTo(latency);
+    }
+}
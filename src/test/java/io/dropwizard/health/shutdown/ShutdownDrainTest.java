@@ -0,0 +1,139 @@
+package io.dropwizard.health.shutdown;
+
+import io.dropwizard.util.Duration;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ShutdownDrainTest {
+    private final AtomicInteger activeRequests = new AtomicInteger();
+    private final ShutdownDrain drain = new ShutdownDrain(2, Duration.milliseconds(50));
+
+    @Test
+    public void shouldFinishEarlyOnceProbesSawUnhealthyAndRequestsStopped() throws Exception {
+        // given
+        drain.setActiveRequests(activeRequests::get);
+        drain.start();
+        answerProbe(false);
+        answerProbe(false);
+
+        // when
+        final long start = System.nanoTime();
+        final boolean drained = drain.await(Duration.seconds(5));
+
+        // then
+        assertThat(drained).isTrue();
+        assertThat(System.nanoTime() - start).isLessThan(Duration.seconds(1).toNanoseconds());
+        assertThat(drain.getUnhealthyProbes()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldWaitForTheWholePeriodWhileRequestsAreInFlight() throws Exception {
+        // given
+        drain.setActiveRequests(activeRequests::get);
+        drain.start();
+        answerProbe(false);
+        answerProbe(false);
+        activeRequests.set(1);
+
+        // when
+        final boolean drained = drain.await(Duration.milliseconds(200));
+
+        // then
+        assertThat(drained).isFalse();
+    }
+
+    @Test
+    public void shouldWaitForTheWholePeriodUntilEnoughProbesSawUnhealthy() throws Exception {
+        // given
+        drain.setActiveRequests(activeRequests::get);
+        answerProbe(false);
+        drain.start();
+        answerProbe(false);
+        answerProbe(true);
+
+        // when
+        final boolean drained = drain.await(Duration.milliseconds(200));
+
+        // then
+        assertThat(drained).isFalse();
+        assertThat(drain.getUnhealthyProbes()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldNotCountProbesInFlightAsRequests() throws Exception {
+        // given
+        drain.setActiveRequests(activeRequests::get);
+        drain.start();
+        answerProbe(false);
+        answerProbe(false);
+        activeRequests.set(1);
+        drain.probeStarted();
+
+        // when
+        final boolean drained = drain.await(Duration.seconds(5));
+
+        // then
+        assertThat(drained).isTrue();
+    }
+
+    @Test
+    public void shouldNotCountOpenWatchesAsRequests() throws Exception {
+        // given
+        drain.setActiveRequests(activeRequests::get);
+        drain.start();
+        answerProbe(false);
+        answerProbe(false);
+        activeRequests.set(2);
+        drain.watchStarted();
+        drain.watchStarted();
+        drain.watchFinished();
+
+        // when
+        final boolean drained = drain.await(Duration.milliseconds(200));
+        activeRequests.set(1);
+        final boolean drainedOnceTheRequestFinished = drain.await(Duration.seconds(5));
+
+        // then
+        assertThat(drained).isFalse();
+        assertThat(drainedOnceTheRequestFinished).isTrue();
+    }
+
+    @Test
+    public void shouldNotSubtractProbesTheStatisticsDoNotCount() throws Exception {
+        // given
+        drain.setActiveRequests(activeRequests::get);
+        drain.start();
+        drain.probeAnswered(false);
+        drain.probeAnswered(false);
+        activeRequests.set(1);
+
+        // when
+        final boolean drained = drain.await(Duration.milliseconds(200));
+
+        // then
+        assertThat(drained).isFalse();
+        assertThat(drain.getUnhealthyProbes()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldWaitForTheWholePeriodWithoutRequestStatistics() throws Exception {
+        // given
+        drain.start();
+        answerProbe(false);
+        answerProbe(false);
+
+        // when
+        final boolean drained = drain.await(Duration.milliseconds(200));
+
+        // then
+        assertThat(drained).isFalse();
+    }
+
+    private void answerProbe(final boolean healthy) {
+        drain.probeStarted();
+        drain.probeFinished(healthy);
+    }
+}
@@ -0,0 +1,128 @@
+package io.dropwizard.health.tcp;
+
+import com.codahale.metrics.health.HealthCheck;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PersistentTcpHealthCheckTest {
+    private final List<Socket> accepted = new CopyOnWriteArrayList<>();
+    private ServerSocket serverSocket;
+    private Thread acceptor;
+    private PersistentTcpHealthCheck healthCheck;
+
+    @Before
+    public void setUp() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        acceptor = new Thread(() -> {
+            while (!serverSocket.isClosed()) {
+                try {
+                    accepted.add(serverSocket.accept());
+                } catch (IOException e) {
+                    // closed
+                }
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+        healthCheck = new PersistentTcpHealthCheck(InetAddress.getLoopbackAddress().getHostAddress(),
+                serverSocket.getLocalPort());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        healthCheck.close();
+        serverSocket.close();
+        for (final Socket socket : accepted) {
+            socket.close();
+        }
+        acceptor.join();
+    }
+
+    @Test
+    public void shouldReuseTheConnectionBetweenRuns() throws Exception {
+        assertThat(healthCheck.check().isHealthy()).isTrue();
+        assertThat(healthCheck.check().isHealthy()).isTrue();
+        assertThat(healthCheck.check().isHealthy()).isTrue();
+
+        assertThat(healthCheck.getConnects()).isEqualTo(1L);
+    }
+
+    @Test
+    public void shouldReconnectOnceThePeerClosesTheConnection() throws Exception {
+        assertThat(healthCheck.check().isHealthy()).isTrue();
+        waitForAccepted(1);
+        accepted.get(0).close();
+        Thread.sleep(200);
+
+        final HealthCheck.Result result = healthCheck.check();
+
+        assertThat(result.isHealthy()).isTrue();
+        assertThat(result.getMessage()).isEqualTo("connected");
+        assertThat(healthCheck.getConnects()).isEqualTo(2L);
+    }
+
+    @Test
+    public void shouldBeUnhealthyIfItCannotReconnect() throws Exception {
+        assertThat(healthCheck.check().isHealthy()).isTrue();
+        waitForAccepted(1);
+        serverSocket.close();
+        accepted.get(0).close();
+        Thread.sleep(200);
+
+        assertThatThrownBy(healthCheck::check).isInstanceOf(ConnectException.class);
+    }
+
+    @Test
+    public void shouldPingOverTheOpenConnection() throws Exception {
+        final AtomicInteger pings = new AtomicInteger();
+        final PersistentTcpHealthCheck pinging = new PersistentTcpHealthCheck(
+                InetAddress.getLoopbackAddress().getHostAddress(), serverSocket.getLocalPort(), Duration.ofSeconds(1),
+                null, (channel, timeout) -> pings.incrementAndGet() < 3);
+        try {
+            assertThat(pinging.check().isHealthy()).isTrue();
+            assertThat(pinging.check().isHealthy()).isTrue();
+            // the failed ping on the open connection leads to a reconnect, where the ping fails again
+            assertThat(pinging.check().isHealthy()).isFalse();
+            assertThat(pinging.getConnects()).isEqualTo(2L);
+        } finally {
+            pinging.close();
+        }
+    }
+
+    @Test
+    public void shouldReplaceAConnectionWithoutAPingOnceItIsIdleTooLong() throws Exception {
+        final PersistentTcpHealthCheck replacing = new PersistentTcpHealthCheck(
+                InetAddress.getLoopbackAddress().getHostAddress(), serverSocket.getLocalPort(), Duration.ofSeconds(1),
+                null, null, Duration.ofMillis(50));
+        try {
+            assertThat(replacing.check().isHealthy()).isTrue();
+            Thread.sleep(100);
+
+            assertThat(replacing.check().isHealthy()).isTrue();
+            assertThat(replacing.getConnects()).isEqualTo(2L);
+        } finally {
+            replacing.close();
+        }
+    }
+
+    private void waitForAccepted(final int count) throws InterruptedException {
+        for (int i = 0; i < 50 && accepted.size() < count; i++) {
+            Thread.sleep(20);
+        }
+        assertThat(accepted).hasSize(count);
+    }
+}
@@ -0,0 +1,136 @@
+package io.dropwizard.health.tcp;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TcpExchangeTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(2);
+
+    private final List<Socket> accepted = new CopyOnWriteArrayList<>();
+    private volatile String greeting;
+    private volatile String reply;
+    private ServerSocket serverSocket;
+    private Thread server;
+
+    @Before
+    public void setUp() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        server = new Thread(() -> {
+            while (!serverSocket.isClosed()) {
+                try (Socket socket = serverSocket.accept()) {
+                    accepted.add(socket);
+                    serve(socket);
+                } catch (IOException e) {
+                    // closed
+                }
+            }
+        });
+        server.setDaemon(true);
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        serverSocket.close();
+        for (final Socket socket : accepted) {
+            socket.close();
+        }
+        server.join();
+    }
+
+    @Test
+    public void shouldAcceptRedisPong() throws Exception {
+        reply = "+PONG\r\n";
+
+        try (TcpExchange exchange = TcpExchange.redisPing()) {
+            assertThat(exchange(exchange)).isTrue();
+            assertThat(exchange(exchange)).isTrue();
+        }
+    }
+
+    @Test
+    public void shouldRejectUnexpectedResponse() throws Exception {
+        reply = "-ERR unknown command\r\n";
+
+        try (TcpExchange exchange = TcpExchange.redisPing()) {
+            assertThat(exchange(exchange)).isFalse();
+        }
+    }
+
+    @Test
+    public void shouldMatchPattern() throws Exception {
+        reply = "STAT uptime 42\r\nEND\r\n";
+
+        try (TcpExchange exchange = TcpExchange.expectPattern("stats\r\n".getBytes(StandardCharsets.US_ASCII),
+                Pattern.compile("uptime \\d+"), 64)) {
+            assertThat(exchange(exchange)).isTrue();
+        }
+    }
+
+    @Test
+    public void shouldReadGreetingWithoutRequest() throws Exception {
+        greeting = "220 mail.example.com ESMTP\r\n";
+
+        try (TcpExchange exchange = TcpExchange.smtpGreeting()) {
+            assertThat(exchange(exchange)).isTrue();
+        }
+    }
+
+    @Test
+    public void shouldTimeOutWhenTheServerIsSilent() throws Exception {
+        try (TcpExchange exchange = TcpExchange.redisPing();
+             SocketChannel channel = connect()) {
+            assertThatThrownBy(() -> exchange.ping(channel, Duration.ofMillis(200)))
+                    .isInstanceOf(SocketTimeoutException.class);
+        }
+    }
+
+    private boolean exchange(final TcpExchange exchange) throws IOException {
+        try (SocketChannel channel = connect()) {
+            return exchange.ping(channel, TIMEOUT);
+        }
+    }
+
+    private SocketChannel connect() throws IOException {
+        final SocketChannel channel = SocketChannel.open(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort()));
+        channel.configureBlocking(false);
+        return channel;
+    }
+
+    private void serve(final Socket socket) throws IOException {
+        final OutputStream out = socket.getOutputStream();
+        if (greeting != null) {
+            out.write(greeting.getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+        }
+        final InputStream in = socket.getInputStream();
+        // answer once the request line is complete, or stay silent if there is nothing to reply
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n' && reply != null) {
+                out.write(reply.getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+            }
+        }
+    }
+}
@@ -1,14 +1,18 @@
 package io.dropwizard.health.tcp;
 
+import com.codahale.metrics.health.HealthCheck;
 import com.google.common.util.concurrent.Uninterruptibles;
+import io.dropwizard.health.dns.CachingResolver;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.io.IOException;
 import java.net.ConnectException;
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.ServerSocket;
+import java.time.Duration;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -62,4 +66,35 @@ public class TcpHealthCheckTest {
         assertThat(tcpHealthCheck.check().isHealthy())
                 .isFalse();
     }
+
+    @Test
+    public void tcpHealthCheckShouldProbeEveryAddressOfTheHost() throws Exception {
+        // the listener is only bound to 127.0.0.1, so 127.0.0.2 refuses connections
+        final TcpProbeEngine engine = new TcpProbeEngine("tcp-probes");
+        try (ServerSocket loopback = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            final CachingResolver resolver = new CachingResolver(Duration.ofSeconds(30), Duration.ofSeconds(5),
+                    host -> new InetAddress[] {
+                        InetAddress.getByAddress(host, new byte[] {127, 0, 0, 1}),
+                        InetAddress.getByAddress(host, new byte[] {127, 0, 0, 2})
+                    });
+            final TcpHealthCheck.Builder builder = TcpHealthCheck.builder("dependency", loopback.getLocalPort())
+                    .connectionTimeout(Duration.ofSeconds(2))
+                    .probeEngine(engine)
+                    .resolver(resolver);
+
+            final HealthCheck.Result any = builder.addresses(AddressMode.ANY).build().check();
+            assertThat(any.isHealthy()).isTrue();
+            assertThat(any.getMessage()).contains("reached 1 of 2 addresses", "127.0.0.1=up", "127.0.0.2=down");
+
+            final HealthCheck.Result all = builder.addresses(AddressMode.ALL).build().check();
+            assertThat(all.isHealthy()).isFalse();
+            assertThat(all.getMessage()).contains("reached 1 of 2 addresses");
+
+            final HealthCheck.Result allAsync = builder.addresses(AddressMode.ALL).build().checkAsync()
+                    .toCompletableFuture().get(5, TimeUnit.SECONDS);
+            assertThat(allAsync.isHealthy()).isFalse();
+        } finally {
+            engine.stop();
+        }
+    }
 }
@@ -0,0 +1,151 @@
+package io.dropwizard.health.tcp;
+
+import com.codahale.metrics.health.HealthCheck;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TcpProbeEngineTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(2);
+
+    private final TcpProbeEngine engine = new TcpProbeEngine("tcp-probes");
+    private ServerSocket serverSocket;
+
+    @Before
+    public void setUp() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        engine.stop();
+        serverSocket.close();
+    }
+
+    @Test
+    public void shouldConnectToAListeningPort() throws Exception {
+        final List<CompletableFuture<Void>> probes = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            probes.add(engine.connect(address(), TIMEOUT).toCompletableFuture());
+        }
+
+        for (final CompletableFuture<Void> probe : probes) {
+            probe.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void shouldFailToConnectToAClosedPort() throws Exception {
+        final InetSocketAddress address = address();
+        serverSocket.close();
+
+        assertThatThrownBy(() -> engine.connect(address, TIMEOUT).toCompletableFuture().get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(ConnectException.class);
+    }
+
+    @Test
+    public void shouldTimeOutWhenTheListenerDoesNotAccept() throws Exception {
+        // a listener that never accepts stops answering connects once its backlog is full
+        final List<Socket> queued = new ArrayList<>();
+        try (ServerSocket full = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            final InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(),
+                    full.getLocalPort());
+            try {
+                while (queued.size() < 16) {
+                    final Socket socket = new Socket();
+                    queued.add(socket);
+                    socket.connect(address, 200);
+                }
+            } catch (SocketTimeoutException e) {
+                // the backlog is full
+            }
+
+            assertThatThrownBy(() -> engine.connect(address, Duration.ofMillis(200)).toCompletableFuture()
+                    .get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(SocketTimeoutException.class);
+        } finally {
+            for (final Socket socket : queued) {
+                socket.close();
+            }
+        }
+    }
+
+    @Test
+    public void shouldNotTimeOutWithoutATimeout() throws Exception {
+        // a listener that never accepts stops answering connects once its backlog is full
+        final List<Socket> queued = new ArrayList<>();
+        try (ServerSocket full = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            final InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(),
+                    full.getLocalPort());
+            try {
+                while (queued.size() < 16) {
+                    final Socket socket = new Socket();
+                    queued.add(socket);
+                    socket.connect(address, 200);
+                }
+            } catch (SocketTimeoutException e) {
+                // the backlog is full
+            }
+
+            final CompletableFuture<Void> probe = engine.connect(address, Duration.ZERO).toCompletableFuture();
+            assertThatThrownBy(() -> probe.get(500, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+            // probes without a timeout are still failed when the engine stops
+            engine.stop();
+            assertThatThrownBy(() -> probe.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasMessageContaining("stopped");
+        } finally {
+            for (final Socket socket : queued) {
+                socket.close();
+            }
+        }
+    }
+
+    @Test
+    public void shouldFailProbesOnceStopped() throws Exception {
+        engine.stop();
+
+        assertThatThrownBy(() -> engine.connect(address(), TIMEOUT).toCompletableFuture().get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void tcpHealthCheckShouldConnectThroughTheEngine() throws Exception {
+        final TcpHealthCheck healthCheck = new TcpHealthCheck(address().getHostString(), serverSocket.getLocalPort(),
+                TIMEOUT, engine);
+
+        assertThat(healthCheck.check().isHealthy()).isTrue();
+        assertThat(healthCheck.checkAsync().toCompletableFuture().get(5, TimeUnit.SECONDS).isHealthy()).isTrue();
+
+        serverSocket.close();
+        final HealthCheck.Result result = healthCheck.checkAsync().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertThat(result.isHealthy()).isFalse();
+        assertThat(result.getError()).isInstanceOf(ConnectException.class);
+    }
+
+    private InetSocketAddress address() {
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort());
+    }
+}
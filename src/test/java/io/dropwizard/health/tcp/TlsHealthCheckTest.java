@@ -0,0 +1,132 @@
+package io.dropwizard.health.tcp;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.health.HealthCheck;
+import com.google.common.io.Resources;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.security.KeyStore;
+import java.security.cert.X509Certificate;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneOffset;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLServerSocket;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.TrustManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TlsHealthCheckTest {
+    private static final char[] PASSWORD = "changeit".toCharArray();
+
+    private KeyStore keyStore;
+    private SSLServerSocket serverSocket;
+    private Thread server;
+
+    @Before
+    public void setUp() throws Exception {
+        keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = Resources.getResource("tls/server.p12").openStream()) {
+            keyStore.load(in, PASSWORD);
+        }
+        final KeyManagerFactory keyManagerFactory =
+                KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagerFactory.init(keyStore, PASSWORD);
+        final SSLContext serverContext = SSLContext.getInstance("TLS");
+        serverContext.init(keyManagerFactory.getKeyManagers(), null, null);
+
+        serverSocket = (SSLServerSocket) serverContext.getServerSocketFactory()
+                .createServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        server = new Thread(() -> {
+            while (!serverSocket.isClosed()) {
+                try (SSLSocket socket = (SSLSocket) serverSocket.accept()) {
+                    socket.startHandshake();
+                    // wait for the client to close its side
+                    while (socket.getInputStream().read() != -1) {
+                        // discard
+                    }
+                } catch (IOException e) {
+                    // closed, or the client aborted the handshake
+                }
+            }
+        });
+        server.setDaemon(true);
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        serverSocket.close();
+        server.join();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldResumeTheSessionOfThePreviousRun() throws Exception {
+        final TlsHealthCheck healthCheck = builder().build();
+
+        final HealthCheck.Result first = healthCheck.execute();
+        final HealthCheck.Result second = healthCheck.execute();
+
+        assertThat(first.isHealthy()).isTrue();
+        assertThat(first.getDetails()).containsEntry("resumed", false);
+        assertThat(second.isHealthy()).isTrue();
+        assertThat(second.getDetails()).containsEntry("resumed", true);
+        assertThat(healthCheck.getHandshakes()).isEqualTo(2L);
+        assertThat(healthCheck.getResumedHandshakes()).isEqualTo(1L);
+        assertThat(((Gauge<Long>) healthCheck.getMetrics().get("days-to-expiry")).getValue())
+                .isGreaterThan(14L);
+    }
+
+    @Test
+    public void shouldPerformFullHandshakesWithoutResumption() throws Exception {
+        final TlsHealthCheck healthCheck = builder().sessionResumption(false).build();
+
+        assertThat(healthCheck.execute().isHealthy()).isTrue();
+        assertThat(healthCheck.execute().isHealthy()).isTrue();
+
+        assertThat(healthCheck.getResumedHandshakes()).isZero();
+    }
+
+    @Test
+    public void shouldBeUnhealthyWhenTheCertificateExpiresSoon() throws Exception {
+        final X509Certificate certificate = (X509Certificate) keyStore.getCertificate("server");
+        final Clock fiveDaysBeforeExpiry = Clock.fixed(
+                certificate.getNotAfter().toInstant().minus(Duration.ofDays(5)), ZoneOffset.UTC);
+        final TlsHealthCheck healthCheck = builder().clock(fiveDaysBeforeExpiry).build();
+
+        final HealthCheck.Result result = healthCheck.execute();
+
+        assertThat(result.isHealthy()).isFalse();
+        assertThat(result.getDetails()).containsEntry("daysToExpiry", 5L);
+        assertThat(result.getMessage()).contains("certificate expires in 5 days");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldBeUnhealthyWhenTheCertificateIsNotTrusted() {
+        final TlsHealthCheck healthCheck = TlsHealthCheck.builder("localhost", serverSocket.getLocalPort()).build();
+
+        assertThat(healthCheck.execute().isHealthy()).isFalse();
+        assertThat(((Gauge<Long>) healthCheck.getMetrics().get("days-to-expiry")).getValue()).isNull();
+    }
+
+    private TlsHealthCheck.Builder builder() throws Exception {
+        final TrustManagerFactory trustManagerFactory =
+                TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagerFactory.init(keyStore);
+        final SSLContext clientContext = SSLContext.getInstance("TLS");
+        clientContext.init(null, trustManagerFactory.getTrustManagers(), null);
+        return TlsHealthCheck.builder("localhost", serverSocket.getLocalPort())
+                .timeout(Duration.ofSeconds(2))
+                .sslContext(clientContext);
+    }
+}